@@ -0,0 +1,22 @@
+package com.OOP.bench;
+
+import com.OOP.utils.GameConsole;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.function.Consumer;
+
+// Sends the game's printed messages to a Blackhole: the strings are still built, but nothing is written
+final class BenchConsole {
+    private BenchConsole() {}
+
+    // Must be called on the benchmark thread (from a Scope.Thread @Setup), GameConsole sinks are per thread
+    static Consumer<String> install(Blackhole blackhole) {
+        Consumer<String> sink = blackhole::consume;
+        GameConsole.setThreadSinks(sink, sink);
+        return sink;
+    }
+
+    static void uninstall() {
+        GameConsole.clearThreadSinks();
+    }
+}
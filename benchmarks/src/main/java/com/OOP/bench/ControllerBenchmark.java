@@ -0,0 +1,83 @@
+package com.OOP.bench;
+
+import com.OOP.MainGameLogicController;
+import com.OOP.model.core.Room;
+import com.OOP.model.core.World;
+import com.OOP.model.entities.LivingBeing;
+import com.OOP.model.entities.Player;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full processInput call (parse, dispatch, enemy turns, room description) per verb,
+ * on the default world. Commands that would change the world are measured as round trips
+ * (take + drop, go + go back) so every invocation sees the same state.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ControllerBenchmark {
+
+    // Separate state so only processInput is multiplied by the verb list
+    @State(Scope.Thread)
+    public static class Verb {
+        @Param({"look", "look health potion", "i", "help", "take nothing", "attack nobody", "open nothing", "xyzzy"})
+        public String command;
+    }
+
+    private MainGameLogicController controller;
+    private MainGameLogicController travellingController; // Player parked in the armory, goblin removed
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        BenchConsole.install(blackhole);
+        controller = newController(blackhole);
+
+        World world = newWorld();
+        travellingController = new MainGameLogicController(world, world.getPlayer(), blackhole::consume, () -> { });
+        Room hallway = world.getRoom("room_hallway");
+        LivingBeing goblin = hallway.getLivingBeingByName("Grumpy Goblin");
+        hallway.removeLivingBeing(goblin); // Otherwise the round trip turns into a fight
+        travellingController.getPlayer().setCurrentRoom(world.getRoom("room_armory"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchConsole.uninstall();
+    }
+
+    private static World newWorld() {
+        World world = new World(new Random(42));
+        world.setupWorld();
+        return world;
+    }
+
+    private static MainGameLogicController newController(Blackhole blackhole) {
+        World world = newWorld();
+        Player player = world.getPlayer();
+        return new MainGameLogicController(world, player, blackhole::consume, () -> { });
+    }
+
+    @Benchmark
+    public void processInput(Verb verb) {
+        controller.processInput(verb.command);
+    }
+
+    @Benchmark
+    public void takeAndDrop() {
+        controller.processInput("take health potion");
+        controller.processInput("drop health potion");
+    }
+
+    @Benchmark
+    public void goAndReturn() {
+        travellingController.processInput("go east");
+        travellingController.processInput("go west");
+    }
+}
@@ -0,0 +1,85 @@
+package com.OOP.bench;
+
+import com.OOP.model.core.Room;
+import com.OOP.model.entities.Enemy;
+import com.OOP.model.entities.Merchant;
+import com.OOP.model.entities.Player;
+import com.OOP.model.items.Item;
+import com.OOP.model.items.Weapon;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Combat and trading. The dummy has enough health to never die within an iteration
+ * (it is healed before each one), and every sale is undone so the merchant never runs out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EntityBenchmark {
+    private static final int DUMMY_HEALTH = Integer.MAX_VALUE / 2;
+    private static final int PRICE = 50;
+
+    private Player player;
+    private Enemy dummy;
+    private Merchant merchant;
+    private Item ware;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        BenchConsole.install(blackhole);
+        Room arena = new Room("room_arena", "Arena", "Sand and blood.", RoomBenchmark.squareLayout(16));
+        arena.setRandom(new Random(42));
+        player = new Player("Hero", 100, 5, arena);
+        arena.addLivingBeing(player);
+        dummy = new Enemy("dummy_1", "Training Dummy", "Stuffed with straw.", DUMMY_HEALTH, 1, arena, null);
+        arena.addLivingBeing(dummy);
+        merchant = new Merchant("merchant_bench", "Bench Merchant", "Sells the same sword forever.", arena);
+        arena.addLivingBeing(merchant);
+        ware = new Weapon("sword_fine", "Fine Sword", "Well-crafted sword.", 12);
+        merchant.addToCatalog(ware, PRICE);
+    }
+
+    @Setup(Level.Iteration)
+    public void heal() {
+        dummy.setHealthPoints(DUMMY_HEALTH);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchConsole.uninstall();
+    }
+
+    @Benchmark
+    public int attack() {
+        player.attack(dummy);
+        return dummy.getHealthPoints();
+    }
+
+    @Benchmark
+    public int takeDamage() {
+        dummy.takeDamage(1);
+        return dummy.getHealthPoints();
+    }
+
+    // Successful sale, then put everything back (stock, inventory, gold)
+    @Benchmark
+    public boolean sellToPlayer() {
+        player.addGold(PRICE);
+        boolean sold = merchant.sellToPlayer("Fine Sword", player);
+        player.removeFromInventory(ware);
+        merchant.addToCatalog(ware, PRICE);
+        return sold;
+    }
+
+    @Benchmark
+    public boolean sellToPlayerUnknownItem() {
+        return merchant.sellToPlayer("Golden Crown", player);
+    }
+}
@@ -0,0 +1,47 @@
+package com.OOP.bench;
+
+import com.OOP.generation.DungeonGenerator;
+import com.OOP.model.core.World;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating a 100k-room dungeon with 1 thread and with every core. The generated world is the
+ * same for both (see DungeonGenerator); only the time should differ.
+ * Memory per 100k rooms is printed by {@code DungeonGenerator.main}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g"}) // 100k rooms are ~450 MB live; don't time heap growth
+@State(Scope.Benchmark)
+public class GeneratorBenchmark {
+    @Param({"100000"})
+    public int rooms;
+
+    @Param({"1", "0"}) // 0 = availableProcessors
+    public int threads;
+
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        BenchConsole.install(blackhole);
+        pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+        BenchConsole.uninstall();
+    }
+
+    @Benchmark
+    public World generate() {
+        return new DungeonGenerator(42, rooms).generate(pool);
+    }
+}
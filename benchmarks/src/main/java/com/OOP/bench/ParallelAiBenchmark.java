@@ -0,0 +1,52 @@
+package com.OOP.bench;
+
+import com.OOP.ai.WorldTickScheduler;
+import com.OOP.generation.DungeonGenerator;
+import com.OOP.model.core.World;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One world tick with the active rooms updated by a fork-join pool of 1 to 16 threads
+ * (1 = no pool, everything on the calling thread). Radius 16 makes about 150 rooms active in
+ * a generated dungeon. The result is the same for every thread count, so only the time differs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParallelAiBenchmark {
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int threads;
+
+    @Param({"4", "16"})
+    public int radius;
+
+    private ForkJoinPool pool;
+    private WorldTickScheduler scheduler;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        BenchConsole.install(blackhole);
+        World world = new DungeonGenerator(42, 10000).generate(ForkJoinPool.commonPool());
+        pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        scheduler = new WorldTickScheduler(world, radius, pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != null) pool.shutdown();
+        BenchConsole.uninstall();
+    }
+
+    @Benchmark
+    public void tick() {
+        scheduler.tick();
+    }
+}
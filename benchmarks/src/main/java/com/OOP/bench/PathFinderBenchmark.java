@@ -0,0 +1,60 @@
+package com.OOP.bench;
+
+import com.OOP.model.core.Room;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Corner-to-corner A* in square rooms: an open hall (worst case for A*, many equal f-scores)
+ * and a hall with a quarter of the inner tiles walled off at random.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PathFinderBenchmark {
+
+    @Param({"64", "512"})
+    public int size;
+
+    @Param({"0", "25"}) // Percent of inner tiles that are walls
+    public int walls;
+
+    private Room room;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        BenchConsole.install(blackhole);
+        room = new Room("room_bench", "Benchmark Hall", "A very large hall.", layout(size, walls, new Random(5)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchConsole.uninstall();
+    }
+
+    // Walled square; the two corners used by the benchmark are always floor
+    static String[] layout(int size, int wallPercent, Random random) {
+        String[] layout = new String[size];
+        for (int y = 0; y < size; y++) {
+            StringBuilder row = new StringBuilder(size);
+            for (int x = 0; x < size; x++) {
+                boolean border = x == 0 || y == 0 || x == size - 1 || y == size - 1;
+                boolean corner = (x == 1 && y == 1) || (x == size - 2 && y == size - 2);
+                row.append(border || (!corner && random.nextInt(100) < wallPercent) ? 'W' : 'F');
+            }
+            layout[y] = row.toString();
+        }
+        return layout;
+    }
+
+    @Benchmark
+    public int[] cornerToCorner() {
+        return room.findPath(1, 1, size - 2, size - 2);
+    }
+}
@@ -0,0 +1,100 @@
+package com.OOP.bench;
+
+import com.OOP.model.core.Room;
+import com.OOP.model.items.Gold;
+import com.OOP.model.items.Item;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.Point;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Room placement and lookup at different populations. The room is a walled square with
+ * about twice as many floor tiles as items, so half the floor stays free for placement.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RoomBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int entities;
+
+    private Room room;
+    private Item spareItem;
+    private int[] probeX;
+    private int[] probeY;
+    private int probe;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        BenchConsole.install(blackhole);
+        room = new Room("room_bench", "Benchmark Hall", "A very large hall.", squareLayout(entities * 2));
+        room.setRandom(new Random(42));
+        for (int i = 0; i < entities; i++) {
+            room.addItem(new Gold("gold_" + i, "Gold Pile " + i, "Filler item.", 1));
+        }
+        spareItem = new Gold("gold_spare", "Spare Gold", "Added and removed again.", 1);
+
+        // Half the probes hit an item, half hit a random (mostly empty or wall) tile
+        Random random = new Random(7);
+        probeX = new int[1024];
+        probeY = new int[1024];
+        for (int i = 0; i < probeX.length; i++) {
+            if (i % 2 == 0) {
+                Item item = room.getItemsOnFloor().get(random.nextInt(entities));
+                probeX[i] = item.getTileX();
+                probeY[i] = item.getTileY();
+            } else {
+                probeX[i] = random.nextInt(room.getMapWidth());
+                probeY[i] = random.nextInt(room.getMapHeight());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchConsole.uninstall();
+    }
+
+    // Walled square with at least floorTiles floor tiles inside
+    static String[] squareLayout(int floorTiles) {
+        int inner = (int) Math.ceil(Math.sqrt(Math.max(1, floorTiles)));
+        int size = inner + 2;
+        String wallRow = "W".repeat(size);
+        String floorRow = "W" + "F".repeat(inner) + "W";
+        String[] layout = new String[size];
+        for (int y = 0; y < size; y++) {
+            layout[y] = (y == 0 || y == size - 1) ? wallRow : floorRow;
+        }
+        return layout;
+    }
+
+    // Add and remove again so the population stays at 'entities'
+    @Benchmark
+    public boolean addItem() {
+        room.addItem(spareItem);
+        return room.removeItem(spareItem);
+    }
+
+    @Benchmark
+    public Point findRandomWalkableFloorTile() {
+        return room.findRandomWalkableFloorTile();
+    }
+
+    @Benchmark
+    public Item getItemAt() {
+        int i = probe++ & (probeX.length - 1);
+        return room.getItemAt(probeX[i], probeY[i]);
+    }
+
+    @Benchmark
+    public String getFullDescription() {
+        return room.getFullDescription();
+    }
+}
@@ -0,0 +1,70 @@
+package com.OOP.bench;
+
+import com.OOP.generation.DungeonGenerator;
+import com.OOP.model.core.Door;
+import com.OOP.model.core.RoutePlanner;
+import com.OOP.model.core.World;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Route queries in a generated 100k-room dungeon: random start rooms towards a few destinations
+ * whose trees are cached, and a destination nobody asked for before (one BFS over the world).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g"})
+@State(Scope.Thread)
+public class RoutePlannerBenchmark {
+
+    @Param({"100000"})
+    public int rooms;
+
+    private RoutePlanner planner;
+    private String[] from;
+    private String[] to;
+    private int query;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        BenchConsole.install(blackhole);
+        World world = new DungeonGenerator(42, rooms).generate(ForkJoinPool.commonPool());
+        planner = world.getRoutePlanner();
+        Random random = new Random(7);
+        from = new String[1024];
+        for (int i = 0; i < from.length; i++) from[i] = "room_" + random.nextInt(rooms);
+        to = new String[8]; // Fewer than RoutePlanner.DEFAULT_CACHED_TREES, so all stay cached
+        for (int i = 0; i < to.length; i++) to[i] = "room_" + random.nextInt(rooms);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchConsole.uninstall();
+    }
+
+    @Benchmark
+    public List<Door> cachedRoute() {
+        int i = query++;
+        return planner.findRoute(from[i & 1023], to[i & 7]);
+    }
+
+    @Benchmark
+    public Door cachedNextDoor() {
+        int i = query++;
+        return planner.nextDoor(from[i & 1023], to[i & 7]);
+    }
+
+    // Destinations cycle through 1024 rooms, far more than the cache holds, so every call builds a tree
+    @Benchmark
+    public int uncachedDistance() {
+        int i = query++;
+        return planner.distance(from[i & 1023], from[(i + 512) & 1023]);
+    }
+}
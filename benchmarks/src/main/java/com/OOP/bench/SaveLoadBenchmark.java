@@ -0,0 +1,110 @@
+package com.OOP.bench;
+
+import com.OOP.model.core.Door;
+import com.OOP.model.core.Room;
+import com.OOP.model.core.World;
+import com.OOP.model.entities.Enemy;
+import com.OOP.model.entities.Player;
+import com.OOP.model.interactables.Chest;
+import com.OOP.model.interactables.Lock;
+import com.OOP.model.items.Gold;
+import com.OOP.model.items.Key;
+import com.OOP.model.items.Medicine;
+import com.OOP.persistence.WorldReader;
+import com.OOP.persistence.WorldWriter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary save/load of a generated world: a corridor of 8x8 rooms joined by doors, each room
+ * with a gold pile, every second one with an enemy carrying a key and every third one with a
+ * locked chest. Target: loading the 50k-room world stays under one second.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g"}) // A 50k-room world is ~150 MB live; don't time heap growth
+@State(Scope.Benchmark)
+public class SaveLoadBenchmark {
+    private static final String[] ROOM_LAYOUT = {
+            "WWWWWWWW",
+            "WPFFFFFW",
+            "WFFFFFFW",
+            "WFFFFFFW",
+            "WFFFFFFW",
+            "WFFFFFFW",
+            "WFFFFFFW",
+            "WWWWWWWW"
+    };
+
+    @Param({"1000", "50000"})
+    public int rooms;
+
+    private World world;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) throws IOException {
+        BenchConsole.install(blackhole);
+        world = generateWorld(rooms);
+        file = Files.createTempFile("world-bench", ".sav");
+        WorldWriter.save(world, file);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        BenchConsole.uninstall();
+    }
+
+    @Benchmark
+    public World load() throws IOException {
+        return WorldReader.load(file, new Random(1));
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        WorldWriter.save(world, file);
+    }
+
+    static World generateWorld(int roomCount) {
+        World world = new World(new Random(42));
+        Room previous = null;
+        for (int i = 0; i < roomCount; i++) {
+            Room room = new Room("room_" + i, "Room " + i, "A generated room.", ROOM_LAYOUT);
+            world.addRoom(room);
+            room.addItem(new Gold("gold_" + i, "Gold Coins", "A few coins.", i % 50));
+            if (i % 3 == 0) {
+                Lock lock = new Lock("lock_" + i, "chest lock", true);
+                lock.addAcceptableKeyId("key_" + i);
+                Chest chest = new Chest("chest_" + i, "Chest", "A locked chest.", lock);
+                chest.addItem(new Medicine("potion_" + i, "Health Potion", "Restores 25 HP.", 25));
+                room.addChest(chest, new Point(3, 3));
+            }
+            if (i % 2 == 0) {
+                Key key = new Key("key_" + i, "Small Key", "A small key.", "lock_" + i);
+                room.addLivingBeing(new Enemy("enemy_" + i, "Goblin", "A goblin.", 30, 8, room, key));
+            }
+            if (previous != null) {
+                Door door = new Door("door_" + i, "Door", "A door.", previous, room, null, new Point(7, 3));
+                previous.addExit("east", door);
+                room.addExit("west", door);
+            }
+            if (i == 0) {
+                Player player = new Player("Hero", 100, 5, room);
+                room.addLivingBeing(player);
+                world.setPlayer(player);
+            }
+            previous = room;
+        }
+        return world;
+    }
+}
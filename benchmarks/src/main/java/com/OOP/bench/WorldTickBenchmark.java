@@ -0,0 +1,48 @@
+package com.OOP.bench;
+
+import com.OOP.ai.WorldTickScheduler;
+import com.OOP.generation.DungeonGenerator;
+import com.OOP.model.core.World;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One world tick in generated dungeons of different sizes. Only rooms near the player are
+ * simulated, so the time should follow the interest radius and not the room count.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g"})
+@State(Scope.Thread)
+public class WorldTickBenchmark {
+
+    @Param({"1000", "100000"})
+    public int rooms;
+
+    @Param({"1", "3"})
+    public int radius;
+
+    private WorldTickScheduler scheduler;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        BenchConsole.install(blackhole);
+        World world = new DungeonGenerator(42, rooms).generate(ForkJoinPool.commonPool());
+        scheduler = new WorldTickScheduler(world, radius);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchConsole.uninstall();
+    }
+
+    @Benchmark
+    public void tick() {
+        scheduler.tick();
+    }
+}
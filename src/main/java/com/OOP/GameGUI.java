@@ -1,11 +1,19 @@
 package com.OOP;
 
+import com.OOP.events.GameEvent;
+import com.OOP.model.core.Room;
 import com.OOP.model.core.World;
 import com.OOP.model.entities.Enemy;
 import com.OOP.model.entities.LivingBeing;
 import com.OOP.model.entities.Player;
 import com.OOP.model.interactables.Chest;
 import com.OOP.model.items.Item;
+import com.OOP.persistence.CommandJournal;
+import com.OOP.utils.GameConsole;
+import com.OOP.gui.GameLogPanel;
+import com.OOP.gui.GameLoop;
+import com.OOP.gui.OutputAccumulator;
+import com.OOP.view.ActiveMapCanvas;
 import com.OOP.view.GamePanel;
 
 import javax.swing.*;
@@ -13,15 +21,21 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.List;
 
 public class GameGUI extends JFrame {
 
-    private JTextArea outputArea;
+    private GameLogPanel logPanel;
+    private OutputAccumulator output; // All log text is appended through this
     private JTextField inputField;
     private GamePanel gamePanel; // << NEW
+    private ActiveMapCanvas activeMapCanvas; // Only with -Dgame.activeRendering=true, null for the Swing path
 
     // ... (other UI components as before, maybe simplified if map is primary)
     private JPanel statusPanel;
@@ -31,6 +45,13 @@ public class GameGUI extends JFrame {
     private World world;
     private Player player;
     private MainGameLogicController gameLogicController;
+    private CommandJournal journal; // Only with -Dgame.journal.dir
+    // Click-to-move: the path being walked (packed tile indexes) and the timer stepping along it
+    private static final int WALK_STEP_MS = 80;
+    private final Timer walkTimer = new Timer(WALK_STEP_MS, e -> stepWalk());
+    private int[] walkPath;
+    private int walkStep;
+    private Room walkRoom;
 
     public GameGUI() {
         // ... (LnF setup) ...
@@ -41,11 +62,25 @@ public class GameGUI extends JFrame {
         }
 
 
-        world = new World();
-        world.setupWorld();
+        // -Dgame.journal.dir=<dir>: journal every action there and resume from it on the next start
+        String journalDir = System.getProperty("game.journal.dir");
+        if (journalDir != null) {
+            try {
+                journal = CommandJournal.open(Path.of(journalDir), GameGUI::createWorld);
+                world = journal.getWorld();
+                GameConsole.errorln(journal.getRecovery().describe());
+                Runtime.getRuntime().addShutdownHook(new Thread(this::closeJournal, "journal-close"));
+            } catch (IOException e) {
+                GameConsole.errorln("Could not open journal in " + journalDir + ", playing without it: " + e.getMessage());
+                journal = null;
+            }
+        }
+        if (world == null) world = createWorld();
         player = world.getPlayer();
 
-        gameLogicController = new MainGameLogicController(world, player, this::updateGameOutput, this::updatePlayerStatusAndMap);
+        // No per-command status refresh: the status labels and the map follow the world's events instead
+        gameLogicController = new MainGameLogicController(world, player, this::updateGameOutput, () -> { });
+        gameLogicController.setJournal(journal);
 
         setTitle("Graphical Adventure");
         // Size will be determined by GamePanel + other components
@@ -57,21 +92,51 @@ public class GameGUI extends JFrame {
 
         // Add KeyListener to the component that will have focus for game play (GamePanel or JFrame)
         this.addKeyListener(new GameKeyListener());
+        MouseAdapter clickToMove = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                walkTo(e.getX() / GamePanel.TILE_SIZE, e.getY() / GamePanel.TILE_SIZE);
+                requestFocusInWindow(); // Keep arrow keys working after a click
+            }
+        };
+        (activeMapCanvas != null ? activeMapCanvas : gamePanel).addMouseListener(clickToMove);
         this.setFocusable(true); // JFrame needs to be focusable to receive key events
         this.requestFocusInWindow(); // Request focus for the JFrame
 
-        gameLogicController.startGame(); // This will call updatePlayerStatusAndMap
+        world.getEventBus().subscribeAsync(GameEvent.class, SwingUtilities::invokeLater, this::applyEvents);
+        gameLogicController.startGame();
+        updatePlayerStatusAndMap(); // Initial state; from here on events keep it current
         pack(); // Adjust window size to fit components
         setLocationRelativeTo(null); // Center after packing
     }
 
+    private static World createWorld() {
+        World newWorld = new World();
+        newWorld.setupWorld();
+        return newWorld;
+    }
+
+    private void closeJournal() {
+        try {
+            journal.close();
+        } catch (IOException e) {
+            GameConsole.errorln("Journal: " + e.getMessage());
+        }
+    }
+
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
             GameGUI gui = new GameGUI();
             gui.setVisible(true);
+            gui.startActiveRendering();
         });
     }
 
+    // The canvas needs a visible window before it can create its buffers
+    public void startActiveRendering() {
+        if (activeMapCanvas != null) activeMapCanvas.start();
+    }
+
     private void initComponents() {
         JPanel mainContentPane = new JPanel(new BorderLayout(5, 5));
         mainContentPane.setBorder(new EmptyBorder(5, 5, 5, 5));
@@ -79,19 +144,23 @@ public class GameGUI extends JFrame {
 
         // --- Game Panel (Center) ---
         gamePanel = new GamePanel(player); // Initialize GamePanel
-        mainContentPane.add(gamePanel, BorderLayout.CENTER);
+        if (Boolean.getBoolean("game.activeRendering")) {
+            // Map drawn by its own render loop into a BufferStrategy; gamePanel only does the drawing
+            activeMapCanvas = new ActiveMapCanvas(gamePanel, Integer.getInteger("game.fps", GameLoop.DEFAULT_TARGET_FPS));
+            mainContentPane.add(activeMapCanvas, BorderLayout.CENTER);
+        } else {
+            mainContentPane.add(gamePanel, BorderLayout.CENTER);
+        }
 
         // --- Output Area (South or East) ---
-        outputArea = new JTextArea(10, 30); // Rows, Columns
-        outputArea.setEditable(false);
-        outputArea.setLineWrap(true);
-        outputArea.setWrapStyleWord(true);
-        outputArea.setFont(new Font("Segoe UI", Font.PLAIN, 13));
-        JScrollPane scrollPane = new JScrollPane(outputArea);
-        scrollPane.setBorder(BorderFactory.createTitledBorder("Game Log"));
+        // Bounded log (ring buffer of lines, only visible rows painted) with search and category filters
+        logPanel = new GameLogPanel("Game Log");
+        logPanel.setPreferredSize(new Dimension(400, 220));
+        // Everything shown in the log goes through here, so it stays in order and is appended in batches
+        output = new OutputAccumulator(logPanel::appendText, Integer.getInteger("game.log.maxFlushesPerSecond", OutputAccumulator.DEFAULT_MAX_FLUSHES_PER_SECOND));
         // Decide where to put it, e.g., SOUTH
         JPanel bottomPanel = new JPanel(new BorderLayout()); // Panel to hold log and input
-        bottomPanel.add(scrollPane, BorderLayout.CENTER);
+        bottomPanel.add(logPanel, BorderLayout.CENTER);
         mainContentPane.add(bottomPanel, BorderLayout.SOUTH);
 
 
@@ -142,7 +211,7 @@ public class GameGUI extends JFrame {
     private void processPlayerTextInput() {
         String command = inputField.getText().trim();
         if (!command.isEmpty()) {
-            outputArea.append("\n> " + command + "\n");
+            output.append("\n> " + command + "\n");
             gameLogicController.processInput(command); // Your existing logic controller
             inputField.setText("");
         }
@@ -150,30 +219,134 @@ public class GameGUI extends JFrame {
     }
 
     public void updateGameOutput(String text) { /* ... same as before ... */
-        SwingUtilities.invokeLater(() -> {
-            outputArea.append(text + "\n");
-            outputArea.setCaretPosition(outputArea.getDocument().getLength());
-        });
+        output.append(text + "\n");
     }
 
     // Modified status updater
     public void updatePlayerStatusAndMap() {
         SwingUtilities.invokeLater(() -> {
             if (player != null && player.getCurrentRoom() != null) {
-                roomLabel.setText("Room: " + player.getCurrentRoom().getName());
-                healthLabel.setText("HP: " + player.getHealthPoints() + "/" + player.getMaxHealthPoints());
-                goldLabel.setText("Gold: " + player.getGoldQuantity());
-                equippedWeaponLabel.setText("Weapon: " + (player.getEquippedWeapon() != null ? player.getEquippedWeapon().getName() : "None"));
-                equippedShieldLabel.setText("Shield: " + (player.getEquippedShield() != null ? player.getEquippedShield().getName() : "None"));
+                updateStatusLabels();
 
                 if (gamePanel.currentRoom != player.getCurrentRoom()) {
                     gamePanel.updateRoom(player.getCurrentRoom());
+                    if (activeMapCanvas != null) activeMapCanvas.revalidate(); // New room size
                 }
                 gamePanel.repaint(); // Repaint the map and entities
             }
         });
     }
 
+    // Updates just what a batch of events changed (runs on the EDT, one call per batch)
+    private void applyEvents(List<GameEvent> events) {
+        for (GameEvent event : events) {
+            switch (event) {
+                case GameEvent.DamageDealt e -> {
+                    if (e.target() == player) updateHealthLabel();
+                    gamePanel.repaintTile(e.target().getTileX(), e.target().getTileY()); // Health bar
+                }
+                case GameEvent.HealthChanged e -> {
+                    if (e.being() == player) updateHealthLabel();
+                }
+                case GameEvent.BeingDefeated e -> gamePanel.repaintTile(e.being().getTileX(), e.being().getTileY());
+                case GameEvent.GoldChanged e -> goldLabel.setText("Gold: " + e.total());
+                case GameEvent.EquipmentChanged e -> {
+                    if (e.being() == player) updateEquipmentLabels();
+                }
+                case GameEvent.RoomEntered e -> {
+                    if (e.being() == player) {
+                        roomLabel.setText("Room: " + e.to().getName());
+                        if (gamePanel.currentRoom != e.to()) {
+                            gamePanel.updateRoom(e.to());
+                            if (activeMapCanvas != null) activeMapCanvas.revalidate(); // New room size
+                        }
+                    }
+                }
+                case GameEvent.BeingMoved e -> {
+                    if (e.room() == gamePanel.currentRoom) gamePanel.repaintMove(e.oldTileX(), e.oldTileY(), e.newTileX(), e.newTileY());
+                }
+                case GameEvent.FloorItemsChanged e -> {
+                    if (e.room() == gamePanel.currentRoom) gamePanel.repaintTile(e.tileX(), e.tileY());
+                }
+                case GameEvent.ChestOpened e -> gamePanel.repaintTile(e.chest().getTileX(), e.chest().getTileY());
+                case GameEvent.DoorUnlocked e -> gamePanel.repaint(); // Door tile changes in the static layer
+                case GameEvent.ItemPickedUp e -> { } // Shown by the tile change and the log
+                case GameEvent.ItemDropped e -> { }
+            }
+        }
+    }
+
+    // --- Click-to-move ---
+
+    private void walkTo(int tileX, int tileY) {
+        stopWalking();
+        Room room = player.getCurrentRoom();
+        if (gameLogicController.isGameOver() || room == null) return;
+        int[] path = room.findPath(player.getTileX(), player.getTileY(), tileX, tileY);
+        if (path == null) {
+            output.append("\nThere is no way to get there.\n");
+            return;
+        }
+        walkPath = path;
+        walkStep = 0;
+        walkRoom = room;
+        walkTimer.start();
+    }
+
+    // One tile per tick; a door tile at the end of the path is walked through with "go <direction>"
+    private void stepWalk() {
+        Room room = player.getCurrentRoom();
+        if (walkPath == null || walkStep >= walkPath.length || room != walkRoom || gameLogicController.isGameOver()) {
+            stopWalking();
+            return;
+        }
+        int next = walkPath[walkStep++];
+        int nextX = room.getTileGrid().xOf(next);
+        int nextY = room.getTileGrid().yOf(next);
+        if (room.getTileChar(nextX, nextY) == 'D') {
+            String direction = nextY < player.getTileY() ? "north" : nextY > player.getTileY() ? "south"
+                    : nextX < player.getTileX() ? "west" : "east";
+            stopWalking();
+            gameLogicController.processInput("go " + direction);
+            return;
+        }
+        int oldPlayerX = player.getTileX(), oldPlayerY = player.getTileY();
+        gameLogicController.movePlayerTo(nextX, nextY);
+        updatePlayerStatusAfterMove(oldPlayerX, oldPlayerY);
+    }
+
+    private void stopWalking() {
+        walkTimer.stop();
+        walkPath = null;
+        walkRoom = null;
+    }
+
+    // After a plain one-tile walk only the two tiles involved need repainting
+    private void updatePlayerStatusAfterMove(int oldTileX, int oldTileY) {
+        SwingUtilities.invokeLater(() -> {
+            if (player != null && player.getCurrentRoom() != null) {
+                updateStatusLabels();
+                gamePanel.repaintMove(oldTileX, oldTileY, player.getTileX(), player.getTileY());
+            }
+        });
+    }
+
+    private void updateStatusLabels() {
+        roomLabel.setText("Room: " + player.getCurrentRoom().getName());
+        updateHealthLabel();
+        goldLabel.setText("Gold: " + player.getGoldQuantity());
+        updateEquipmentLabels();
+    }
+
+    private void updateHealthLabel() {
+        healthLabel.setText("HP: " + player.getHealthPoints() + "/" + player.getMaxHealthPoints());
+    }
+
+    private void updateEquipmentLabels() {
+        equippedWeaponLabel.setText("Weapon: " + (player.getEquippedWeapon() != null ? player.getEquippedWeapon().getName() : "None"));
+        equippedShieldLabel.setText("Shield: " + (player.getEquippedShield() != null ? player.getEquippedShield().getName() : "None"));
+    }
+
     private void redirectSystemStreams() { /* ... same as before ... */
         OutputStream out = new OutputStream() {
             @Override
@@ -196,10 +369,7 @@ public class GameGUI extends JFrame {
     }
 
     private void updateGUIOutputCharByChar(final String text) { /* ... same as before ... */
-        SwingUtilities.invokeLater(() -> {
-            outputArea.append(text);
-            outputArea.setCaretPosition(outputArea.getDocument().getLength());
-        });
+        output.append(text); // Batched: one EDT append per flush, not per write
     }
 
     // --- INNER CLASS FOR KEYBOARD INPUT ---
@@ -216,6 +386,7 @@ public class GameGUI extends JFrame {
             if (inputField.hasFocus() && keyCode != KeyEvent.VK_ENTER) {
                 return;
             }
+            stopWalking(); // A game key takes over from click-to-move
             // If Enter is pressed in inputField, processPlayerTextInput handles it.
 
             switch (keyCode) {
@@ -246,41 +417,39 @@ public class GameGUI extends JFrame {
                     Chest chestOnTile = player.getCurrentRoom().getChestAt(player.getTileX(), player.getTileY());
 
                     if (itemOnTile != null) {
-                        outputArea.append("\n> Taking " + itemOnTile.getName() + "...\n");
-                        player.pickUpItem(itemOnTile);
-                        player.getCurrentRoom().removeItem(itemOnTile);
+                        output.append("\n> Taking " + itemOnTile.getName() + "...\n");
+                        gameLogicController.takeItemUnderPlayer();
                         updatePlayerStatusAndMap();
                     } else if (chestOnTile != null) {
                         if (!chestOnTile.isOpen()) {
-                            outputArea.append("\n> Trying to open " + chestOnTile.getName() + "...\n");
+                            output.append("\n> Trying to open " + chestOnTile.getName() + "...\n");
                             // Attempt to open. Player might need a key or crowbar.
                             // The "open" command string needs to be specific or the logic improved.
                             // For 'E' key, let's try a generic open attempt without specifying 'with item'.
                             // The activate method in Chest/Door should handle if a crowbar is available.
                             gameLogicController.processInput("open " + chestOnTile.getName().toLowerCase());
-                            // processInput will eventually call updatePlayerStatusAndMap()
+                            // The resulting events update the map and status
                         } else {
                             // Chest is open, try to take items from it.
                             // This needs a UI for selecting items from chest or taking all.
                             // Simplification: Take the first item from the open chest.
                             if (!chestOnTile.getContents().isEmpty()) {
                                 Item itemInChest = chestOnTile.getContents().get(0);
-                                outputArea.append("\n> Taking " + itemInChest.getName() + " from " + chestOnTile.getName() + "...\n");
-                                player.pickUpItem(itemInChest);
-                                chestOnTile.getContents().remove(itemInChest); // Remove from chest
+                                output.append("\n> Taking " + itemInChest.getName() + " from " + chestOnTile.getName() + "...\n");
+                                gameLogicController.takeFromChestUnderPlayer(); // Takes the first item, i.e. itemInChest
                                 updatePlayerStatusAndMap();
                                 if (chestOnTile.getContents().isEmpty()) {
-                                    outputArea.append(chestOnTile.getName() + " is now empty.\n");
+                                    output.append(chestOnTile.getName() + " is now empty.\n");
                                 }
                             } else {
-                                outputArea.append("\n" + chestOnTile.getName() + " is empty.\n");
+                                output.append("\n" + chestOnTile.getName() + " is empty.\n");
                             }
                         }
                     } else {
                         // No item or chest on current tile. Check for Doors to interact with?
                         // Or try interacting with entity in front (NPC talk) - this needs facing direction.
                         // For now:
-                        outputArea.append("\nNothing to directly interact with here using 'E'.\n");
+                        output.append("\nNothing to directly interact with here using 'E'.\n");
                     }
                     break;
 
@@ -297,13 +466,13 @@ public class GameGUI extends JFrame {
                     }
 
                     if (targetEnemy != null) {
-                        outputArea.append("\n> Attacking " + targetEnemy.getName() + "!\n");
+                        output.append("\n> Attacking " + targetEnemy.getName() + "!\n");
                         // Use the "attack <target_name>" command for consistency with text input
                         // and to trigger enemy retaliation logic within gameLogicController.
                         gameLogicController.processInput("attack " + targetEnemy.getName().toLowerCase().replace(" ", "_"));
-                        // gameLogicController.processInput will call updatePlayerStatusAndMap()
+                        // The resulting events update the map and status
                     } else {
-                        outputArea.append("\nNo enemies to attack here.\n");
+                        output.append("\nNo enemies to attack here.\n");
                     }
                     break;
                 case KeyEvent.VK_I:
@@ -316,7 +485,7 @@ public class GameGUI extends JFrame {
                 // Check for collision before updating player's actual tile position
                 if (!gamePanel.isTileSolid(newPlayerX, newPlayerY)) {
                     // Check if moving onto a door tile
-                    char targetTileChar = player.getCurrentRoom().getTileMapLayout()[newPlayerY].charAt(newPlayerX);
+                    char targetTileChar = player.getCurrentRoom().getTileChar(newPlayerX, newPlayerY);
                     if (targetTileChar == 'D') {
                         // This is where "go north/south/etc." logic is effectively happening
                         // Find the direction moved
@@ -333,15 +502,15 @@ public class GameGUI extends JFrame {
                         }
                     } else {
                         // Normal move to a non-door tile
-                        player.setTileX(newPlayerX);
-                        player.setTileY(newPlayerY);
-                        // Update status and map (includes repaint)
+                        int oldPlayerX = player.getTileX(), oldPlayerY = player.getTileY();
+                        gameLogicController.movePlayerTo(newPlayerX, newPlayerY);
+                        // Update status and repaint the old and new tile only
                         // Also, need to trigger any "on enter tile" logic if you have it
-                        updatePlayerStatusAndMap();
-                        // No enemy turn here unless your game is real-time, for turn-based, wait for specific action.
+                        updatePlayerStatusAfterMove(oldPlayerX, oldPlayerY);
+                        // The step ticks the rooms around, but enemies here only get a turn on typed commands
                     }
                 } else {
-                    outputArea.append("\nOuch! Can't move there.\n");
+                    output.append("\nOuch! Can't move there.\n");
                     updatePlayerStatusAndMap(); // Repaint to ensure player hasn't visually "passed through"
                 }
             } else if (keyCode == KeyEvent.VK_SPACE || keyCode == KeyEvent.VK_E || keyCode == KeyEvent.VK_I) {
@@ -0,0 +1,164 @@
+package com.OOP;
+
+import com.OOP.model.core.World;
+import com.OOP.model.entities.Player;
+import com.OOP.model.items.Item;
+import com.OOP.persistence.CommandJournal;
+import com.OOP.utils.GameConsole;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Replays a recorded command file (or stdin) against MainGameLogicController without any UI.
+ * Usage: {@code HeadlessRunner [commands.txt | -] [--echo] [--journal <dir>]}
+ * <p>
+ * Blank lines and lines starting with '#' are skipped. By default all game output (both the
+ * controller's output consumer and the model's GameConsole messages) is discarded and the room
+ * description is not rebuilt after every command; with --echo it is buffered and printed once
+ * at the end. Errors and warnings still go to stderr. The run ends with commands/sec, p50/p99 per-command latency and a state summary.
+ * With --journal the world is restored from (and the commands appended to) a {@link CommandJournal}
+ * directory, and the report includes the journal replay speed.
+ */
+public class HeadlessRunner {
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    private final MainGameLogicController controller;
+    private final Player player;
+    private long[] latencies = new long[1024];
+    private int commandCount;
+    private long elapsedNanos;
+
+    public HeadlessRunner(World world, Consumer<String> outputConsumer) {
+        this.player = world.getPlayer();
+        this.controller = new MainGameLogicController(world, player, outputConsumer, () -> { });
+        this.controller.setDescribeRoomAfterCommand(false);
+    }
+
+    public void setJournal(CommandJournal journal) {
+        controller.setJournal(journal);
+    }
+
+    public static void main(String[] args) throws IOException {
+        String source = "-";
+        boolean echo = false;
+        String journalDir = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--echo")) echo = true;
+            else if (args[i].equals("--journal") && i + 1 < args.length) journalDir = args[++i];
+            else source = args[i];
+        }
+
+        // The controller's output and the model's GameConsole messages, in the order they were printed
+        StringBuilder echoed = new StringBuilder();
+        Consumer<String> output = echo ? text -> echoed.append(text).append('\n') : text -> { };
+
+        CommandJournal journal = null;
+        World world;
+        if (journalDir != null) {
+            journal = CommandJournal.open(Path.of(journalDir), () -> {
+                World newWorld = new World();
+                newWorld.setupWorld();
+                return newWorld;
+            });
+            world = journal.getWorld();
+        } else {
+            world = new World();
+            world.setupWorld();
+        }
+        HeadlessRunner runner = new HeadlessRunner(world, output);
+        runner.setJournal(journal);
+
+        // Only this thread's model output is redirected; errors (GameConsole.errorln) stay on stderr
+        InputStream input = source.equals("-") ? System.in : Files.newInputStream(Path.of(source));
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), READ_BUFFER_SIZE)) {
+            GameConsole.withThreadSinks(output, System.err::println, () -> {
+                try {
+                    runner.run(reader);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+
+        if (echo) System.out.print(echoed);
+        System.out.println(runner.getReport());
+        if (journal != null) {
+            journal.close(); // Waits for the last group commit
+            System.out.println(journal.getRecovery().describe());
+            System.out.println(journal.getStats());
+        }
+    }
+
+    // Feeds every command line to the controller until input ends or the game is over
+    public void run(BufferedReader reader) throws IOException {
+        long start = System.nanoTime();
+        String line;
+        while (!controller.isGameOver() && (line = reader.readLine()) != null) {
+            if (line.isBlank() || line.startsWith("#")) continue;
+            long commandStart = System.nanoTime();
+            controller.processInput(line);
+            record(System.nanoTime() - commandStart);
+        }
+        elapsedNanos += System.nanoTime() - start;
+    }
+
+    private void record(long nanos) {
+        if (commandCount == latencies.length) {
+            latencies = Arrays.copyOf(latencies, latencies.length * 2);
+        }
+        latencies[commandCount++] = nanos;
+    }
+
+    public int getCommandCount() {
+        return commandCount;
+    }
+
+    public double getCommandsPerSecond() {
+        return elapsedNanos == 0 ? 0 : commandCount * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    // Per-command latency at the given percentile (0-100), in nanoseconds
+    public long getLatencyPercentile(double percentile) {
+        if (commandCount == 0) return 0;
+        long[] sorted = Arrays.copyOf(latencies, commandCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * commandCount) - 1;
+        return sorted[Math.max(0, Math.min(commandCount - 1, index))];
+    }
+
+    public String getReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("--- Headless run ---\n");
+        sb.append("Commands: ").append(commandCount)
+                .append(" in ").append(String.format("%.3f", elapsedNanos / 1_000_000.0)).append(" ms")
+                .append(" (").append(String.format("%.0f", getCommandsPerSecond())).append(" commands/sec)\n");
+        sb.append("Latency p50: ").append(formatMicros(getLatencyPercentile(50)))
+                .append(", p99: ").append(formatMicros(getLatencyPercentile(99)))
+                .append(", max: ").append(formatMicros(getLatencyPercentile(100))).append("\n");
+        sb.append("--- Final state ---\n");
+        sb.append("Room: ").append(player.getCurrentRoom() != null ? player.getCurrentRoom().getName() : "None")
+                .append(" at (").append(player.getTileX()).append(",").append(player.getTileY()).append(")\n");
+        sb.append("HP: ").append(player.getHealthPoints()).append("/").append(player.getMaxHealthPoints())
+                .append(", Gold: ").append(player.getGoldQuantity()).append("\n");
+        sb.append("Inventory: ").append(player.getInventory().isEmpty() ? "Empty"
+                : player.getInventory().stream().map(Item::getName).collect(Collectors.joining(", "))).append("\n");
+        sb.append("Weapon: ").append(player.getEquippedWeapon() != null ? player.getEquippedWeapon().getName() : "None")
+                .append(", Shield: ").append(player.getEquippedShield() != null ? player.getEquippedShield().getName() : "None").append("\n");
+        sb.append("Game over: ").append(controller.isGameOver());
+        return sb.toString();
+    }
+
+    private static String formatMicros(long nanos) {
+        return String.format("%.1f us", nanos / 1000.0);
+    }
+}
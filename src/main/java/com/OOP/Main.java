@@ -1,5 +1,7 @@
 package com.OOP;
 
+import com.OOP.command.CommandLine;
+import com.OOP.command.CommandRegistry;
 import com.OOP.interfaces.Activatable;
 import com.OOP.interfaces.Executable;
 import com.OOP.model.core.*;
@@ -11,6 +13,7 @@ import com.OOP.model.interactables.Chest;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class Main {
@@ -18,11 +21,13 @@ public class Main {
     private static Player player;
     private static Scanner scanner = new Scanner(System.in);
     private static boolean gameOver = false;
+    private static CommandRegistry commands;
 
     public static void main(String[] args) {
         world = new World();
         world.setupWorld();
         player = world.getPlayer();
+        commands = createCommands();
 
         System.out.println("Welcome to the Adventure Game!");
         System.out.println("Type 'help' for commands.");
@@ -37,7 +42,7 @@ public class Main {
             System.out.println("\n-----------------------------------");
             System.out.println(player.getCurrentRoom().getFullDescription());
             System.out.print("> ");
-            String input = scanner.nextLine().trim().toLowerCase();
+            String input = scanner.nextLine();
             processInput(input);
 
             // Simple enemy AI: enemies in the room attack if player is present
@@ -51,125 +56,72 @@ public class Main {
     }
 
     private static void processInput(String input) {
-        String[] parts = input.split("\\s+", 3); // command target [modifier/specification]
-        String command = parts[0];
-        String targetName = parts.length > 1 ? parts[1] : null;
-        String specification = parts.length > 2 ? parts[2] : null; // e.g., "key" in "use key on door"
-
-        switch (command) {
-            case "help":
-                showHelp();
-                break;
-            case "look":
-                if (targetName == null) {
-                    // Already handled by printing room description, or could add more detail
-                    System.out.println(player.getCurrentRoom().getFullDescription());
-                } else {
-                    lookAt(targetName);
-                }
-                break;
-            case "go":
-            case "move":
-                if (targetName != null) {
-                    movePlayer(targetName); // targetName is direction
-                } else {
-                    System.out.println("Go where? (e.g., go north)");
-                }
-                break;
-            case "take":
-            case "get":
-                if (targetName != null) {
-                    takeItem(targetName);
-                } else {
-                    System.out.println("Take what?");
-                }
-                break;
-            case "drop":
-                if (targetName != null) {
-                    player.dropItem(targetName);
-                } else {
-                    System.out.println("Drop what?");
-                }
-                break;
-            case "i":
-            case "inv":
-            case "inventory":
-                player.viewInventory();
-                break;
-            case "use":
-                if (targetName != null) {
-                    // use <item_name> [on <target_entity_name>]
-                    // e.g. use potion
-                    // e.g. use key on door
-                    // e.g. use crowbar on chest
-                    String onItemName = targetName;
-                    String onEntityName = null;
-                    if (specification != null && specification.startsWith("on ") && specification.length() > 3) {
-                        onEntityName = specification.substring(3);
-                    } else if (specification != null) { // Simple "use item target"
-                        onEntityName = specification;
-                    }
-                    useItem(onItemName, onEntityName);
-                } else {
-                    System.out.println("Use what? (e.g. use potion, use key on door)");
-                }
-                break;
-            case "open":
-                if (targetName != null) {
-                    // open <door/chest_name> [with <item_name>]
-                    String activatableName = targetName;
-                    String withItemName = null;
-                    if (specification != null && specification.startsWith("with ") && specification.length() > 5) {
-                        withItemName = specification.substring(5);
-                    } else if (specification != null) { // open door key
-                        withItemName = specification;
-                    }
-                    openActivatable(activatableName, withItemName);
-                } else {
-                    System.out.println("Open what? (e.g. open door, open chest with key)");
-                }
-                break;
-            case "attack":
-                if (targetName != null) {
-                    attackTarget(targetName);
-                } else {
-                    System.out.println("Attack who?");
-                }
-                break;
-            case "talk":
-                if (targetName != null) {
-                    talkTo(targetName);
-                } else {
-                    System.out.println("Talk to who?");
-                }
-                break;
-            case "buy":
-                if (targetName != null) {
-                    buyFromMerchant(targetName);
-                } else {
-                    System.out.println("Buy what?");
-                }
-                break;
-            case "equip":
-                if(targetName != null) {
-                    equipItem(targetName);
-                } else {
-                    System.out.println("Equip what?");
-                }
-                break;
-            case "unequip":
-                if(targetName != null) {
-                    unequipItem(targetName);
-                } else {
-                    System.out.println("Unequip what? (weapon or shield)");
-                }
-                break;
-            case "quit":
-            case "exit":
-                gameOver = true;
-                break;
-            default:
-                System.out.println("Unknown command. Type 'help' for a list of commands.");
+        commands.execute(input); // command target [modifier/specification]
+    }
+
+    // Same verbs as MainGameLogicController, but the console takes a single-word target
+    // (e.g. "use key on door" -> target "key", specification "on door")
+    private static CommandRegistry createCommands() {
+        CommandRegistry registry = new CommandRegistry();
+        registry.register(c -> showHelp(), "help");
+        registry.register(c -> {
+            if (!c.hasArguments()) {
+                // Already handled by printing room description, or could add more detail
+                System.out.println(player.getCurrentRoom().getFullDescription());
+            } else {
+                lookAt(c.token(1));
+            }
+        }, "look");
+        registry.register(c -> withTarget(c, "Go where? (e.g., go north)", Main::movePlayer), "go", "move"); // target is direction
+        registry.register(c -> withTarget(c, "Take what?", Main::takeItem), "take", "get");
+        registry.register(c -> withTarget(c, "Drop what?", player::dropItem), "drop");
+        registry.register(c -> player.viewInventory(), "i", "inv", "inventory");
+        registry.register(c -> {
+            if (!c.hasArguments()) {
+                System.out.println("Use what? (e.g. use potion, use key on door)");
+                return;
+            }
+            // use <item_name> [on <target_entity_name>]
+            // e.g. use potion
+            // e.g. use key on door
+            // e.g. use crowbar on chest
+            String onEntityName = null;
+            if (c.tokenEquals(2, "on") && c.tokenCount() > 3) {
+                onEntityName = c.rest(3);
+            } else if (c.tokenCount() > 2) { // Simple "use item target"
+                onEntityName = c.rest(2);
+            }
+            useItem(c.token(1), onEntityName);
+        }, "use");
+        registry.register(c -> {
+            if (!c.hasArguments()) {
+                System.out.println("Open what? (e.g. open door, open chest with key)");
+                return;
+            }
+            // open <door/chest_name> [with <item_name>]
+            String withItemName = null;
+            if (c.tokenEquals(2, "with") && c.tokenCount() > 3) {
+                withItemName = c.rest(3);
+            } else if (c.tokenCount() > 2) { // open door key
+                withItemName = c.rest(2);
+            }
+            openActivatable(c.token(1), withItemName);
+        }, "open");
+        registry.register(c -> withTarget(c, "Attack who?", Main::attackTarget), "attack");
+        registry.register(c -> withTarget(c, "Talk to who?", Main::talkTo), "talk");
+        registry.register(c -> withTarget(c, "Buy what?", Main::buyFromMerchant), "buy");
+        registry.register(c -> withTarget(c, "Equip what?", Main::equipItem), "equip");
+        registry.register(c -> withTarget(c, "Unequip what? (weapon or shield)", Main::unequipItem), "unequip");
+        registry.register(c -> gameOver = true, "quit", "exit");
+        registry.setUnknownHandler(c -> System.out.println("Unknown command. Type 'help' for a list of commands."));
+        return registry;
+    }
+
+    private static void withTarget(CommandLine command, String missingTargetPrompt, Consumer<String> action) {
+        if (command.hasArguments()) {
+            action.accept(command.token(1));
+        } else {
+            System.out.println(missingTargetPrompt);
         }
     }
 
@@ -195,11 +147,10 @@ public class Main {
     private static void lookAt(String targetName) {
         Room currentRoom = player.getCurrentRoom();
         // Check items on floor
-        for (Item item : currentRoom.getItemsOnFloor()) {
-            if (item.getName().equalsIgnoreCase(targetName)) {
-                System.out.println(item.getDescription());
-                return;
-            }
+        Item itemOnFloor = currentRoom.getItemOnFloorByName(targetName);
+        if (itemOnFloor != null) {
+            System.out.println(itemOnFloor.getDescription());
+            return;
         }
         // Check items in inventory
         Item itemInInv = player.getItemFromInventory(targetName);
@@ -216,23 +167,21 @@ public class Main {
             }
         }
         // Check chests
-        for (Chest chest : currentRoom.getChests()) {
-            if (chest.getName().equalsIgnoreCase(targetName)) {
-                System.out.println(chest.getDescription());
-                if (chest.isOpen() && !chest.getContents().isEmpty()) {
-                    System.out.println("It contains: " + chest.getContents().stream().map(Item::getName).collect(Collectors.joining(", ")));
-                } else if (chest.isOpen() && chest.getContents().isEmpty()) {
-                    System.out.println("It is empty.");
-                }
-                return;
+        Chest chest = currentRoom.getChestByName(targetName);
+        if (chest != null) {
+            System.out.println(chest.getDescription());
+            if (chest.isOpen() && !chest.getContents().isEmpty()) {
+                System.out.println("It contains: " + chest.getContents().stream().map(Item::getName).collect(Collectors.joining(", ")));
+            } else if (chest.isOpen() && chest.getContents().isEmpty()) {
+                System.out.println("It is empty.");
             }
+            return;
         }
         // Check living beings
-        for (LivingBeing lb : currentRoom.getLivingBeings()) {
-            if (lb.getName().equalsIgnoreCase(targetName)) {
-                System.out.println(lb.getDescription() + " (HP: " + lb.getHealthPoints() + "/" + lb.getMaxHealthPoints() + ")");
-                return;
-            }
+        LivingBeing lb = currentRoom.getAnyLivingBeingByName(targetName);
+        if (lb != null) {
+            System.out.println(lb.getDescription() + " (HP: " + lb.getHealthPoints() + "/" + lb.getMaxHealthPoints() + ")");
+            return;
         }
         System.out.println("You don't see '" + targetName + "' here.");
     }
@@ -306,7 +255,7 @@ public class Main {
             }
             executableItem.execute(player, target);
             if (itemToUse instanceof Medicine) { // Consumables are removed after use
-                player.getInventory().remove(itemToUse);
+                player.removeFromInventory(itemToUse);
             }
         } else if (itemToUse instanceof Key || itemToUse instanceof Crowbar) {
             // Handle key/crowbar on door/chest
@@ -333,12 +282,7 @@ public class Main {
         }
         // Check chests if no door found
         if (targetActivatable == null) {
-            for (Chest chest : currentRoom.getChests()) {
-                if (chest.getName().equalsIgnoreCase(activatableName)) {
-                    targetActivatable = chest;
-                    break;
-                }
-            }
+            targetActivatable = currentRoom.getChestByName(activatableName);
         }
 
         if (targetActivatable == null) {
@@ -1,14 +1,22 @@
 package com.OOP;
 
+import com.OOP.ai.WorldTickScheduler;
+import com.OOP.command.CommandLine;
+import com.OOP.command.CommandRegistry;
 import com.OOP.interfaces.Activatable;
 import com.OOP.interfaces.Executable;
 import com.OOP.model.core.*;
 import com.OOP.model.entities.*;
 import com.OOP.model.items.*;
 import com.OOP.model.interactables.Chest;
+import com.OOP.persistence.CommandJournal;
+import com.OOP.utils.GameConsole;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -20,12 +28,115 @@ public class MainGameLogicController {
     private Consumer<String> outputConsumer;
     private Runnable statusUpdater;
     private boolean gameOver = false;
+    private final CommandRegistry commands;
+    private boolean describeRoomAfterCommand = true; // Batch/headless runs turn this off
+    private CommandJournal journal; // Every accepted action is appended here first (null = not journaled)
+    private final WorldTickScheduler ai; // Enemy turns in the player's room, wandering in rooms nearby
+    private static final Map<Integer, ForkJoinPool> AI_POOLS = new ConcurrentHashMap<>(); // By size, see aiPool()
 
     public MainGameLogicController(World world, Player player, Consumer<String> outputConsumer, Runnable statusUpdater) {
         this.world = world;
         this.player = player;
         this.outputConsumer = outputConsumer;
         this.statusUpdater = statusUpdater;
+        this.commands = new CommandRegistry();
+        this.ai = new WorldTickScheduler(world, Integer.getInteger("game.ai.radius", WorldTickScheduler.DEFAULT_INTEREST_RADIUS),
+                aiPool(Integer.getInteger("game.ai.threads", 1)));
+        registerCommands();
+    }
+
+    private void registerCommands() {
+        commands.register(c -> showHelp(), "help");
+        commands.register(c -> player.viewInventory(), "i", "inv", "inventory");
+        commands.register(c -> {
+            if (!c.hasArguments()) { // "look" by itself
+                outputConsumer.accept(player.getCurrentRoom().getFullDescription());
+            } else { // "look health potion" or "look cell door"
+                lookAt(c.arguments()); // Pass the full argument string
+            }
+        }, "look");
+        commands.register(c -> withArguments(c, "Go where? (e.g., go north)", this::movePlayer), "go", "move");
+        commands.register(c -> withArguments(c, "Travel where? (e.g., travel armory)", this::travelTo), "travel");
+        commands.register(c -> withArguments(c, "Take what?", this::takeItem), "take", "get");
+        commands.register(c -> withArguments(c, "Drop what?", player::dropItem), "drop");
+        commands.register(c -> {
+            if (!c.hasArguments()) {
+                outputConsumer.accept("Use what? (e.g. use potion, use key on door)");
+                return;
+            }
+            // "use potion", "use key on door" or "use cell key on cell door"
+            int on = c.clauseIndex("on");
+            if (on != -1) {
+                useItem(c.slice(1, on), c.rest(on + 1));
+            } else {
+                useItem(c.arguments(), null);
+            }
+        }, "use");
+        commands.register(c -> {
+            if (!c.hasArguments()) {
+                outputConsumer.accept("Open what? (e.g. open door, open chest with key)");
+                return;
+            }
+            // "open cell door" or "open chest with key"
+            int with = c.clauseIndex("with");
+            if (with != -1) {
+                openActivatable(c.slice(1, with), c.rest(with + 1));
+            } else {
+                openActivatable(c.arguments(), null);
+            }
+        }, "open");
+        commands.register(c -> withArguments(c, "Attack who?", this::attackTarget), "attack");
+        commands.register(c -> withArguments(c, "Talk to who?", this::talkTo), "talk");
+        commands.register(c -> withArguments(c, "Buy what?", this::buyFromMerchant), "buy");
+        commands.register(c -> withArguments(c, "Equip what?", this::equipItem), "equip");
+        commands.register(c -> withArguments(c, "Unequip what? (weapon or shield)", this::unequipItem), "unequip");
+        commands.register(c -> {
+            outputConsumer.accept("Quitting game...");
+            gameOver = true;
+            // GUI will handle actual closing, or you can call System.exit(0) after a delay
+            // For now, just stops processing further commands.
+        }, "quit", "exit");
+        commands.setUnknownHandler(c -> outputConsumer.accept("Unknown command. Type 'help' for a list of commands."));
+    }
+
+    // Runs the action with everything after the verb, or prints the prompt if there is nothing
+    private void withArguments(CommandLine command, String missingArgumentPrompt, Consumer<String> action) {
+        if (command.hasArguments()) {
+            action.accept(command.arguments());
+        } else {
+            outputConsumer.accept(missingArgumentPrompt);
+        }
+    }
+
+    // 1 = rooms are updated on the game thread, 0 = the common pool, more = a pool of that size,
+    // created once per size and shared by every controller asking for it (journal replays included).
+    // Its workers are daemon threads that die off when idle, so it is never shut down.
+    private static ForkJoinPool aiPool(int threads) {
+        if (threads == 0) return ForkJoinPool.commonPool();
+        if (threads < 2) return null;
+        return AI_POOLS.computeIfAbsent(threads, ForkJoinPool::new);
+    }
+
+    public WorldTickScheduler getScheduler() {
+        return ai;
+    }
+
+    public CommandRegistry getCommands() {
+        return commands;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    // Whether every command ends by printing the full room description (the interactive default)
+    public void setDescribeRoomAfterCommand(boolean describeRoomAfterCommand) {
+        this.describeRoomAfterCommand = describeRoomAfterCommand;
+    }
+
+    // Journals every action accepted from now on; pass null to stop
+    public void setJournal(CommandJournal journal) {
+        this.journal = journal;
     }
 
     // *** ADD THIS METHOD ***
@@ -44,153 +155,76 @@ public class MainGameLogicController {
     public void processInput(String input) {
         if (gameOver) return;
         // We no longer print the command here as GUI does it
+        if (journal != null) journal.append(CommandJournal.COMMAND, input); // Write-ahead: logged before it runs
 
-        // --- Copy and adapt command processing from your original Main.java ---
-        String command = input.trim().toLowerCase();
-        String[] parts = command.split("\\s+", 2); // Split into command and the rest
-        String action = parts[0];
-        String arguments = parts.length > 1 ? parts[1] : null;
-
-        switch (action) {
-            case "help":
-                showHelp();
-                break;
-            case "i":
-            case "inv":
-            case "inventory":
-                player.viewInventory(); // This method takes no arguments
-                break;
-            case "look":
-                if (arguments == null) { // "look" by itself
-                    outputConsumer.accept(player.getCurrentRoom().getFullDescription());
-                } else { // "look health potion" or "look cell door"
-                    lookAt(arguments); // Pass the full argument string
-                }
-                break;
-            case "go":
-            case "move":
-                if (arguments != null) { // "go north"
-                    movePlayer(arguments); // 'arguments' is the direction
-                } else {
-                    outputConsumer.accept("Go where? (e.g., go north)");
-                }
-                break;
-            case "take":
-            case "get":
-                if (arguments != null) { // "take health potion"
-                    takeItem(arguments); // 'arguments' is "health potion"
-                } else {
-                    outputConsumer.accept("Take what?");
-                }
-                break;
-            case "drop":
-                if (arguments != null) { // "drop rusty sword"
-                    player.dropItem(arguments);
-                } else {
-                    outputConsumer.accept("Drop what?");
-                }
-                break;
-            // ... (inventory is fine) ...
-            case "use":
-                if (arguments != null) { // arguments could be "potion" or "key on door" or "cell key on cell door"
-                    // Need more sophisticated parsing for "use X on Y"
-                    String itemName;
-                    String onTargetName = null;
-                    if (arguments.contains(" on ")) {
-                        String[] useParts = arguments.split("\\s+on\\s+", 2);
-                        itemName = useParts[0].trim();
-                        if (useParts.length > 1) {
-                            onTargetName = useParts[1].trim();
-                        }
-                    } else {
-                        itemName = arguments.trim();
-                    }
-                    useItem(itemName, onTargetName);
-                } else {
-                    outputConsumer.accept("Use what? (e.g. use potion, use key on door)");
-                }
-                break;
-            case "open":
-                if (arguments != null) { // arguments could be "cell door" or "chest with key"
-                    // Need more sophisticated parsing for "open X with Y"
-                    String activatableName;
-                    String withItemName = null;
-                    if (arguments.contains(" with ")) {
-                        String[] openParts = arguments.split("\\s+with\\s+", 2);
-                        activatableName = openParts[0].trim();
-                        if (openParts.length > 1) {
-                            withItemName = openParts[1].trim();
-                        }
-                    } else {
-                        activatableName = arguments.trim();
-                    }
-                    openActivatable(activatableName, withItemName);
-                } else {
-                    outputConsumer.accept("Open what? (e.g. open door, open chest with key)");
-                }
-                break;
-            case "attack":
-                if (arguments != null) { // "attack grumpy goblin"
-                    attackTarget(arguments);
-                } else {
-                    outputConsumer.accept("Attack who?");
-                }
-                break;
-            case "talk":
-                if (arguments != null) { // "talk bob the merchant"
-                    talkTo(arguments);
-                } else {
-                    outputConsumer.accept("Talk to who?");
-                }
-                break;
-            case "buy":
-                if (arguments != null) { // "buy fine sword"
-                    buyFromMerchant(arguments);
-                } else {
-                    outputConsumer.accept("Buy what?");
-                }
-                break;
-            case "equip":
-                if(arguments != null) { // "equip rusty sword"
-                    equipItem(arguments);
-                } else {
-                    outputConsumer.accept("Equip what?");
-                }
-                break;
-            case "unequip":
-                if(arguments != null) { // "unequip weapon" or "unequip rusty sword"
-                    unequipItem(arguments);
-                } else {
-                    outputConsumer.accept("Unequip what? (weapon or shield)");
-                }
-                break;
-            case "quit":
-            case "exit":
-                outputConsumer.accept("Quitting game...");
-                gameOver = true;
-                // GUI will handle actual closing, or you can call System.exit(0) after a delay
-                // For now, just stops processing further commands.
-                break;
-            default:
-                outputConsumer.accept("Unknown command. Type 'help' for a list of commands.");
-        }
+        // Verbs are dispatched through the command registry built in registerCommands()
+        commands.execute(input);
 
-        // After processing player input, handle enemy turns and check game over
-        if (!gameOver) {
-            handleEnemyTurns();
-            if (player.getHealthPoints() <= 0) {
-                // Player.die() prints a message
-                outputConsumer.accept("Your journey ends here.");
-                gameOver = true;
-            }
-        }
+        // After processing player input, run a world tick (enemy turns) and check game over
+        worldTick(true);
 
         // Always update room description and status after an action
-        if (!gameOver) {
+        if (!gameOver && describeRoomAfterCommand) {
             outputConsumer.accept("\n-----------------------------------");
             outputConsumer.accept(player.getCurrentRoom().getFullDescription());
         }
         statusUpdater.run(); // Update HP, Gold, Room name, button states etc.
+        world.trimResidentRooms(); // Safe point for a paged world: nothing holds a room between commands
+        if (journal != null) journal.actionApplied();
+    }
+
+    // One world tick after every player action, typed or direct, so a replayed journal ticks the same way.
+    // Only typed commands give the enemies in the player's room their turn, as they always have.
+    private void worldTick(boolean playerRoomTurn) {
+        if (gameOver) return;
+        if (playerRoomTurn) ai.tick(); else ai.tickWithoutPlayerTurn();
+        if (player.getHealthPoints() <= 0) {
+            // Player.die() prints a message
+            outputConsumer.accept("Your journey ends here.");
+            gameOver = true;
+        }
+    }
+
+    // Rest of a direct action: a world tick for the rooms around (no enemy turn) and the same safe point as a command
+    private void finishDirectAction() {
+        worldTick(false);
+        statusUpdater.run();
+        world.trimResidentRooms();
+        if (journal != null) journal.actionApplied();
+    }
+
+    // --- Direct map actions (GUI keys). They bypass the text commands, so they are journaled here too. ---
+
+    // Steps the player to a tile in the current room; the caller has already checked it is walkable
+    public void movePlayerTo(int tileX, int tileY) {
+        if (gameOver) return;
+        if (journal != null) journal.append(CommandJournal.MOVE, tileX + " " + tileY);
+        player.setTileCoordinates(tileX, tileY);
+        finishDirectAction();
+    }
+
+    // Picks up the item lying under the player, or returns null if there is none
+    public Item takeItemUnderPlayer() {
+        Room room = player.getCurrentRoom();
+        Item item = room.getItemAt(player.getTileX(), player.getTileY());
+        if (gameOver || item == null) return null;
+        if (journal != null) journal.append(CommandJournal.TAKE_FLOOR, "");
+        player.pickUpItem(item);
+        room.removeItem(item);
+        finishDirectAction();
+        return item;
+    }
+
+    // Takes the first item from the open chest under the player, or returns null
+    public Item takeFromChestUnderPlayer() {
+        Chest chest = player.getCurrentRoom().getChestAt(player.getTileX(), player.getTileY());
+        if (gameOver || chest == null || !chest.isOpen() || chest.getContents().isEmpty()) return null;
+        if (journal != null) journal.append(CommandJournal.TAKE_CHEST, "");
+        Item item = chest.getContents().get(0);
+        player.pickUpItem(item);
+        chest.getContents().remove(item);
+        finishDirectAction();
+        return item;
     }
 
 
@@ -203,6 +237,7 @@ public class MainGameLogicController {
         outputConsumer.accept("  look                      - Describe the current room.");
         outputConsumer.accept("  look <object/npc/door>    - Describe something specific.");
         outputConsumer.accept("  go/move <direction>       - Move in a direction (e.g., go north).");
+        outputConsumer.accept("  travel <room_name>        - Walk through unlocked doors to a room you name.");
         outputConsumer.accept("  take/get <item_name>      - Pick up an item from the floor or an open chest.");
         outputConsumer.accept("  drop <item_name>          - Drop an item from your inventory.");
         outputConsumer.accept("  inventory/inv/i           - View your inventory and gold.");
@@ -219,11 +254,10 @@ public class MainGameLogicController {
     private void lookAt(String targetName) {
         Room currentRoom = player.getCurrentRoom();
         // Check items on floor
-        for (Item item : currentRoom.getItemsOnFloor()) {
-            if (item.getName().equalsIgnoreCase(targetName)) {
-                outputConsumer.accept(item.getDescription());
-                return;
-            }
+        Item itemOnFloor = currentRoom.getItemOnFloorByName(targetName);
+        if (itemOnFloor != null) {
+            outputConsumer.accept(itemOnFloor.getDescription());
+            return;
         }
         // Check items in inventory
         Item itemInInv = player.getItemFromInventory(targetName);
@@ -240,23 +274,21 @@ public class MainGameLogicController {
             }
         }
         // Check chests
-        for (Chest chest : currentRoom.getChests()) {
-            if (chest.getName().equalsIgnoreCase(targetName)) {
-                outputConsumer.accept(chest.getDescription());
-                if (chest.isOpen() && !chest.getContents().isEmpty()) {
-                    outputConsumer.accept("It contains: " + chest.getContents().stream().map(Item::getName).collect(Collectors.joining(", ")));
-                } else if (chest.isOpen() && chest.getContents().isEmpty()) {
-                    outputConsumer.accept("It is empty.");
-                }
-                return;
+        Chest chest = currentRoom.getChestByName(targetName);
+        if (chest != null) {
+            outputConsumer.accept(chest.getDescription());
+            if (chest.isOpen() && !chest.getContents().isEmpty()) {
+                outputConsumer.accept("It contains: " + chest.getContents().stream().map(Item::getName).collect(Collectors.joining(", ")));
+            } else if (chest.isOpen() && chest.getContents().isEmpty()) {
+                outputConsumer.accept("It is empty.");
             }
+            return;
         }
         // Check living beings
-        for (LivingBeing lb : currentRoom.getLivingBeings()) {
-            if (lb.getName().equalsIgnoreCase(targetName)) {
-                outputConsumer.accept(lb.getDescription() + " (HP: " + lb.getHealthPoints() + "/" + lb.getMaxHealthPoints() + ")");
-                return;
-            }
+        LivingBeing lb = currentRoom.getAnyLivingBeingByName(targetName);
+        if (lb != null) {
+            outputConsumer.accept(lb.getDescription() + " (HP: " + lb.getHealthPoints() + "/" + lb.getMaxHealthPoints() + ")");
+            return;
         }
         outputConsumer.accept("You don't see '" + targetName + "' here.");
     }
@@ -284,20 +316,56 @@ public class MainGameLogicController {
         }
     }
 
-    private void takeItem(String itemName) {
+    // Follows the shortest route through unlocked doors, stopping early in a room with a living enemy
+    private void travelTo(String roomName) {
+        RoutePlanner planner = world.getRoutePlanner();
+        String targetId = planner.resolveRoomId(roomName);
+        if (targetId == null) {
+            outputConsumer.accept("You don't know of any place called '" + roomName + "'.");
+            return;
+        }
         Room currentRoom = player.getCurrentRoom();
-        Item itemToTake = null; // Initialize
-
-        // First, try to find the item directly on the floor
-        for (Item item : currentRoom.getItemsOnFloor()) {
-            if (item.getName().equalsIgnoreCase(itemName)) {
-                itemToTake = item;
+        List<Door> route = planner.findRoute(currentRoom.getId(), targetId);
+        if (route == null) {
+            outputConsumer.accept("You can't find a way there through unlocked doors.");
+            return;
+        }
+        if (route.isEmpty()) {
+            outputConsumer.accept("You are already there.");
+            return;
+        }
+        int doorsPassed = 0;
+        String stoppedBy = null;
+        for (Door door : route) {
+            Room nextRoom = door.getOppositeRoom(currentRoom);
+            if (door.isLocked() || nextRoom == null) { // Locked some way the planner was not told about
+                planner.lockChanged(door.getLock());
+                stoppedBy = "the " + door.getName() + " is locked";
+                break;
+            }
+            player.setCurrentRoom(nextRoom);
+            currentRoom = nextRoom;
+            doorsPassed++;
+            LivingBeing enemy = currentRoom.getLivingBeings().stream()
+                    .filter(lb -> lb instanceof Enemy && lb.getHealthPoints() > 0)
+                    .findFirst()
+                    .orElse(null);
+            if (enemy != null && doorsPassed < route.size()) {
+                stoppedBy = enemy.getName() + " blocks your way";
                 break;
             }
         }
+        outputConsumer.accept("You travel through " + doorsPassed + (doorsPassed == 1 ? " door" : " doors")
+                + " to the " + currentRoom.getName() + (stoppedBy != null ? ", where " + stoppedBy + "." : "."));
+    }
+
+    private void takeItem(String itemName) {
+        Room currentRoom = player.getCurrentRoom();
+        // First, try to find the item directly on the floor
+        Item itemToTake = currentRoom.getItemOnFloorByName(itemName);
 
         if (itemToTake != null) {
-            currentRoom.removeItem(itemToTake.getName()); // Remove from room
+            currentRoom.removeItem(itemToTake); // Remove from room
             player.pickUpItem(itemToTake); // This method handles System.out.println
             return;
         }
@@ -339,7 +407,7 @@ public class MainGameLogicController {
             }
             executableItem.execute(player, target); // Assumes execute prints its own messages
             if (itemToUse instanceof Medicine) {
-                player.getInventory().remove(itemToUse);
+                player.removeFromInventory(itemToUse);
             }
         } else if (itemToUse instanceof Key || itemToUse instanceof Crowbar) {
             if (onTargetName == null) {
@@ -363,12 +431,7 @@ public class MainGameLogicController {
             }
         }
         if (targetActivatable == null) {
-            for (Chest chest : currentRoom.getChests()) {
-                if (chest.getName().equalsIgnoreCase(activatableName)) {
-                    targetActivatable = chest;
-                    break;
-                }
-            }
+            targetActivatable = currentRoom.getChestByName(activatableName);
         }
 
         if (targetActivatable == null) {
@@ -412,26 +475,12 @@ public class MainGameLogicController {
 
     // In MainGameLogicController.java -> attackTarget(String targetNameFromInput)
     private void attackTarget(String targetNameFromInput) {
-        LivingBeing target = null;
         String searchName = targetNameFromInput.replace("_", " "); // Convert underscores back to spaces
 
-        // Try exact match first (case-insensitive)
-        for (LivingBeing lb : player.getCurrentRoom().getLivingBeings()) {
-            if (lb.getName().equalsIgnoreCase(searchName) && lb instanceof Enemy) {
-                target = lb;
-                break;
-            }
-        }
-
-        // If no exact match, maybe a partial match or if input was just "goblin" for "Grumpy Goblin"
-        if (target == null) {
-            for (LivingBeing lb : player.getCurrentRoom().getLivingBeings()) {
-                if (lb.getName().toLowerCase().contains(searchName.toLowerCase()) && lb instanceof Enemy) {
-                    target = lb;
-                    System.out.println("(Interpreted target as: " + lb.getName() + ")"); // Optional feedback
-                    break;
-                }
-            }
+        // Exact match first (case-insensitive), then a partial match, e.g. "goblin" for "Grumpy Goblin"
+        LivingBeing target = player.getCurrentRoom().findLivingBeing(searchName, lb -> lb instanceof Enemy);
+        if (target != null && !target.getName().equalsIgnoreCase(searchName)) {
+            GameConsole.println("(Interpreted target as: " + target.getName() + ")"); // Optional feedback
         }
 
 
@@ -441,30 +490,7 @@ public class MainGameLogicController {
         }
         // ... (rest of attack logic: check if friendly, player.attack(target), etc.) ...
         player.attack(target);
-        // Enemy retaliation is handled in handleEnemyTurns(), which should be called after player's action.
-    }
-
-    private void handleEnemyTurns() {
-        Room currentRoom = player.getCurrentRoom();
-        List<LivingBeing> beingsInRoom = new ArrayList<>(currentRoom.getLivingBeings());
-
-        for (LivingBeing being : beingsInRoom) {
-            if (player.getHealthPoints() <= 0) break;
-
-            if (being instanceof Enemy && being.getHealthPoints() > 0) {
-                // outputConsumer.accept(being.getName() + " retaliates!"); // attack method prints messages
-                being.attack(player);
-            } else if (being instanceof Teammate && being.getHealthPoints() > 0) {
-                Teammate teammate = (Teammate) being;
-                LivingBeing enemyTarget = currentRoom.getLivingBeings().stream()
-                        .filter(lb -> lb instanceof Enemy && lb.getHealthPoints() > 0)
-                        .findFirst()
-                        .orElse(null);
-                if (enemyTarget != null) {
-                    teammate.assist(enemyTarget); // assist prints its own messages
-                }
-            }
-        }
+        // Enemy retaliation happens in the world tick (WorldTickScheduler) after the player's action.
     }
 
     private void talkTo(String npcName) {
@@ -0,0 +1,309 @@
+package com.OOP.ai;
+
+import com.OOP.events.EventBus;
+import com.OOP.events.GameEvent;
+import com.OOP.model.core.Door;
+import com.OOP.model.core.Room;
+import com.OOP.model.core.World;
+import com.OOP.model.entities.Enemy;
+import com.OOP.model.entities.LivingBeing;
+import com.OOP.model.entities.Merchant;
+import com.OOP.model.entities.NPC;
+import com.OOP.model.entities.Player;
+import com.OOP.model.entities.Teammate;
+import com.OOP.utils.GameRandom;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs the AI of every Enemy, Teammate and NPC, one world tick at a time (the controller ticks
+ * once per player action), but only in the rooms within {@code interestRadius} door hops of
+ * the player. All other rooms sleep.
+ * <p>
+ * In the player's room it is the usual turn: enemies attack the player and teammates help
+ * against the first enemy. In the other active rooms beings wander about a tile at a time.
+ * Each room remembers the last tick it ran ({@link Room#getLastSimulatedTick()}); when a
+ * sleeping room becomes active it first catches up on the ticks it missed, at most
+ * {@link #MAX_CATCH_UP_TICKS} of them, since after that many random steps one more makes no
+ * difference. So a tick costs time per active room, however big the world is.
+ * <p>
+ * Now and then an enemy or NPC leaves through an unlocked door of its room (not while catching up).
+ * <p>
+ * With a {@link ForkJoinPool} the rooms other than the player's are updated in parallel, a few
+ * rooms per task. A room's update only touches that room: its events are captured
+ * ({@link EventBus#capture}) and beings leaving are only noted. The merge then runs on the
+ * calling thread, room by room in active-list order: it publishes the captured events and moves
+ * the leavers into their new rooms (at the door's entry point, if it is free). Wandering draws
+ * nothing from the world's Random; each step hashes (room, tick, being). So the same world and
+ * seed give the same result with any number of threads, and a caught-up tick makes the moves it
+ * would have made on time. The world tick and each room's last tick are saved with the world,
+ * so journal replays stay exact.
+ * In a paged world the active rooms stay resident; keep the resident budget above their count.
+ */
+public class WorldTickScheduler {
+    public static final int DEFAULT_INTEREST_RADIUS = 2;
+    public static final int MAX_CATCH_UP_TICKS = 16;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int[] STEP_X = {0, 1, 0, -1};
+    private static final int[] STEP_Y = {-1, 0, 1, 0};
+    private static final int LEAVE_ODDS = 64;           // An enemy or NPC leaves its room about once in this many ticks
+    private static final int ROOMS_PER_TASK = 4;
+    private static final int MIN_PARALLEL_ROOMS = 8;    // Fewer rooms than this are not worth the pool
+
+    private final World world;
+    private final int interestRadius;
+    private final ForkJoinPool pool; // null = update rooms one after another on the calling thread
+    private final List<String> activeRoomIds = new ArrayList<>(); // Player's room first
+    private String activeCenterId; // Room the active set was found from
+
+    // Stats
+    private long ticks;
+    private long roomTicks;
+    private long catchUpTicks;
+    private long moves;
+    private long departures;
+
+    public WorldTickScheduler(World world) {
+        this(world, DEFAULT_INTEREST_RADIUS);
+    }
+
+    public WorldTickScheduler(World world, int interestRadius) {
+        this(world, interestRadius, null);
+    }
+
+    public WorldTickScheduler(World world, int interestRadius, ForkJoinPool pool) {
+        if (interestRadius < 0) throw new IllegalArgumentException("interestRadius must not be negative");
+        this.world = world;
+        this.interestRadius = interestRadius;
+        this.pool = pool;
+    }
+
+    // A being that decided to go through a door; applied in the merge
+    private record Departure(LivingBeing being, Door door) {}
+
+    // What updating one room produced, for the merge
+    private static final class RoomUpdate {
+        List<GameEvent> events = List.of();
+        final List<Departure> departures = new ArrayList<>();
+        int caughtUp;
+        int moves;
+    }
+
+    // One world tick: the player's room takes its turn, then the other active rooms are updated and merged
+    public void tick() {
+        tick(true);
+    }
+
+    // A world tick in which the player's room only catches up: for small actions like a one-tile step,
+    // which never gave enemies a turn. The rooms around still move on.
+    public void tickWithoutPlayerTurn() {
+        tick(false);
+    }
+
+    private void tick(boolean playerTurn) {
+        long now = world.advanceTick();
+        ticks++;
+        Player player = world.getPlayer();
+        Room center = player != null ? player.getCurrentRoom() : null;
+        if (center == null) return;
+        if (!center.getId().equals(activeCenterId)) findActiveRooms(center);
+
+        RoomUpdate centerUpdate = new RoomUpdate();
+        catchUp(center, now, centerUpdate);
+        if (playerTurn) playerRoomTurn(center, player);
+        center.setLastSimulatedTick(now);
+        roomTicks++;
+        catchUpTicks += centerUpdate.caughtUp;
+        moves += centerUpdate.moves;
+
+        // Rooms are looked up here, on the calling thread: in a paged world that may load them
+        List<Room> others = new ArrayList<>(activeRoomIds.size());
+        for (int i = 1; i < activeRoomIds.size(); i++) {
+            Room room = world.getRoom(activeRoomIds.get(i));
+            if (room != null) others.add(room);
+        }
+        RoomUpdate[] updates = new RoomUpdate[others.size()];
+        if (pool == null || others.size() < MIN_PARALLEL_ROOMS) {
+            for (int i = 0; i < updates.length; i++) updates[i] = updateRoom(others.get(i), now);
+        } else {
+            pool.invoke(new UpdateTask(others, updates, now, 0, updates.length));
+        }
+        for (RoomUpdate update : updates) merge(update);
+    }
+
+    // Runs on any thread: touches nothing but this room
+    private RoomUpdate updateRoom(Room room, long now) {
+        RoomUpdate update = new RoomUpdate();
+        update.events = world.getEventBus().capture(() -> {
+            catchUp(room, now, update);
+            wander(room, now, update, update.departures);
+        });
+        room.setLastSimulatedTick(now);
+        return update;
+    }
+
+    private final class UpdateTask extends RecursiveAction {
+        private final List<Room> rooms;
+        private final RoomUpdate[] updates;
+        private final long now;
+        private final int from;
+        private final int to;
+
+        UpdateTask(List<Room> rooms, RoomUpdate[] updates, long now, int from, int to) {
+            this.rooms = rooms;
+            this.updates = updates;
+            this.now = now;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= ROOMS_PER_TASK) {
+                for (int i = from; i < to; i++) updates[i] = updateRoom(rooms.get(i), now);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new UpdateTask(rooms, updates, now, from, mid), new UpdateTask(rooms, updates, now, mid, to));
+        }
+    }
+
+    private void merge(RoomUpdate update) {
+        EventBus bus = world.getEventBus();
+        for (GameEvent event : update.events) bus.publish(event);
+        for (Departure departure : update.departures) leave(departure.being(), departure.door());
+        roomTicks++;
+        catchUpTicks += update.caughtUp;
+        moves += update.moves;
+    }
+
+    // Moves the being through the door if the tile it would come out on is free
+    private void leave(LivingBeing being, Door door) {
+        Room from = being.getCurrentRoom();
+        if (from == null || being.getHealthPoints() <= 0) return;
+        Room to = door.getOppositeRoom(from);
+        if (to == null) return;
+        Point entry = door.getEntryPointForRoom(to);
+        if (entry == null || !to.isFreeTile(entry.x, entry.y)) return;
+        being.setCurrentRoom(to);
+        being.setTileCoordinates(entry);
+        departures++;
+    }
+
+    // Breadth-first over exits up to interestRadius hops; neighbours come from door ids, so rooms
+    // on the edge of the radius are not loaded just to be listed
+    private void findActiveRooms(Room center) {
+        activeRoomIds.clear();
+        activeCenterId = center.getId();
+        Set<String> seen = new HashSet<>();
+        seen.add(center.getId());
+        activeRoomIds.add(center.getId());
+        int levelStart = 0;
+        for (int hop = 1; hop <= interestRadius; hop++) {
+            int levelEnd = activeRoomIds.size();
+            for (int i = levelStart; i < levelEnd; i++) {
+                Room room = i == 0 ? center : world.getRoom(activeRoomIds.get(i));
+                if (room == null) continue;
+                for (Door door : room.getExits().values()) {
+                    String other = room.getId().equals(door.getRoom1Id()) ? door.getRoom2Id() : door.getRoom1Id();
+                    if (other != null && seen.add(other)) activeRoomIds.add(other);
+                }
+            }
+            levelStart = levelEnd;
+        }
+    }
+
+    private void catchUp(Room room, long now, RoomUpdate update) {
+        long from = Math.max(room.getLastSimulatedTick() + 1, now - MAX_CATCH_UP_TICKS);
+        for (long tick = from; tick < now; tick++) {
+            wander(room, tick, update, null);
+            update.caughtUp++;
+        }
+    }
+
+    // The turn that used to be MainGameLogicController.handleEnemyTurns
+    private void playerRoomTurn(Room room, Player player) {
+        List<LivingBeing> beingsInRoom = new ArrayList<>(room.getLivingBeings()); // Beings die during the turn
+
+        for (LivingBeing being : beingsInRoom) {
+            if (player.getHealthPoints() <= 0) break;
+
+            if (being instanceof Enemy && being.getHealthPoints() > 0) {
+                being.attack(player); // attack method prints messages
+            } else if (being instanceof Teammate && being.getHealthPoints() > 0) {
+                Teammate teammate = (Teammate) being;
+                LivingBeing enemyTarget = room.getLivingBeings().stream()
+                        .filter(lb -> lb instanceof Enemy && lb.getHealthPoints() > 0)
+                        .findFirst()
+                        .orElse(null);
+                if (enemyTarget != null) {
+                    teammate.assist(enemyTarget); // assist prints its own messages
+                }
+            }
+        }
+    }
+
+    // Each living non-player being may take one step to a free neighbouring floor tile, or decide
+    // to leave through a door (only if departures is given)
+    private void wander(Room room, long tick, RoomUpdate update, List<Departure> departures) {
+        List<LivingBeing> beings = room.getLivingBeings(); // Moving doesn't change the list
+        long roomHash = GameRandom.mix64(tick * GOLDEN_GAMMA ^ room.getId().hashCode());
+        for (int i = 0; i < beings.size(); i++) {
+            LivingBeing being = beings.get(i);
+            int restlessness = restlessness(being); // Moves on average once every 2^n ticks
+            if (restlessness < 0 || being.getHealthPoints() <= 0) continue;
+            long r = GameRandom.mix64(roomHash + (i + 1) * GOLDEN_GAMMA);
+            if (departures != null && !(being instanceof Teammate) && (r >>> 40) % LEAVE_ODDS == 0) {
+                Door door = pickExit(room, (int) (r >>> 16) & 0xFF);
+                if (door != null) {
+                    departures.add(new Departure(being, door));
+                    continue;
+                }
+            }
+            if ((r & ((1L << restlessness) - 1)) != 0) continue;
+            int direction = (int) (r >>> 32) & 3;
+            int x = being.getTileX() + STEP_X[direction];
+            int y = being.getTileY() + STEP_Y[direction];
+            if (room.isFreeTile(x, y)) {
+                being.setTileCoordinates(x, y);
+                update.moves++;
+            }
+        }
+    }
+
+    // One of the room's unlocked exits, picked by direction name so it doesn't depend on map order
+    private static Door pickExit(Room room, int choice) {
+        List<String> directions = new ArrayList<>();
+        for (Map.Entry<String, Door> exit : room.getExits().entrySet()) {
+            if (!exit.getValue().isLocked()) directions.add(exit.getKey());
+        }
+        if (directions.isEmpty()) return null;
+        Collections.sort(directions);
+        return room.getExit(directions.get(choice % directions.size()));
+    }
+
+    // -1 = never moves on its own
+    private static int restlessness(LivingBeing being) {
+        if (being instanceof Player || being instanceof Merchant) return -1;
+        if (being instanceof Enemy || being instanceof Teammate) return 1;
+        if (being instanceof NPC) return 2;
+        return -1;
+    }
+
+    public int getActiveRoomCount() {
+        return activeRoomIds.size();
+    }
+
+    public String getStats() {
+        return String.format("%d ticks, %d room ticks (%.1f per tick), %d caught up, %d moves, %d room changes",
+                ticks, roomTicks, ticks == 0 ? 0.0 : (double) roomTicks / ticks, catchUpTicks, moves, departures);
+    }
+}
@@ -0,0 +1,466 @@
+package com.OOP.analysis;
+
+import com.OOP.model.core.Door;
+import com.OOP.model.core.Room;
+import com.OOP.model.core.World;
+import com.OOP.model.entities.Enemy;
+import com.OOP.model.entities.LivingBeing;
+import com.OOP.model.entities.Merchant;
+import com.OOP.model.entities.Player;
+import com.OOP.model.interactables.Chest;
+import com.OOP.model.interactables.Lock;
+import com.OOP.model.items.Crowbar;
+import com.OOP.model.items.Item;
+import com.OOP.model.items.Key;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Works out which rooms and items the player can get to from the start, following the
+ * door / lock / chest / loot graph: a lock opens once the player can hold one of its
+ * {@link Lock#getAcceptableKeyIds() keys}, or any {@link Crowbar} if it can be pried open.
+ * Floor items, the loot of living enemies and merchants' wares count as obtainable as soon as
+ * their room is reached (fights are assumed winnable and gold is not tracked). Chests open like
+ * doors. Locks that are already unlocked are open.
+ * <p>
+ * The search is a parallel fixpoint. First every room is boiled down to plain facts (items
+ * found there, its doors and chests with their locks), in parallel unless the world is paged.
+ * Then rooms are expanded a frontier at a time: each round the frontier is split over a
+ * fork-join pool and every room is checked against the keys held at the start of the round;
+ * merging the results picks up new keys, and a lock whose key (or the crowbar) turns up
+ * releases the doors and chests waiting on it. It ends when a round reaches nothing new.
+ * <p>
+ * Locks that stay shut between a reached room and an unreached one (or on a chest in a reached
+ * room) are reported as soft-locks, with where their keys are. A key lying behind the very
+ * lock it opens shows up as exactly that.
+ */
+public class ReachabilityAnalyzer {
+    private static final int TASK_THRESHOLD = 256; // Rooms per leaf task
+    private static final int MAX_REPORTED = 20;    // Per kind of problem, when printing
+
+    private final World world;
+    private final ForkJoinPool pool;
+
+    // Facts
+    private final List<RoomFacts> rooms = new ArrayList<>();
+    private final Map<String, Integer> roomIndex = new HashMap<>();
+    private final List<Lock> locks = new ArrayList<>();
+    private final Map<Lock, Integer> lockIndex = new IdentityHashMap<>();
+    private final Map<String, List<Integer>> locksByKeyId = new HashMap<>();
+    private final Map<String, Found> itemLocations = new HashMap<>(); // Item id -> where it is
+
+    // Fixpoint state
+    private boolean[] roomReached;
+    private boolean[] lockOpen;
+    private final Set<String> keysHeld = new HashSet<>();
+    private boolean crowbarHeld;
+    private final Set<String> itemsObtained = new HashSet<>();
+    private final Map<Integer, List<Waiting>> waitingOnLock = new HashMap<>();
+    private final ArrayDeque<Integer> locksToRelease = new ArrayDeque<>();
+    private int rounds;
+
+    // An item that can be picked up somewhere, and what it does for locks. The location text is
+    // only put together for reports: holder is e.g. "loot of goblin_1", null = lying on the floor
+    private record Found(String itemId, String roomId, String holder, boolean key, boolean crowbar) {
+        String location() {
+            if (roomId == null) return holder;
+            return roomId + " (" + (holder != null ? holder : "floor") + ")";
+        }
+    }
+
+    private record ChestFacts(String id, Lock lock, List<Found> contents) {} // lock null = open
+
+    private record DoorFacts(String id, Lock lock, int target) {}            // lock null = open
+
+    private record RoomFacts(String id, List<Found> items, List<DoorFacts> doors, List<ChestFacts> chests) {}
+
+    // A door (target room) or chest (contents) behind a lock that could not be opened yet
+    private record Waiting(int target, ChestFacts chest) {}
+
+    // What one frontier room (or range of rooms) gives in one round
+    private static final class RoundResult {
+        final List<Found> items = new ArrayList<>();
+        final List<Integer> reached = new ArrayList<>();
+        final List<Integer> blockedLocks = new ArrayList<>();
+        final List<Waiting> blocked = new ArrayList<>();
+
+        void addAll(RoundResult other) {
+            items.addAll(other.items);
+            reached.addAll(other.reached);
+            blockedLocks.addAll(other.blockedLocks);
+            blocked.addAll(other.blocked);
+        }
+    }
+
+    /** A lock that never opens although something reachable is behind it. */
+    public record SoftLock(String lockId, String guards, List<String> keyLocations) {
+        @Override
+        public String toString() {
+            String keys = keyLocations.isEmpty() ? "no key exists and it cannot be pried open"
+                    : "keys: " + String.join(", ", keyLocations);
+            return "Lock " + lockId + " on " + guards + " can never be opened (" + keys + ")";
+        }
+    }
+
+    /** Result of {@link #analyze()}. */
+    public record Report(int roomCount, int reachableRoomCount, List<String> unreachableRooms,
+                         List<String> unreachableItems, List<SoftLock> softLocks, int rounds) {
+        public boolean isClean() {
+            return unreachableRooms.isEmpty() && unreachableItems.isEmpty() && softLocks.isEmpty();
+        }
+
+        // One line per problem, at most MAX_REPORTED of each kind
+        public List<String> describe() {
+            List<String> lines = new ArrayList<>();
+            for (int i = 0; i < softLocks.size() && i < MAX_REPORTED; i++) lines.add(softLocks.get(i).toString());
+            if (softLocks.size() > MAX_REPORTED) lines.add("... and " + (softLocks.size() - MAX_REPORTED) + " more soft-locks");
+            if (!unreachableRooms.isEmpty()) {
+                lines.add(unreachableRooms.size() + " of " + roomCount + " rooms cannot be reached: "
+                        + String.join(", ", unreachableRooms.subList(0, Math.min(MAX_REPORTED, unreachableRooms.size())))
+                        + (unreachableRooms.size() > MAX_REPORTED ? ", ..." : ""));
+            }
+            if (!unreachableItems.isEmpty()) {
+                lines.add(unreachableItems.size() + " items cannot be obtained: "
+                        + String.join(", ", unreachableItems.subList(0, Math.min(MAX_REPORTED, unreachableItems.size())))
+                        + (unreachableItems.size() > MAX_REPORTED ? ", ..." : ""));
+            }
+            return lines;
+        }
+    }
+
+    public ReachabilityAnalyzer(World world) {
+        this(world, ForkJoinPool.commonPool());
+    }
+
+    public ReachabilityAnalyzer(World world, ForkJoinPool pool) {
+        this.world = world;
+        this.pool = pool;
+    }
+
+    /**
+     * Runs the analysis from the player's current room and inventory. In a paged world rooms are
+     * read one at a time (and trimmed again), so only rooms connected by doors to a resident
+     * room are seen. An analyzer runs once; make a new one to analyze again.
+     */
+    public Report analyze() {
+        if (roomReached != null) throw new IllegalStateException("This analyzer has already run");
+        Player player = world.getPlayer();
+        if (player == null || player.getCurrentRoom() == null) {
+            throw new IllegalStateException("The world has no player to start from");
+        }
+        collectFacts();
+        roomReached = new boolean[rooms.size()];
+        lockOpen = new boolean[locks.size()];
+        for (int l = 0; l < locks.size(); l++) lockOpen[l] = !locks.get(l).isLocked();
+
+        for (Item item : player.getInventory()) {
+            Found found = found(item, null, "the player's inventory");
+            itemLocations.putIfAbsent(found.itemId(), found);
+            obtain(found);
+        }
+        int start = roomIndex.get(player.getCurrentRoom().getId());
+        roomReached[start] = true;
+        List<Integer> frontier = new ArrayList<>(List.of(start));
+        releaseOpenedLocks(frontier);
+        while (!frontier.isEmpty()) {
+            rounds++;
+            int[] batch = frontier.stream().mapToInt(Integer::intValue).toArray();
+            RoundResult result = pool.invoke(new ExpandTask(batch, 0, batch.length));
+            frontier = merge(result);
+        }
+        return buildReport();
+    }
+
+    // --- Facts ---
+
+    private void collectFacts() {
+        List<Room> inMemory = new ArrayList<>(world.getRooms());
+        if (!world.isPaged()) {
+            for (Room room : inMemory) roomIndex.put(room.getId(), roomIndex.size());
+            Room[] array = inMemory.toArray(new Room[0]);
+            RoomFacts[] facts = new RoomFacts[array.length];
+            pool.invoke(new FactsTask(array, facts, 0, array.length));
+            Collections.addAll(rooms, facts);
+        } else {
+            // Discover rooms through door ids; only one room is needed at a time
+            List<String> ids = new ArrayList<>();
+            for (Room room : inMemory) indexRoom(room.getId(), ids);
+            for (int r = 0; r < ids.size(); r++) {
+                Room room = world.getRoom(ids.get(r));
+                if (room != null) {
+                    for (Door door : room.getExits().values()) {
+                        indexRoom(door.getRoom1Id(), ids);
+                        indexRoom(door.getRoom2Id(), ids);
+                    }
+                }
+                rooms.add(room != null ? factsOf(room) : new RoomFacts(ids.get(r), List.of(), List.of(), List.of()));
+                world.trimResidentRooms();
+            }
+        }
+        for (RoomFacts room : rooms) {
+            indexLocks(room);
+            recordLocations(room);
+        }
+        for (int l = 0; l < locks.size(); l++) {
+            for (String keyId : locks.get(l).getAcceptableKeyIds()) {
+                locksByKeyId.computeIfAbsent(keyId, k -> new ArrayList<>()).add(l);
+            }
+        }
+    }
+
+    private void indexRoom(String id, List<String> ids) {
+        if (id == null || roomIndex.containsKey(id)) return;
+        roomIndex.put(id, ids.size());
+        ids.add(id);
+    }
+
+    // Reads one room; safe to run for different rooms in parallel (only reads the room)
+    private RoomFacts factsOf(Room room) {
+        String where = room.getId();
+        List<Found> items = new ArrayList<>();
+        for (Item item : room.getItemsOnFloor()) items.add(found(item, where, null));
+        for (LivingBeing being : room.getLivingBeings()) {
+            if (being instanceof Enemy && being.getHealthPoints() > 0 && ((Enemy) being).getLoot() != null) {
+                items.add(found(((Enemy) being).getLoot(), where, "loot of " + being.getId()));
+            } else if (being instanceof Merchant) {
+                for (Item item : ((Merchant) being).getCatalog().keySet()) {
+                    items.add(found(item, where, "sold by " + being.getId()));
+                }
+            }
+        }
+        List<DoorFacts> doors = new ArrayList<>();
+        for (Door door : room.getExits().values()) {
+            String other = where.equals(door.getRoom1Id()) ? door.getRoom2Id() : door.getRoom1Id();
+            Integer target = roomIndex.get(other);
+            if (target != null) doors.add(new DoorFacts(door.getId(), door.getLock(), target));
+        }
+        List<ChestFacts> chests = new ArrayList<>();
+        for (Chest chest : room.getChests()) {
+            List<Found> contents = new ArrayList<>();
+            for (Item item : chest.getContents()) contents.add(found(item, where, "in " + chest.getId()));
+            Lock lock = chest.isOpen() ? null : chest.getLock();
+            chests.add(new ChestFacts(chest.getId(), lock, contents));
+        }
+        return new RoomFacts(where, items, doors, chests);
+    }
+
+    private void indexLocks(RoomFacts room) {
+        for (DoorFacts door : room.doors()) indexLock(door.lock());
+        for (ChestFacts chest : room.chests()) indexLock(chest.lock());
+    }
+
+    private void indexLock(Lock lock) {
+        if (lock == null || lockIndex.containsKey(lock)) return;
+        lockIndex.put(lock, locks.size());
+        locks.add(lock);
+    }
+
+    private void recordLocations(RoomFacts room) {
+        for (Found item : room.items()) itemLocations.putIfAbsent(item.itemId(), item);
+        for (ChestFacts chest : room.chests()) {
+            for (Found item : chest.contents()) itemLocations.putIfAbsent(item.itemId(), item);
+        }
+    }
+
+    private static Found found(Item item, String roomId, String holder) {
+        return new Found(item.getId(), roomId, holder, item instanceof Key, item instanceof Crowbar);
+    }
+
+    // --- Fixpoint ---
+
+    private boolean canOpen(Lock lock) {
+        return lock == null || canOpen(lockIndex.get(lock));
+    }
+
+    private boolean canOpen(int lock) {
+        if (lockOpen[lock]) return true;
+        Lock l = locks.get(lock);
+        if (crowbarHeld && l.canBePriedOpen()) return true;
+        for (String keyId : l.getAcceptableKeyIds()) {
+            if (keysHeld.contains(keyId)) return true;
+        }
+        return false;
+    }
+
+    // Runs in parallel: only reads the state of the previous merge
+    private RoundResult expand(int room) {
+        RoundResult result = new RoundResult();
+        RoomFacts facts = rooms.get(room);
+        result.items.addAll(facts.items());
+        for (DoorFacts door : facts.doors()) {
+            if (roomReached[door.target()]) continue;
+            if (canOpen(door.lock())) {
+                result.reached.add(door.target());
+            } else {
+                result.blockedLocks.add(lockIndex.get(door.lock()));
+                result.blocked.add(new Waiting(door.target(), null));
+            }
+        }
+        for (ChestFacts chest : facts.chests()) {
+            if (canOpen(chest.lock())) {
+                result.items.addAll(chest.contents());
+            } else {
+                result.blockedLocks.add(lockIndex.get(chest.lock()));
+                result.blocked.add(new Waiting(-1, chest));
+            }
+        }
+        return result;
+    }
+
+    private final class ExpandTask extends RecursiveTask<RoundResult> {
+        private final int[] batch;
+        private final int from;
+        private final int to;
+
+        ExpandTask(int[] batch, int from, int to) {
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected RoundResult compute() {
+            if (to - from <= TASK_THRESHOLD) {
+                RoundResult result = new RoundResult();
+                for (int i = from; i < to; i++) result.addAll(expand(batch[i]));
+                return result;
+            }
+            int mid = (from + to) >>> 1;
+            ExpandTask right = new ExpandTask(batch, mid, to);
+            right.fork();
+            RoundResult result = new ExpandTask(batch, from, mid).compute();
+            result.addAll(right.join());
+            return result;
+        }
+    }
+
+    private final class FactsTask extends RecursiveTask<Void> {
+        private final Room[] source;
+        private final RoomFacts[] target;
+        private final int from;
+        private final int to;
+
+        FactsTask(Room[] source, RoomFacts[] target, int from, int to) {
+            this.source = source;
+            this.target = target;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Void compute() {
+            if (to - from <= TASK_THRESHOLD) {
+                for (int i = from; i < to; i++) target[i] = factsOf(source[i]);
+                return null;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new FactsTask(source, target, from, mid), new FactsTask(source, target, mid, to));
+            return null;
+        }
+    }
+
+    // Sequential: applies a round's results and returns the next frontier
+    private List<Integer> merge(RoundResult result) {
+        List<Integer> next = new ArrayList<>();
+        for (int room : result.reached) {
+            if (!roomReached[room]) {
+                roomReached[room] = true;
+                next.add(room);
+            }
+        }
+        for (int i = 0; i < result.blocked.size(); i++) {
+            int lock = result.blockedLocks.get(i);
+            waitingOnLock.computeIfAbsent(lock, l -> new ArrayList<>()).add(result.blocked.get(i));
+            if (canOpen(lock)) locksToRelease.add(lock); // A key found in the same round
+        }
+        for (Found item : result.items) obtain(item);
+        releaseOpenedLocks(next);
+        return next;
+    }
+
+    private void obtain(Found item) {
+        if (!itemsObtained.add(item.itemId())) return;
+        if (item.key() && keysHeld.add(item.itemId())) {
+            List<Integer> opened = locksByKeyId.get(item.itemId());
+            if (opened != null) locksToRelease.addAll(opened);
+        }
+        if (item.crowbar() && !crowbarHeld) {
+            crowbarHeld = true;
+            for (int l = 0; l < locks.size(); l++) {
+                if (locks.get(l).canBePriedOpen()) locksToRelease.add(l);
+            }
+        }
+    }
+
+    // Opens every lock queued for release and lets through what waited on it (which may queue more)
+    private void releaseOpenedLocks(List<Integer> next) {
+        while (!locksToRelease.isEmpty()) {
+            int lock = locksToRelease.poll();
+            lockOpen[lock] = true;
+            List<Waiting> waiting = waitingOnLock.remove(lock);
+            if (waiting == null) continue;
+            for (Waiting w : waiting) {
+                if (w.chest() != null) {
+                    for (Found item : w.chest().contents()) obtain(item);
+                } else if (!roomReached[w.target()]) {
+                    roomReached[w.target()] = true;
+                    next.add(w.target());
+                }
+            }
+        }
+    }
+
+    // --- Report ---
+
+    private Report buildReport() {
+        List<String> unreachableRooms = new ArrayList<>();
+        List<String> unreachableItems = new ArrayList<>();
+        List<SoftLock> softLocks = new ArrayList<>();
+        Set<Integer> reported = new HashSet<>();
+        int reachable = 0;
+        for (int r = 0; r < rooms.size(); r++) {
+            RoomFacts facts = rooms.get(r);
+            if (!roomReached[r]) {
+                unreachableRooms.add(facts.id());
+                continue;
+            }
+            reachable++;
+            for (DoorFacts door : facts.doors()) {
+                if (!roomReached[door.target()] && door.lock() != null && reported.add(lockIndex.get(door.lock()))) {
+                    softLocks.add(softLock(lockIndex.get(door.lock()), "door " + door.id() + " (" + facts.id() + " -> "
+                            + rooms.get(door.target()).id() + ")"));
+                }
+            }
+            for (ChestFacts chest : facts.chests()) {
+                if (chest.lock() != null && !canOpen(chest.lock()) && reported.add(lockIndex.get(chest.lock()))) {
+                    softLocks.add(softLock(lockIndex.get(chest.lock()), "chest " + chest.id() + " (" + facts.id() + ")"));
+                }
+            }
+        }
+        for (Found item : itemLocations.values()) {
+            if (!itemsObtained.contains(item.itemId())) unreachableItems.add(item.itemId() + " in " + item.location());
+        }
+        Collections.sort(unreachableRooms);
+        Collections.sort(unreachableItems);
+        return new Report(rooms.size(), reachable, unreachableRooms, unreachableItems, softLocks, rounds);
+    }
+
+    private SoftLock softLock(int lock, String guards) {
+        List<String> keyLocations = new ArrayList<>();
+        for (String keyId : locks.get(lock).getAcceptableKeyIds()) {
+            Found key = itemLocations.get(keyId);
+            keyLocations.add(keyId + " in " + (key != null ? key.location() : "nowhere"));
+        }
+        return new SoftLock(locks.get(lock).getId(), guards, keyLocations);
+    }
+}
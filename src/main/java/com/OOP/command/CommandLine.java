@@ -0,0 +1,133 @@
+package com.OOP.command;
+
+import java.util.Arrays;
+
+/**
+ * One tokenized command, e.g. "use cell key on cell door".
+ * The tokenizer is hand-written over the input CharSequence and only records token
+ * boundaries in reusable int arrays, so parsing allocates nothing. Strings are only
+ * created when a handler asks for an argument slice, and those come back lower-cased
+ * like the old {@code trim().toLowerCase().split(...)} parsing produced.
+ * <p>
+ * Instances are reused for every command and are not thread-safe; each front-end
+ * (or session) owns its own.
+ */
+public class CommandLine {
+    private static final int INITIAL_TOKENS = 16;
+
+    private CharSequence input = "";
+    private int[] starts = new int[INITIAL_TOKENS];
+    private int[] ends = new int[INITIAL_TOKENS];
+    private int count;
+
+    public CommandLine parse(CharSequence text) {
+        this.input = text != null ? text : "";
+        this.count = 0;
+        int length = input.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && Character.isWhitespace(input.charAt(i))) i++;
+            if (i >= length) break;
+            int start = i;
+            while (i < length && !Character.isWhitespace(input.charAt(i))) i++;
+            if (count == starts.length) grow();
+            starts[count] = start;
+            ends[count] = i;
+            count++;
+        }
+        return this;
+    }
+
+    private void grow() {
+        starts = Arrays.copyOf(starts, starts.length * 2);
+        ends = Arrays.copyOf(ends, ends.length * 2);
+    }
+
+    public int tokenCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public boolean hasArguments() {
+        return count > 1;
+    }
+
+    public CharSequence getInput() {
+        return input;
+    }
+
+    public int tokenStart(int index) {
+        return starts[index];
+    }
+
+    public int tokenEnd(int index) {
+        return ends[index];
+    }
+
+    // Case-insensitive comparison of one token against a lower-case word, without allocating
+    public boolean tokenEquals(int index, String lowerCaseWord) {
+        if (index >= count) return false;
+        int start = starts[index];
+        int length = ends[index] - start;
+        if (length != lowerCaseWord.length()) return false;
+        for (int i = 0; i < length; i++) {
+            if (Character.toLowerCase(input.charAt(start + i)) != lowerCaseWord.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    // First token at or after 'from' equal to the word, or -1
+    public int indexOf(String lowerCaseWord, int from) {
+        for (int i = from; i < count; i++) {
+            if (tokenEquals(i, lowerCaseWord)) return i;
+        }
+        return -1;
+    }
+
+    // Single token, lower-cased; null if there is no such token
+    public String token(int index) {
+        return index < count ? slice(index, index + 1) : null;
+    }
+
+    // Tokens from 'fromToken' to the end, with their original spacing; null if there are none
+    public String rest(int fromToken) {
+        return fromToken < count ? slice(fromToken, count) : null;
+    }
+
+    // Everything after the verb: "take health potion" -> "health potion"
+    public String arguments() {
+        return rest(1);
+    }
+
+    // Tokens [fromToken, toToken) as one lower-cased string
+    public String slice(int fromToken, int toToken) {
+        if (fromToken >= toToken) return null;
+        int start = starts[fromToken];
+        int end = ends[toToken - 1];
+        char[] chars = new char[end - start];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(input.charAt(start + i));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Position of a clause keyword inside the arguments, e.g. "on" in "use key on door" or
+     * "with" in "open chest with key". The keyword only counts when there is at least one
+     * argument token before and after it. Returns -1 if there is no such clause.
+     */
+    public int clauseIndex(String lowerCaseKeyword) {
+        for (int i = 2; i < count - 1; i++) {
+            if (tokenEquals(i, lowerCaseKeyword)) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return input.toString();
+    }
+}
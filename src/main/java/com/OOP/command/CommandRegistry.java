@@ -0,0 +1,137 @@
+package com.OOP.command;
+
+import com.OOP.interfaces.CommandHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Maps verbs and their aliases ("i", "inv", "inventory") to handlers.
+ * Verbs live in an open-addressing table that is rebuilt whenever a verb is registered
+ * (registration happens once at startup), and lookups hash the verb token straight out
+ * of the {@link CommandLine} input, so dispatching a command allocates nothing.
+ * <p>
+ * The registry also counts what it dispatches, so command throughput can be read back
+ * with {@link #getCommandsPerSecond()}.
+ */
+public class CommandRegistry {
+    private final List<String> verbs = new ArrayList<>();
+    private final List<CommandHandler> handlers = new ArrayList<>();
+    private String[] tableVerbs = new String[4]; // Empty but probe-able before the first register()
+    private CommandHandler[] tableHandlers = new CommandHandler[4];
+    private int mask = 3;
+    private CommandHandler unknownHandler = command -> { };
+    private final CommandLine commandLine = new CommandLine(); // Reused for every execute()
+
+    // Stats
+    private long dispatchedCommands;
+    private long unknownCommands;
+    private long totalDispatchNanos;
+
+    public CommandRegistry register(CommandHandler handler, String... verbAndAliases) {
+        for (String verb : verbAndAliases) {
+            String key = verb.toLowerCase(Locale.ROOT); // Not the default locale: must fold like hash() does
+            int existing = verbs.indexOf(key);
+            if (existing != -1) {
+                handlers.set(existing, handler); // Later registration wins
+            } else {
+                verbs.add(key);
+                handlers.add(handler);
+            }
+        }
+        rebuildTable();
+        return this;
+    }
+
+    // Called for empty input and verbs nobody registered
+    public CommandRegistry setUnknownHandler(CommandHandler handler) {
+        this.unknownHandler = handler;
+        return this;
+    }
+
+    private void rebuildTable() {
+        int capacity = Integer.highestOneBit(Math.max(4, verbs.size() * 4) - 1) << 1; // Load factor <= 0.25
+        tableVerbs = new String[capacity];
+        tableHandlers = new CommandHandler[capacity];
+        mask = capacity - 1;
+        for (int i = 0; i < verbs.size(); i++) {
+            String verb = verbs.get(i);
+            int slot = hash(verb, 0, verb.length()) & mask;
+            while (tableVerbs[slot] != null) slot = (slot + 1) & mask;
+            tableVerbs[slot] = verb;
+            tableHandlers[slot] = handlers.get(i);
+        }
+    }
+
+    // Lower-cased FNV-1a over a char range; used for both the table and the lookup
+    private static int hash(CharSequence text, int start, int end) {
+        int h = 0x811C9DC5;
+        for (int i = start; i < end; i++) {
+            h ^= Character.toLowerCase(text.charAt(i));
+            h *= 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    // Handler for the command's verb, or null if it is not registered
+    public CommandHandler lookup(CommandLine command) {
+        if (command.isEmpty()) return null;
+        CharSequence input = command.getInput();
+        int start = command.tokenStart(0);
+        int end = command.tokenEnd(0);
+        int slot = hash(input, start, end) & mask;
+        String verb;
+        while ((verb = tableVerbs[slot]) != null) {
+            if (command.tokenEquals(0, verb)) return tableHandlers[slot];
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    // Tokenizes and dispatches one line of input; not thread-safe (one registry per front-end/session)
+    public boolean execute(CharSequence input) {
+        return dispatch(commandLine.parse(input));
+    }
+
+    // Returns true if a registered handler ran, false if the unknown handler did
+    public boolean dispatch(CommandLine command) {
+        long startNanos = System.nanoTime();
+        CommandHandler handler = lookup(command);
+        boolean known = handler != null;
+        if (known) {
+            handler.handle(command);
+        } else {
+            unknownCommands++;
+            unknownHandler.handle(command);
+        }
+        dispatchedCommands++;
+        totalDispatchNanos += System.nanoTime() - startNanos;
+        return known;
+    }
+
+    public boolean isRegistered(String verb) {
+        return verbs.contains(verb.toLowerCase(Locale.ROOT));
+    }
+
+    public List<String> getVerbs() {
+        return List.copyOf(verbs);
+    }
+
+    public long getDispatchedCommands() { return dispatchedCommands; }
+
+    public long getUnknownCommands() { return unknownCommands; }
+
+    public long getTotalDispatchNanos() { return totalDispatchNanos; }
+
+    // Commands handled per second of time spent inside handlers (0 before the first command)
+    public double getCommandsPerSecond() {
+        return totalDispatchNanos == 0 ? 0 : dispatchedCommands * 1_000_000_000.0 / totalDispatchNanos;
+    }
+
+    public void resetStats() {
+        dispatchedCommands = 0;
+        unknownCommands = 0;
+        totalDispatchNanos = 0;
+    }
+}
@@ -0,0 +1,137 @@
+package com.OOP.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * In-process publish/subscribe for {@link GameEvent}s. One bus per World.
+ * <p>
+ * Subscribers pick an event type (or GameEvent.class for everything) and a delivery mode:
+ * <ul>
+ *   <li>synchronous: called on the publishing thread, before publish() returns;</li>
+ *   <li>asynchronous: events are queued and handed over in batches on an Executor
+ *       (e.g. {@code SwingUtilities::invokeLater}), one task per batch rather than per event.</li>
+ * </ul>
+ * Publishers should check {@link #hasSubscribers(Class)} before building an event, so unobserved
+ * events cost nothing. Subscribing and publishing are thread-safe.
+ * <p>
+ * Work running in parallel can {@link #capture(Runnable) capture} what it publishes and have it
+ * published later, in an order that doesn't depend on thread timing.
+ */
+public class EventBus {
+
+    private interface Subscriber {
+        void deliver(GameEvent event);
+    }
+
+    private final Map<Class<?>, List<Subscriber>> subscribersByType = new ConcurrentHashMap<>();
+    private final List<Subscriber> catchAll = new CopyOnWriteArrayList<>(); // Subscribed to GameEvent.class
+    private final AtomicLong published = new AtomicLong();
+    private final ThreadLocal<List<GameEvent>> captureBuffer = new ThreadLocal<>();
+    private final AtomicInteger capturingThreads = new AtomicInteger(); // publish() skips the ThreadLocal while 0
+
+    public <E extends GameEvent> Subscription subscribe(Class<E> type, Consumer<? super E> handler) {
+        Subscriber subscriber = event -> handler.accept(type.cast(event));
+        return add(type, subscriber);
+    }
+
+    public <E extends GameEvent> Subscription subscribeAsync(Class<E> type, Executor executor, Consumer<? super List<E>> batchHandler) {
+        return add(type, new BatchingSubscriber<>(type, executor, batchHandler));
+    }
+
+    private Subscription add(Class<?> type, Subscriber subscriber) {
+        List<Subscriber> list = type == GameEvent.class ? catchAll
+                : subscribersByType.computeIfAbsent(type, t -> new CopyOnWriteArrayList<>());
+        list.add(subscriber);
+        return () -> list.remove(subscriber);
+    }
+
+    // Cheap check for publishers: is anyone listening for this type?
+    public boolean hasSubscribers(Class<? extends GameEvent> type) {
+        if (!catchAll.isEmpty()) return true;
+        List<Subscriber> list = subscribersByType.get(type);
+        return list != null && !list.isEmpty();
+    }
+
+    public void publish(GameEvent event) {
+        if (capturingThreads.get() > 0) {
+            List<GameEvent> buffer = captureBuffer.get();
+            if (buffer != null) {
+                buffer.add(event);
+                return;
+            }
+        }
+        published.incrementAndGet();
+        List<Subscriber> list = subscribersByType.get(event.getClass());
+        if (list != null) {
+            for (Subscriber subscriber : list) subscriber.deliver(event);
+        }
+        for (Subscriber subscriber : catchAll) subscriber.deliver(event);
+    }
+
+    /**
+     * Runs the action and returns, in order, the events it published on this thread, which are
+     * held back instead of delivered. Pass them to {@link #publish} later to deliver them.
+     */
+    public List<GameEvent> capture(Runnable action) {
+        List<GameEvent> events = new ArrayList<>();
+        List<GameEvent> outer = captureBuffer.get();
+        captureBuffer.set(events);
+        capturingThreads.incrementAndGet();
+        try {
+            action.run();
+        } finally {
+            capturingThreads.decrementAndGet();
+            if (outer != null) {
+                captureBuffer.set(outer);
+            } else {
+                captureBuffer.remove();
+            }
+        }
+        return events;
+    }
+
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    // Queues events and drains them as one batch per executor task
+    private static final class BatchingSubscriber<E extends GameEvent> implements Subscriber {
+        private final Class<E> type;
+        private final Executor executor;
+        private final Consumer<? super List<E>> batchHandler;
+        private final ConcurrentLinkedQueue<E> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+        BatchingSubscriber(Class<E> type, Executor executor, Consumer<? super List<E>> batchHandler) {
+            this.type = type;
+            this.executor = executor;
+            this.batchHandler = batchHandler;
+        }
+
+        @Override
+        public void deliver(GameEvent event) {
+            queue.add(type.cast(event));
+            if (drainScheduled.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            drainScheduled.set(false); // Events from now on schedule another drain
+            List<E> batch = new ArrayList<>();
+            E event;
+            while ((event = queue.poll()) != null) batch.add(event);
+            if (!batch.isEmpty()) batchHandler.accept(batch);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.OOP.events;
+
+import com.OOP.model.core.Door;
+import com.OOP.model.core.Room;
+import com.OOP.model.entities.LivingBeing;
+import com.OOP.model.entities.Player;
+import com.OOP.model.interactables.Chest;
+import com.OOP.model.items.Item;
+
+/**
+ * Something that happened in the game, published on the world's {@link EventBus}.
+ * Events carry the objects and numbers involved, not text: turning them into messages is up to
+ * whoever subscribes (the log, the status panel, metrics...).
+ */
+public sealed interface GameEvent {
+
+    /** attacker is null for damage without a source. healthAfter can be negative (overkill). */
+    record DamageDealt(LivingBeing attacker, LivingBeing target, int amount, int blocked, int healthAfter) implements GameEvent {}
+
+    record BeingDefeated(LivingBeing being, Room room) implements GameEvent {}
+
+    /** Healing and other direct health changes (damage is reported as DamageDealt). */
+    record HealthChanged(LivingBeing being, int oldHealth, int newHealth) implements GameEvent {}
+
+    record GoldChanged(Player player, int delta, int total) implements GameEvent {}
+
+    record ItemPickedUp(LivingBeing being, Item item) implements GameEvent {}
+
+    record ItemDropped(LivingBeing being, Item item, Room room) implements GameEvent {}
+
+    /** An item was placed on or removed from a floor tile. */
+    record FloorItemsChanged(Room room, int tileX, int tileY) implements GameEvent {}
+
+    /** A being moved between two tiles of the same room (-1,-1 = off-map). */
+    record BeingMoved(LivingBeing being, Room room, int oldTileX, int oldTileY, int newTileX, int newTileY) implements GameEvent {}
+
+    /** from is null when the being is first placed. */
+    record RoomEntered(LivingBeing being, Room from, Room to) implements GameEvent {}
+
+    record DoorUnlocked(Door door, LivingBeing unlockedBy) implements GameEvent {}
+
+    record ChestOpened(Chest chest, LivingBeing openedBy) implements GameEvent {}
+
+    /** item is the weapon/shield put on (equipped = true) or taken off. */
+    record EquipmentChanged(LivingBeing being, Item item, boolean equipped) implements GameEvent {}
+}
@@ -0,0 +1,7 @@
+package com.OOP.events;
+
+/** Returned by the EventBus subscribe methods; close() to stop receiving events. */
+public interface Subscription extends AutoCloseable {
+    @Override
+    void close();
+}
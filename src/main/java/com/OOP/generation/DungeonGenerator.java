@@ -0,0 +1,309 @@
+package com.OOP.generation;
+
+import com.OOP.model.core.Door;
+import com.OOP.model.core.Room;
+import com.OOP.model.core.TileGrid;
+import com.OOP.model.core.World;
+import com.OOP.model.entities.Enemy;
+import com.OOP.model.entities.Player;
+import com.OOP.model.interactables.Chest;
+import com.OOP.model.interactables.Lock;
+import com.OOP.model.items.*;
+import com.OOP.persistence.WorldWriter;
+import com.OOP.utils.GameRandom;
+
+import java.awt.Point;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Seeded procedural dungeon for load tests: {@code roomCount} rooms on a virtual grid
+ * ({@code ceil(sqrt(n))} wide, filled row by row).
+ * <p>
+ * Every room connects to its east neighbour, and the first room of each row to the room below,
+ * which makes a comb-shaped spanning tree rooted at room 0; some other north/south pairs get an
+ * extra (never locked) door so there are loops. Some tree doors are locked and cannot be pried
+ * open. The key to a locked door always lies in the room on the root side of it (on the floor
+ * or carried by that room's enemy), so by induction every room is reachable from the start.
+ * <p>
+ * Rooms, doors and exits are built in three fork-join passes over index ranges. Each room draws
+ * from its own {@link SplittableRandom} seeded by SplitMix64 from (seed, room index), and each
+ * door decision hashes (seed, edge index), so nothing depends on which thread ran what: the same
+ * seed gives the same world for any pool size. Rooms are added to the World afterwards in index
+ * order, on the calling thread.
+ */
+public class DungeonGenerator {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int TASK_THRESHOLD = 256; // Rooms per leaf task
+    private static final double LOOP_DOOR_CHANCE = 0.25;
+    private static final double LOCKED_DOOR_CHANCE = 0.15;
+    private static final String[] ADJECTIVES = {"Dusty", "Damp", "Silent", "Collapsed", "Mossy", "Cold", "Narrow", "Flooded"};
+    private static final String[] NOUNS = {"Crypt", "Cellar", "Gallery", "Vault", "Cistern", "Barracks", "Chapel", "Storeroom"};
+
+    private final long seed;
+    private final int roomCount;
+    private final int gridWidth;
+    private final Room[] rooms;
+    private final Lock[] locks; // By edge: 2i = east edge of room i, 2i + 1 = south edge
+    private final Door[] doors;
+
+    public DungeonGenerator(long seed, int roomCount) {
+        if (roomCount < 1) throw new IllegalArgumentException("roomCount must be at least 1");
+        this.seed = seed;
+        this.roomCount = roomCount;
+        this.gridWidth = (int) Math.ceil(Math.sqrt(roomCount));
+        this.rooms = new Room[roomCount];
+        this.locks = new Lock[2 * roomCount];
+        this.doors = new Door[2 * roomCount];
+    }
+
+    public World generate(ForkJoinPool pool) {
+        World world = new World(new GameRandom(seed));
+        generateInto(world, pool);
+        return world;
+    }
+
+    // Fills an empty world; the player starts in room_0
+    public void generateInto(World world, ForkJoinPool pool) {
+        pool.invoke(new RangeTask(0, roomCount, this::buildRoom));
+        pool.invoke(new RangeTask(0, roomCount, this::buildDoors));
+        pool.invoke(new RangeTask(0, roomCount, this::attachExits));
+
+        for (Room room : rooms) {
+            world.addRoom(room);
+            world.trimResidentRooms(); // Keeps a paged world within budget
+        }
+        Room start = world.getRoom("room_0");
+        Player player = new Player("Hero", 100, 5, start);
+        start.addLivingBeing(player);
+        world.setPlayer(player);
+    }
+
+    // --- Topology (pure functions of seed and index) ---
+
+    private int column(int room) {
+        return room % gridWidth;
+    }
+
+    private boolean hasEastDoor(int room) {
+        return column(room) < gridWidth - 1 && room + 1 < roomCount;
+    }
+
+    // Spine doors (first column) are part of the spanning tree; the rest are optional loops
+    private boolean hasSouthDoor(int room) {
+        if (room + gridWidth >= roomCount) return false;
+        return column(room) == 0 || edgeChance(2 * room + 1, 1) < LOOP_DOOR_CHANCE;
+    }
+
+    private boolean isTreeEdge(int edge) {
+        int room = edge / 2;
+        return edge % 2 == 0 || column(room) == 0;
+    }
+
+    private boolean isLocked(int edge) {
+        return isTreeEdge(edge) && edgeChance(edge, 2) < LOCKED_DOOR_CHANCE;
+    }
+
+    // Uniform in [0, 1) from (seed, edge, purpose)
+    private double edgeChance(int edge, int purpose) {
+        return (GameRandom.mix64(seed ^ GameRandom.mix64(edge * 4L + purpose + 1)) >>> 11) * 0x1.0p-53;
+    }
+
+    private long roomSeed(int room) {
+        return GameRandom.mix64(seed + (room + 1L) * GOLDEN_GAMMA);
+    }
+
+    // --- Pass 1: one room with its layout and contents ---
+
+    private void buildRoom(int index) {
+        SplittableRandom random = new SplittableRandom(roomSeed(index));
+        int width = 7 + 2 * random.nextInt(4);  // Odd sizes 7..13 so the middle row/column is centred
+        int height = 7 + 2 * random.nextInt(3); // 7..11
+        int midX = width / 2;
+        int midY = height / 2;
+
+        // Written straight into a packed grid (tile code = layout character)
+        byte[] tiles = new byte[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean border = x == 0 || y == 0 || x == width - 1 || y == height - 1;
+                // Pillars only on even/even tiles off the centre cross, so the floor stays connected
+                boolean pillar = !border && x % 2 == 0 && y % 2 == 0 && x != midX && y != midY && random.nextInt(10) < 3;
+                tiles[y * width + x] = (byte) (border || pillar ? 'W' : 'F');
+            }
+        }
+        if (index >= gridWidth && hasSouthDoor(index - gridWidth)) tiles[midX] = 'D';
+        if (hasSouthDoor(index)) tiles[(height - 1) * width + midX] = 'D';
+        if (column(index) > 0) tiles[midY * width] = 'D';
+        if (hasEastDoor(index)) tiles[midY * width + width - 1] = 'D';
+        if (index == 0) tiles[width + 1] = 'P';
+
+        String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)];
+        Room room = new Room("room_" + index, name, "Room " + index + " of a generated dungeon.", new TileGrid(width, height, tiles));
+
+        // Decide who carries what first: an enemy's loot is fixed when it is constructed.
+        // Chests and enemies stay off the centre cross, which every door opens onto.
+        boolean[] used = new boolean[width * height];
+        if (index == 0) used[width + 1] = true;
+        boolean hasEnemy = index > 0 && random.nextInt(10) < 4;
+        Point enemyTile = hasEnemy ? freeTile(random, tiles, width, height, used, true) : null;
+        Item loot = null;
+
+        if (random.nextInt(10) < 3) {
+            Point p = freeTile(random, tiles, width, height, used, true);
+            Lock chestLock = null;
+            if (hasEnemy && random.nextBoolean()) {
+                chestLock = new Lock("lock_chest_" + index, "chest lock", true, false);
+                chestLock.addAcceptableKeyId("key_chest_" + index);
+                loot = new Key("key_chest_" + index, "Small Key", "Opens a chest in room " + index + ".", chestLock.getId());
+            }
+            Chest chest = new Chest("chest_" + index, "Chest", "An old chest.", chestLock);
+            chest.addItem(new Gold("gold_chest_" + index, "Gold Coins", "A pouch of coins.", 5 + random.nextInt(50)));
+            if (random.nextInt(4) == 0) chest.addItem(new Weapon("weapon_" + index, "Short Sword", "A plain short sword.", 6 + random.nextInt(10)));
+            room.addChest(chest, p);
+        }
+        if (random.nextBoolean()) {
+            Point p = freeTile(random, tiles, width, height, used, false);
+            room.placeItem(new Gold("gold_" + index, "Gold Coins", "A few coins.", 1 + random.nextInt(20)), p.x, p.y);
+        }
+        if (random.nextInt(5) == 0) {
+            Point p = freeTile(random, tiles, width, height, used, false);
+            room.placeItem(new Medicine("potion_" + index, "Health Potion", "Restores 25 HP.", 25), p.x, p.y);
+        }
+
+        // Locks of the tree doors leading away from the start; their keys stay on this side
+        int[] childEdges = {2 * index, 2 * index + 1};
+        for (int edge : childEdges) {
+            boolean present = edge % 2 == 0 ? hasEastDoor(index) : hasSouthDoor(index);
+            if (!present || !isLocked(edge)) continue;
+            Lock lock = new Lock("lock_" + edge, "door lock", true, false);
+            Key key = new Key("key_" + edge, "Iron Key", "A key found in room " + index + ".", lock.getId());
+            lock.addAcceptableKeyId(key.getId());
+            locks[edge] = lock;
+            if (hasEnemy && loot == null && random.nextBoolean()) {
+                loot = key;
+            } else {
+                Point p = freeTile(random, tiles, width, height, used, false);
+                room.placeItem(key, p.x, p.y);
+            }
+        }
+
+        if (hasEnemy) {
+            Enemy enemy = new Enemy("enemy_" + index, "Goblin", "A goblin guarding room " + index + ".",
+                    20 + random.nextInt(30), 4 + random.nextInt(8), null, loot);
+            enemy.restorePosition(room, enemyTile.x, enemyTile.y);
+        }
+        rooms[index] = room;
+    }
+
+    private static Point freeTile(SplittableRandom random, byte[] tiles, int width, int height, boolean[] used, boolean offCross) {
+        while (true) { // Rooms are at least 5x5 inside and hold a handful of things, so this ends quickly
+            int x = 1 + random.nextInt(width - 2);
+            int y = 1 + random.nextInt(height - 2);
+            if (tiles[y * width + x] != 'F' || used[y * width + x]) continue;
+            if (offCross && (x == width / 2 || y == height / 2)) continue;
+            used[y * width + x] = true;
+            return new Point(x, y);
+        }
+    }
+
+    // --- Pass 2: the doors owned by each room (its east and south edges) ---
+
+    private void buildDoors(int index) {
+        if (hasEastDoor(index)) {
+            Room west = rooms[index];
+            Room east = rooms[index + 1];
+            Point inWest = new Point(west.getMapWidth() - 1, west.getMapHeight() / 2);
+            Point inEast = new Point(0, east.getMapHeight() / 2);
+            doors[2 * index] = new Door("door_" + (2 * index), "Door", inWest, "A wooden door.", west, east, locks[2 * index],
+                    inWest, new Point(inEast.x + 1, inEast.y), inEast, new Point(inWest.x - 1, inWest.y));
+        }
+        if (hasSouthDoor(index)) {
+            Room north = rooms[index];
+            Room south = rooms[index + gridWidth];
+            Point inNorth = new Point(north.getMapWidth() / 2, north.getMapHeight() - 1);
+            Point inSouth = new Point(south.getMapWidth() / 2, 0);
+            doors[2 * index + 1] = new Door("door_" + (2 * index + 1), "Door", inNorth, "A wooden door.", north, south, locks[2 * index + 1],
+                    inNorth, new Point(inSouth.x, inSouth.y + 1), inSouth, new Point(inNorth.x, inNorth.y - 1));
+        }
+    }
+
+    // --- Pass 3: each room registers its own exits (no two tasks touch the same room) ---
+
+    private void attachExits(int index) {
+        Room room = rooms[index];
+        if (doors[2 * index] != null) room.addExit("east", doors[2 * index]);
+        if (doors[2 * index + 1] != null) room.addExit("south", doors[2 * index + 1]);
+        if (column(index) > 0) room.addExit("west", doors[2 * (index - 1)]);
+        if (index >= gridWidth && doors[2 * (index - gridWidth) + 1] != null) room.addExit("north", doors[2 * (index - gridWidth) + 1]);
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final IntConsumer action;
+
+        RangeTask(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= TASK_THRESHOLD) {
+                for (int i = from; i < to; i++) action.accept(i);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, mid, action), new RangeTask(mid, to, action));
+        }
+    }
+
+    /**
+     * Load-test report: {@code DungeonGenerator [rooms] [seed] [threads] [--fingerprint]}.
+     * Prints generation time and retained heap, both also scaled to 100k rooms. With
+     * --fingerprint it also prints a CRC of the saved world, which must not change with threads.
+     */
+    public static void main(String[] args) throws IOException {
+        boolean fingerprint = false;
+        List<String> positional = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--fingerprint")) fingerprint = true;
+            else positional.add(arg);
+        }
+        int roomCount = positional.size() > 0 ? Integer.parseInt(positional.get(0)) : 100_000;
+        long seed = positional.size() > 1 ? Long.parseLong(positional.get(1)) : 42;
+        int threads = positional.size() > 2 ? Integer.parseInt(positional.get(2)) : Runtime.getRuntime().availableProcessors();
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        World world = new DungeonGenerator(seed, roomCount).generate(pool);
+        long nanos = System.nanoTime() - start;
+        pool.shutdown();
+        System.gc();
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+
+        double perHundredK = 100_000.0 / roomCount;
+        long retained = heapAfter - heapBefore;
+        System.out.printf("Generated %,d rooms (seed %d, %d threads) in %.1f ms (%.1f ms per 100k rooms)%n",
+                roomCount, seed, threads, nanos / 1e6, nanos / 1e6 * perHundredK);
+        System.out.printf("Retained heap %.1f MB (%.1f MB per 100k rooms, %,d bytes per room)%n",
+                retained / 1048576.0, retained / 1048576.0 * perHundredK, retained / roomCount);
+        if (fingerprint) {
+            CRC32 crc = new CRC32();
+            for (ByteBuffer part : WorldWriter.encode(world)) crc.update(part);
+            System.out.printf("Fingerprint %08x%n", crc.getValue());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.OOP.gui;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * The game log as used by the windows: a scrolling {@link GameLogView} with a search box and one
+ * toggle per message category. Capacity (lines kept) comes from {@code -Dgame.log.maxLines}.
+ */
+public class GameLogPanel extends JPanel {
+    public static final int DEFAULT_MAX_LINES = 5000;
+
+    private final GameLogView view;
+    private final JTextField searchField;
+
+    public GameLogPanel(String title) {
+        super(new BorderLayout());
+        view = new GameLogView(Integer.getInteger("game.log.maxLines", DEFAULT_MAX_LINES));
+        setBorder(BorderFactory.createTitledBorder(title));
+
+        JScrollPane scrollPane = new JScrollPane(view);
+        add(scrollPane, BorderLayout.CENTER);
+
+        JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT, 4, 0));
+        searchField = new JTextField(14);
+        searchField.setToolTipText("Find in log (Enter: next, Shift+Enter: previous, Esc: clear)");
+        searchField.addActionListener(e -> {
+            boolean backwards = (e.getModifiers() & java.awt.event.ActionEvent.SHIFT_MASK) != 0;
+            if (!view.find(searchField.getText(), !backwards)) Toolkit.getDefaultToolkit().beep();
+        });
+        searchField.registerKeyboardAction(e -> {
+            searchField.setText("");
+            view.clearSearch();
+        }, KeyStroke.getKeyStroke("ESCAPE"), JComponent.WHEN_FOCUSED);
+        toolbar.add(new JLabel("Find:"));
+        toolbar.add(searchField);
+
+        for (LogBuffer.Category category : LogBuffer.Category.values()) {
+            String label = category.name().charAt(0) + category.name().substring(1).toLowerCase();
+            JCheckBox toggle = new JCheckBox(label, view.isCategoryShown(category));
+            toggle.setFocusable(false); // Keep keyboard focus where the game wants it
+            toggle.addActionListener(e -> view.setCategoryShown(category, toggle.isSelected()));
+            toolbar.add(toggle);
+        }
+        add(toolbar, BorderLayout.NORTH);
+    }
+
+    public GameLogView getView() {
+        return view;
+    }
+
+    // EDT only; use an OutputAccumulator to feed it from other threads
+    public void appendText(String text) {
+        view.appendText(text);
+    }
+}
@@ -0,0 +1,252 @@
+package com.OOP.gui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Game log display backed by a {@link LogBuffer}. Works like a virtualized list: it only paints the rows
+ * inside the visible area, so cost doesn't grow with the log, and memory is capped by the buffer's capacity.
+ * Lines can be filtered by category and searched; the view sticks to the bottom while new text
+ * arrives unless the user has scrolled up.
+ * Use on the EDT only (feed it through an OutputAccumulator from other threads).
+ */
+public class GameLogView extends JComponent implements Scrollable, LogBuffer.Listener {
+    private static final Color HIGHLIGHT = new Color(255, 230, 120);
+
+    private final LogBuffer buffer;
+    private final Set<LogBuffer.Category> shownCategories = EnumSet.allOf(LogBuffer.Category.class);
+
+    // Sequence numbers of the lines passing the filter, oldest first (ring, at most buffer capacity)
+    private final long[] visible;
+    private int visibleHead;
+    private int visibleCount;
+
+    private int maxLineWidth;
+    private long highlightedSequence = -1; // Current search match
+    private boolean followTail = true;
+
+    public GameLogView(int capacity) {
+        this.buffer = new LogBuffer(capacity);
+        this.visible = new long[capacity];
+        buffer.setListener(this);
+        setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        setBackground(Color.WHITE);
+        setOpaque(true);
+    }
+
+    // Adds text (any number of lines or a partial line) and keeps the newest line in view if we were at the bottom
+    public void appendText(String text) {
+        boolean atBottom = followTail && isScrolledToBottom();
+        buffer.appendText(text);
+        revalidate();
+        repaint();
+        if (atBottom) SwingUtilities.invokeLater(this::scrollToBottom);
+    }
+
+    public void clear() {
+        buffer.clear();
+        maxLineWidth = 0;
+        highlightedSequence = -1;
+        revalidate();
+        repaint();
+    }
+
+    public LogBuffer getBuffer() {
+        return buffer;
+    }
+
+    // --- Filtering ---
+
+    public void setCategoryShown(LogBuffer.Category category, boolean shown) {
+        if (shown ? shownCategories.add(category) : shownCategories.remove(category)) {
+            rebuildVisible();
+        }
+    }
+
+    public boolean isCategoryShown(LogBuffer.Category category) {
+        return shownCategories.contains(category);
+    }
+
+    private boolean passesFilter(long sequence) {
+        return shownCategories.contains(buffer.getCategory(sequence));
+    }
+
+    private void rebuildVisible() {
+        visibleHead = 0;
+        visibleCount = 0;
+        for (long seq = buffer.getFirstSequence(); seq < buffer.getNextSequence(); seq++) {
+            if (passesFilter(seq)) pushVisible(seq);
+        }
+        revalidate();
+        repaint();
+    }
+
+    private void pushVisible(long sequence) {
+        visible[(visibleHead + visibleCount) % visible.length] = sequence;
+        visibleCount++;
+    }
+
+    private long visibleAt(int row) {
+        return visible[(visibleHead + row) % visible.length];
+    }
+
+    @Override
+    public void lineAdded(long sequence) {
+        trackWidth(sequence);
+        if (passesFilter(sequence)) pushVisible(sequence);
+    }
+
+    @Override
+    public void lineChanged(long sequence) {
+        trackWidth(sequence);
+        boolean listed = visibleCount > 0 && visibleAt(visibleCount - 1) == sequence; // Only the last line changes
+        boolean passes = passesFilter(sequence);
+        if (listed && !passes) visibleCount--;
+        else if (!listed && passes) pushVisible(sequence);
+    }
+
+    @Override
+    public void lineEvicted(long sequence) {
+        if (visibleCount > 0 && visibleAt(0) == sequence) {
+            visibleHead = (visibleHead + 1) % visible.length;
+            visibleCount--;
+        }
+        if (highlightedSequence == sequence) highlightedSequence = -1;
+    }
+
+    private void trackWidth(long sequence) {
+        FontMetrics fm = getFontMetrics(getFont());
+        maxLineWidth = Math.max(maxLineWidth, fm.stringWidth(buffer.getLine(sequence)) + 8);
+    }
+
+    // --- Search ---
+
+    /**
+     * Finds the next (or previous) shown line containing query, case-insensitive, starting after the
+     * current match and wrapping around. Highlights and scrolls to it; returns false if there is none.
+     */
+    public boolean find(String query, boolean forward) {
+        if (query == null || query.isEmpty() || visibleCount == 0) return false;
+        String needle = query.toLowerCase();
+        int startRow = rowOf(highlightedSequence);
+        if (startRow < 0) startRow = forward ? -1 : visibleCount;
+        for (int i = 1; i <= visibleCount; i++) {
+            int row = Math.floorMod(startRow + (forward ? i : -i), visibleCount);
+            long seq = visibleAt(row);
+            if (buffer.getLine(seq).toLowerCase().contains(needle)) {
+                highlightedSequence = seq;
+                followTail = false; // Stay on the match while new lines arrive
+                scrollRectToVisible(new Rectangle(0, row * rowHeight(), 1, rowHeight()));
+                repaint();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clearSearch() {
+        highlightedSequence = -1;
+        followTail = true;
+        scrollToBottom();
+        repaint();
+    }
+
+    // Row of a sequence among the shown lines (binary search: sequences are increasing), or -1
+    private int rowOf(long sequence) {
+        int low = 0, high = visibleCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = visibleAt(mid);
+            if (value < sequence) low = mid + 1;
+            else if (value > sequence) high = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    // --- Painting and scrolling ---
+
+    private int rowHeight() {
+        return getFontMetrics(getFont()).getHeight();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(Math.max(maxLineWidth, 200), Math.max(visibleCount, 1) * rowHeight());
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) clip = new Rectangle(0, 0, getWidth(), getHeight());
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        g.setFont(getFont());
+        FontMetrics fm = g.getFontMetrics();
+        int rowHeight = fm.getHeight();
+        int firstRow = Math.max(0, clip.y / rowHeight);
+        int lastRow = Math.min(visibleCount - 1, (clip.y + clip.height) / rowHeight);
+        for (int row = firstRow; row <= lastRow; row++) { // Only the rows we can see
+            long seq = visibleAt(row);
+            int y = row * rowHeight;
+            if (seq == highlightedSequence) {
+                g.setColor(HIGHLIGHT);
+                g.fillRect(clip.x, y, clip.width, rowHeight);
+            }
+            g.setColor(colorFor(buffer.getCategory(seq)));
+            g.drawString(buffer.getLine(seq), 4, y + fm.getAscent());
+        }
+    }
+
+    private static Color colorFor(LogBuffer.Category category) {
+        return switch (category) {
+            case COMMAND -> new Color(0, 70, 160);
+            case COMBAT -> new Color(170, 30, 30);
+            case SYSTEM -> Color.GRAY;
+            case NARRATION -> Color.BLACK;
+        };
+    }
+
+    private boolean isScrolledToBottom() {
+        Rectangle view = getVisibleRect();
+        return view.y + view.height >= getHeight() - rowHeight();
+    }
+
+    private void scrollToBottom() {
+        int height = getPreferredSize().height;
+        scrollRectToVisible(new Rectangle(0, height - 1, 1, 1));
+    }
+
+    public void setFollowTail(boolean followTail) {
+        this.followTail = followTail;
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return new Dimension(400, 10 * rowHeight());
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? rowHeight() : 16;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height - rowHeight() : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        // Fill the viewport when lines are short, scroll horizontally when they are long
+        return getParent() instanceof JViewport viewport && viewport.getWidth() > getPreferredSize().width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return getParent() instanceof JViewport viewport && viewport.getHeight() > getPreferredSize().height;
+    }
+}
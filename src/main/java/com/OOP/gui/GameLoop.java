@@ -0,0 +1,199 @@
+package com.OOP.gui;
+
+import com.OOP.utils.GameConsole;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fixed-timestep game loop: update() runs at a steady rate using an accumulator, render() once per frame,
+ * and the thread parks until the next frame is due instead of spinning on System.nanoTime().
+ * <p>
+ * If updates fall behind (slow machine, debugger, GC pause), at most {@code maxUpdatesPerFrame} are
+ * run to catch up and the rest of the backlog is dropped, so the game slows down rather than spiralling.
+ * An exception from a task is logged and the loop goes on with the next frame.
+ * Frame timing is summarized every second in a {@link FrameStats} snapshot for monitoring.
+ * <p>
+ * Only the thread in {@code loopThread} may run the loop. stop() clears it and waits for that thread
+ * to finish its frame, so a stop() right before a start() never leaves two loops running.
+ */
+public class GameLoop implements Runnable {
+    public static final int DEFAULT_TARGET_FPS = 60;
+    public static final int DEFAULT_MAX_UPDATES_PER_FRAME = 5;
+    private static final long STATS_WINDOW_NANOS = 1_000_000_000L;
+
+    /** Timing over the last full stats window (about one second). */
+    public record FrameStats(double fps, double updatesPerSecond, double averageFrameMillis, double maxFrameMillis,
+                             double averageWorkMillis, long droppedUpdates, long totalFrames) {
+        @Override
+        public String toString() {
+            return String.format("%.1f fps, %.1f updates/s, frame avg %.2f ms / max %.2f ms, work avg %.2f ms, dropped %d",
+                    fps, updatesPerSecond, averageFrameMillis, maxFrameMillis, averageWorkMillis, droppedUpdates);
+        }
+    }
+
+    private final Runnable updateTask;
+    private final Runnable renderTask;
+    private volatile int targetFps;
+    private volatile int maxUpdatesPerFrame = DEFAULT_MAX_UPDATES_PER_FRAME;
+    private static final long STOP_JOIN_MILLIS = 1000;
+
+    private volatile Thread loopThread; // Thread running the loop, null when stopped
+    private volatile FrameStats stats = new FrameStats(0, 0, 0, 0, 0, 0, 0);
+
+    // Current stats window (loop thread only)
+    private long windowStart;
+    private int windowFrames;
+    private int windowUpdates;
+    private long windowFrameNanos;
+    private long windowMaxFrameNanos;
+    private long windowWorkNanos;
+    private long droppedUpdates;
+    private long failedFrames;
+    private boolean failureLoggedInWindow;
+    private long totalFrames;
+
+    public GameLoop(Runnable updateTask, Runnable renderTask, int targetFps) {
+        this.updateTask = updateTask;
+        this.renderTask = renderTask;
+        setTargetFps(targetFps);
+    }
+
+    public synchronized void start(String threadName) {
+        if (loopThread != null) return;
+        Thread thread = new Thread(this, threadName);
+        thread.setDaemon(true); // Don't keep the JVM alive after the window closes
+        loopThread = thread;
+        thread.start();
+    }
+
+    // Stops the loop and waits (up to a second) for its thread to leave it
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            thread = loopThread;
+            loopThread = null;
+        }
+        if (thread == null || thread == Thread.currentThread()) return;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(STOP_JOIN_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isRunning() {
+        return loopThread != null;
+    }
+
+    // Runs the loop on the calling thread until stop()
+    public void runOnCurrentThread() {
+        synchronized (this) {
+            if (loopThread != null) throw new IllegalStateException("Game loop is already running on " + loopThread.getName());
+            loopThread = Thread.currentThread();
+        }
+        run();
+    }
+
+    @Override
+    public void run() {
+        Thread self = Thread.currentThread();
+        long previous = System.nanoTime();
+        long nextFrame = previous;
+        long accumulator = 0;
+        resetWindow(previous);
+
+        while (loopThread == self) {
+            long step = 1_000_000_000L / targetFps; // Re-read so FPS changes apply on the next frame
+            long frameStart = System.nanoTime();
+            accumulator += frameStart - previous;
+            long frameNanos = frameStart - previous;
+            previous = frameStart;
+
+            int updates = 0;
+            try {
+                int maxUpdates = maxUpdatesPerFrame;
+                while (accumulator >= step && updates < maxUpdates) {
+                    updateTask.run();
+                    accumulator -= step;
+                    updates++;
+                }
+                if (accumulator >= step) { // Still behind after catching up: drop the backlog
+                    droppedUpdates += accumulator / step;
+                    accumulator %= step;
+                }
+
+                renderTask.run();
+            } catch (RuntimeException e) {
+                // One bad frame must not kill the loop (the view would freeze for good); log and go on
+                accumulator %= step;
+                failedFrames++;
+                if (!failureLoggedInWindow) {
+                    failureLoggedInWindow = true; // Once per stats window, not 60 times a second
+                    GameConsole.errorln("Game loop: frame failed (" + failedFrames + " so far): " + e);
+                }
+            }
+            long workEnd = System.nanoTime();
+            recordFrame(frameNanos, workEnd - frameStart, updates, workEnd);
+
+            nextFrame += step;
+            long sleep = nextFrame - System.nanoTime();
+            if (sleep < -step) {
+                nextFrame = System.nanoTime(); // Way behind: re-sync instead of rendering a burst of frames
+            }
+            while (sleep > 0 && loopThread == self) {
+                LockSupport.parkNanos(this, sleep); // May wake early, so re-check the deadline
+                sleep = nextFrame - System.nanoTime();
+            }
+        }
+    }
+
+    private void recordFrame(long frameNanos, long workNanos, int updates, long now) {
+        windowFrames++;
+        windowUpdates += updates;
+        windowFrameNanos += frameNanos;
+        windowWorkNanos += workNanos;
+        windowMaxFrameNanos = Math.max(windowMaxFrameNanos, frameNanos);
+        totalFrames++;
+
+        long elapsed = now - windowStart;
+        if (elapsed >= STATS_WINDOW_NANOS) {
+            double seconds = elapsed / 1_000_000_000.0;
+            stats = new FrameStats(windowFrames / seconds, windowUpdates / seconds,
+                    windowFrameNanos / 1_000_000.0 / windowFrames, windowMaxFrameNanos / 1_000_000.0,
+                    windowWorkNanos / 1_000_000.0 / windowFrames, droppedUpdates, totalFrames);
+            resetWindow(now);
+        }
+    }
+
+    private void resetWindow(long now) {
+        windowStart = now;
+        windowFrames = 0;
+        windowUpdates = 0;
+        windowFrameNanos = 0;
+        windowWorkNanos = 0;
+        windowMaxFrameNanos = 0;
+        failureLoggedInWindow = false;
+    }
+
+    public FrameStats getFrameStats() {
+        return stats;
+    }
+
+    public int getTargetFps() {
+        return targetFps;
+    }
+
+    public void setTargetFps(int targetFps) {
+        if (targetFps <= 0) throw new IllegalArgumentException("Target FPS must be positive: " + targetFps);
+        this.targetFps = targetFps;
+    }
+
+    public int getMaxUpdatesPerFrame() {
+        return maxUpdatesPerFrame;
+    }
+
+    public void setMaxUpdatesPerFrame(int maxUpdatesPerFrame) {
+        this.maxUpdatesPerFrame = Math.max(1, maxUpdatesPerFrame);
+    }
+}
@@ -6,9 +6,9 @@ import com.OOP.model.core.World;
 
 import javax.swing.JFrame;
 import java.awt.BorderLayout;
+import java.awt.Dimension;
 import java.io.OutputStream;
 import java.io.PrintStream;
-import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
 import javax.swing.SwingUtilities;
 
@@ -16,7 +16,8 @@ import javax.swing.SwingUtilities;
 public class GameWindow extends JFrame {
 
     private RenderPanel renderPanel;
-    private JTextArea messageArea; // To display text output from game logic
+    private GameLogPanel messageLog; // To display text output from game logic
+    private OutputAccumulator messages;
     private MainGameLogicController gameLogicController;
     private World world;
     private Player player;
@@ -27,7 +28,7 @@ public class GameWindow extends JFrame {
         world.setupWorld();
         player = world.getPlayer();
 
-        // Setup MainGameLogicController to output to our JTextArea
+        // Setup MainGameLogicController to output to our message log
         gameLogicController = new MainGameLogicController(world, player,
                 this::appendMessage, // Consumer<String> for output
                 this::updatePlayerStatus // Runnable for status (can be empty for now)
@@ -40,12 +41,10 @@ public class GameWindow extends JFrame {
         renderPanel = new RenderPanel(gameLogicController);
         add(renderPanel, BorderLayout.CENTER);
 
-        messageArea = new JTextArea(5, 50); // 5 rows, 50 columns
-        messageArea.setEditable(false);
-        messageArea.setLineWrap(true);
-        messageArea.setWrapStyleWord(true);
-        JScrollPane scrollPane = new JScrollPane(messageArea);
-        add(scrollPane, BorderLayout.SOUTH);
+        messageLog = new GameLogPanel("Messages"); // Bounded, only paints visible rows
+        messageLog.setPreferredSize(new Dimension(RenderPanel.SCREEN_WIDTH, 160));
+        messages = new OutputAccumulator(messageLog::appendText, OutputAccumulator.DEFAULT_MAX_FLUSHES_PER_SECOND);
+        add(messageLog, BorderLayout.SOUTH);
 
         KeyInputHandler keyHandler = new KeyInputHandler(gameLogicController, renderPanel);
         renderPanel.addKeyListener(keyHandler); // Add key listener to the panel that has focus
@@ -60,10 +59,7 @@ public class GameWindow extends JFrame {
     }
 
     private void appendMessage(String message) {
-        SwingUtilities.invokeLater(() -> {
-            messageArea.append(message + "\n");
-            messageArea.setCaretPosition(messageArea.getDocument().getLength()); // Scroll to bottom
-        });
+        messages.append(message + "\n"); // Batched onto the EDT, log scrolls to the bottom itself
     }
 
     private void updatePlayerStatus() {
@@ -0,0 +1,135 @@
+package com.OOP.gui;
+
+/**
+ * Fixed-capacity ring buffer of log lines. When full, the oldest line is dropped for each new one,
+ * so a long session keeps a bounded amount of text no matter how much the game prints.
+ * <p>
+ * Every line gets a sequence number (0, 1, 2, ... over the whole session); a line is still in the
+ * buffer while {@code getFirstSequence() <= seq < getNextSequence()}. Text arrives in arbitrary chunks
+ * (redirected streams write partial lines), so the last line stays "open" until its newline arrives.
+ * Not thread-safe: used on the EDT only.
+ */
+public class LogBuffer {
+
+    public enum Category {
+        COMMAND, COMBAT, SYSTEM, NARRATION;
+
+        // Rough classification of a line by what the game prints for each kind of message
+        public static Category classify(String line) {
+            String trimmed = line.stripLeading();
+            if (trimmed.startsWith(">")) return COMMAND;
+            String lower = trimmed.toLowerCase();
+            if (lower.startsWith("error") || lower.startsWith("warning") || lower.contains("exception")) return SYSTEM;
+            if (lower.contains(" attacks ") || lower.contains(" damage") || lower.contains("defeated")
+                    || lower.contains("attacking") || lower.contains("game over")) return COMBAT;
+            return NARRATION;
+        }
+    }
+
+    /** Told about every change, so views can keep their own index of visible lines in step. */
+    public interface Listener {
+        void lineAdded(long sequence);
+
+        void lineChanged(long sequence); // The open last line got more text (and maybe a new category)
+
+        void lineEvicted(long sequence);
+    }
+
+    private final String[] lines;
+    private final Category[] categories;
+    private long firstSequence;
+    private long nextSequence;
+    private boolean lastLineOpen;
+    private Listener listener;
+
+    public LogBuffer(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        this.lines = new String[capacity];
+        this.categories = new Category[capacity];
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    // Appends text that may contain several lines, or continue the last one
+    public void appendText(String text) {
+        int start = 0;
+        while (true) {
+            int newline = text.indexOf('\n', start);
+            String segment = text.substring(start, newline == -1 ? text.length() : newline);
+            if (lastLineOpen) {
+                if (!segment.isEmpty()) extendLastLine(segment);
+            } else if (newline != -1 || !segment.isEmpty()) {
+                addLine(segment);
+            }
+            if (newline == -1) {
+                lastLineOpen = lastLineOpen || !segment.isEmpty(); // No newline yet: more may follow
+                return;
+            }
+            lastLineOpen = false;
+            start = newline + 1;
+        }
+    }
+
+    private void extendLastLine(String segment) {
+        long last = nextSequence - 1;
+        int slot = slotOf(last);
+        lines[slot] = lines[slot] + segment;
+        categories[slot] = Category.classify(lines[slot]);
+        if (listener != null) listener.lineChanged(last);
+    }
+
+    private void addLine(String line) {
+        if (nextSequence - firstSequence == lines.length) {
+            long evicted = firstSequence++;
+            lines[slotOf(evicted)] = null;
+            if (listener != null) listener.lineEvicted(evicted);
+        }
+        long sequence = nextSequence++;
+        lines[slotOf(sequence)] = line;
+        categories[slotOf(sequence)] = Category.classify(line);
+        if (listener != null) listener.lineAdded(sequence);
+    }
+
+    public void clear() {
+        while (firstSequence < nextSequence) {
+            long evicted = firstSequence++;
+            lines[slotOf(evicted)] = null;
+            if (listener != null) listener.lineEvicted(evicted);
+        }
+        lastLineOpen = false;
+    }
+
+    private int slotOf(long sequence) {
+        return (int) (sequence % lines.length);
+    }
+
+    public boolean contains(long sequence) {
+        return sequence >= firstSequence && sequence < nextSequence;
+    }
+
+    public String getLine(long sequence) {
+        return contains(sequence) ? lines[slotOf(sequence)] : null;
+    }
+
+    public Category getCategory(long sequence) {
+        return contains(sequence) ? categories[slotOf(sequence)] : null;
+    }
+
+    public long getFirstSequence() {
+        return firstSequence;
+    }
+
+    public long getNextSequence() {
+        return nextSequence;
+    }
+
+    public int size() {
+        return (int) (nextSequence - firstSequence);
+    }
+
+    public int getCapacity() {
+        return lines.length;
+    }
+}
@@ -0,0 +1,70 @@
+package com.OOP.gui;
+
+import javax.swing.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Collects text written from any thread and hands it to a sink (the game log) in batches: everything
+ * written between two flushes goes in with a single call on the EDT. Flushes are limited to
+ * {@code maxFlushesPerSecond}, so a burst of thousands of writes (a long fight) costs a handful of EDT
+ * tasks instead of one per write. Writers never block or take a lock.
+ */
+public class OutputAccumulator {
+    public static final int DEFAULT_MAX_FLUSHES_PER_SECOND = 30;
+
+    private final Consumer<String> sink; // Called on the EDT
+    private final ConcurrentLinkedQueue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Timer flushTimer; // Single-shot, fires on the EDT
+    private final long minFlushIntervalNanos;
+    private volatile long lastFlushNanos;
+    private final AtomicLong writes = new AtomicLong();
+    private long flushes; // EDT only
+
+    public OutputAccumulator(Consumer<String> sink, int maxFlushesPerSecond) {
+        this.sink = sink;
+        this.minFlushIntervalNanos = 1_000_000_000L / Math.max(1, maxFlushesPerSecond);
+        this.lastFlushNanos = System.nanoTime() - minFlushIntervalNanos;
+        this.flushTimer = new Timer(0, e -> flush());
+        this.flushTimer.setRepeats(false);
+        this.flushTimer.setCoalesce(false); // A restart while the previous firing is still on the EDT must not be dropped
+    }
+
+    // Safe to call from any thread
+    public void append(String text) {
+        if (text == null || text.isEmpty()) return;
+        pending.add(text);
+        writes.incrementAndGet();
+        if (flushScheduled.compareAndSet(false, true)) {
+            // First write since the last flush: flush now, or as soon as the rate cap allows
+            long wait = lastFlushNanos + minFlushIntervalNanos - System.nanoTime();
+            flushTimer.setInitialDelay((int) Math.max(0, wait / 1_000_000));
+            flushTimer.restart();
+        }
+    }
+
+    // Appends everything queued so far; runs on the EDT (also usable directly there, e.g. before reading the text)
+    public void flush() {
+        flushScheduled.set(false); // Writes from now on schedule the next flush
+        lastFlushNanos = System.nanoTime();
+        StringBuilder batch = new StringBuilder();
+        String text;
+        while ((text = pending.poll()) != null) {
+            batch.append(text);
+        }
+        if (batch.length() == 0) return;
+        flushes++;
+        sink.accept(batch.toString());
+    }
+
+    public long getWrites() {
+        return writes.get();
+    }
+
+    public long getFlushes() {
+        return flushes;
+    }
+}
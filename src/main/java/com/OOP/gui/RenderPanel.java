@@ -21,7 +21,7 @@ public class RenderPanel extends JPanel implements Runnable {
     public static final int SCREEN_HEIGHT = 600;
     public static final int TILE_SIZE = 48; // For scaling sprites
 
-    private Thread gameThread;
+    private GameLoop gameLoop; // Paced fixed-timestep loop: update() at the target rate, then repaint()
     private MainGameLogicController gameLogic; // Reference to your game's logic
 
     // Images for entities (can be expanded to use sprite sheets for animation)
@@ -48,21 +48,18 @@ public class RenderPanel extends JPanel implements Runnable {
     }
 
     private void loadResources() {
-        // Load player sprite (example)
-        playerSprite = ImageLoader.loadImage("/player/boy_down_1.png");
-        if (playerSprite != null) {
-            playerSprite = ImageLoader.scaleImage(playerSprite, TILE_SIZE, TILE_SIZE);
-        }
+        // Sprites come from ImageLoader's cache, already scaled to TILE_SIZE
+        playerSprite = ImageLoader.loadSprite("/player/boy_down_1.png", TILE_SIZE, TILE_SIZE);
 
         // Pre-load some common enemy/item sprites (expand this)
-        BufferedImage slimeSprite = ImageLoader.loadImage("/monster/greenslime_down_1.png");
-        if (slimeSprite != null) enemySprites.put("Grumpy Goblin", ImageLoader.scaleImage(slimeSprite, TILE_SIZE, TILE_SIZE)); // Map by name for now
+        BufferedImage slimeSprite = ImageLoader.loadSprite("/monster/greenslime_down_1.png", TILE_SIZE, TILE_SIZE);
+        if (slimeSprite != null) enemySprites.put("Grumpy Goblin", slimeSprite); // Map by name for now
 
-        BufferedImage keySprite = ImageLoader.loadImage("/object/key.png");
-        if (keySprite != null) itemSprites.put("Cell Key", ImageLoader.scaleImage(keySprite, TILE_SIZE, TILE_SIZE));
+        BufferedImage keySprite = ImageLoader.loadSprite("/object/key.png", TILE_SIZE, TILE_SIZE);
+        if (keySprite != null) itemSprites.put("Cell Key", keySprite);
 
-        BufferedImage potionSprite = ImageLoader.loadImage("/object/potion_red.png");
-        if (potionSprite != null) itemSprites.put("Health Potion", ImageLoader.scaleImage(potionSprite, TILE_SIZE, TILE_SIZE));
+        BufferedImage potionSprite = ImageLoader.loadSprite("/object/potion_red.png", TILE_SIZE, TILE_SIZE);
+        if (potionSprite != null) itemSprites.put("Health Potion", potionSprite);
 
         // Example: Load a default room background (replace with dynamic loading)
         currentRoomBackground = ImageLoader.loadImage("/tiles/floor01.png"); // A generic floor tile
@@ -70,29 +67,35 @@ public class RenderPanel extends JPanel implements Runnable {
         // currentRoomBackground = ImageLoader.loadImage("/map_backgrounds/cell.png");
     }
 
+    // Target FPS can be set with -Dgame.fps=30 (e.g. on slow machines)
+    private GameLoop getOrCreateGameLoop() {
+        if (gameLoop == null) {
+            gameLoop = new GameLoop(this::update, this::repaint, Integer.getInteger("game.fps", GameLoop.DEFAULT_TARGET_FPS));
+        }
+        return gameLoop;
+    }
+
     public void startGameThread() {
-        gameThread = new Thread(this);
-        gameThread.start();
+        getOrCreateGameLoop().start("render-loop");
+    }
+
+    public void stopGameThread() {
+        if (gameLoop != null) gameLoop.stop();
+    }
+
+    // Frame timing for monitoring (null before the loop has started)
+    public GameLoop.FrameStats getFrameStats() {
+        return gameLoop != null ? gameLoop.getFrameStats() : null;
+    }
+
+    public GameLoop getGameLoop() {
+        return gameLoop;
     }
 
     @Override
     public void run() {
-        double drawInterval = 1000000000.0 / 60.0; // 60 FPS
-        double delta = 0;
-        long lastTime = System.nanoTime();
-        long currentTime;
-
-        while (gameThread != null) {
-            currentTime = System.nanoTime();
-            delta += (currentTime - lastTime) / drawInterval;
-            lastTime = currentTime;
-
-            if (delta >= 1) {
-                update(); // Update game state (minimal for now, mostly for animations if any)
-                repaint();
-                delta--;
-            }
-        }
+        // Runs the loop on the calling thread; startGameThread() is the usual way in
+        getOrCreateGameLoop().runOnCurrentThread();
     }
 
     public void update() {
@@ -187,6 +190,7 @@ public class RenderPanel extends JPanel implements Runnable {
         if (room == null) return;
 
         // Example: Change background based on room name (very basic)
+        // These are cache hits after the first visit, so room changes don't decode PNGs again
         String roomName = room.getName().toLowerCase();
         if (roomName.contains("cell")) {
             currentRoomBackground = ImageLoader.loadImage("/tiles/wall.png"); // Example for cell
@@ -197,7 +201,7 @@ public class RenderPanel extends JPanel implements Runnable {
         }
         if (currentRoomBackground != null) {
             // Optional: scale if it's a single image meant to be a tile
-            // currentRoomBackground = ImageLoader.scaleImage(currentRoomBackground, TILE_SIZE, TILE_SIZE);
+            // currentRoomBackground = ImageLoader.loadSprite(path, TILE_SIZE, TILE_SIZE);
         }
         repaint();
     }
@@ -0,0 +1,7 @@
+package com.OOP.interfaces;
+
+import com.OOP.command.CommandLine;
+
+public interface CommandHandler {
+    void handle(CommandLine command); // command.token(0) is the verb; arguments are read from the same object
+}
@@ -1,5 +1,7 @@
 package com.OOP.model.core; // Or com.OOP.model.core
 
+import com.OOP.events.EventBus;
+import com.OOP.events.GameEvent;
 import com.OOP.interfaces.Activatable;
 import com.OOP.model.entities.Entity;
 import com.OOP.model.entities.LivingBeing;
@@ -7,6 +9,7 @@ import com.OOP.model.interactables.Lock;
 import com.OOP.model.items.Crowbar;
 import com.OOP.model.items.Item;
 import com.OOP.model.items.Key;
+import com.OOP.utils.GameConsole;
 
 import java.awt.Point; // << IMPORT THIS
 
@@ -19,6 +22,9 @@ public class Door extends Entity implements Activatable {
     private Point tileCoordinates; // << NEW FIELD: Stores the door's position on the map in room1's context (or a defined context)
     private Point visualTileInRoom1;
     private Point visualTileInRoom2;
+    private final String room1Id;
+    private final String room2Id;
+    private World pagedWorld; // Set once a paged world may evict our rooms; rooms are then looked up by id
 
     // Original Constructor (can keep for compatibility or remove if all doors will have coords)
     public Door(String id, String name,Point doorTileInRoom1 ,String description, Room room1, Room room2, Lock lock,
@@ -27,6 +33,8 @@ public class Door extends Entity implements Activatable {
         super(id, name, description);
         this.room1 = room1;
         this.room2 = room2;
+        this.room1Id = room1 != null ? room1.getId() : null;
+        this.room2Id = room2 != null ? room2.getId() : null;
         this.lock = lock;
         this.tileCoordinates = doorTileInRoom1; // Position of the door tile itself in room1's map
         this.visualTileInRoom1 = visualTileInRoom1;
@@ -41,23 +49,50 @@ public class Door extends Entity implements Activatable {
         super(id, name, description);
         this.room1 = room1;
         this.room2 = room2;
+        this.room1Id = room1 != null ? room1.getId() : null;
+        this.room2Id = room2 != null ? room2.getId() : null;
         this.lock = lock;
         this.tileCoordinates = tileCoordinates; // << ASSIGN THE COORDINATES
     }
 
     public Point getVisualTileForRoom(Room room) {
-        if (room == room1) return visualTileInRoom1;
-        if (room == room2) return visualTileInRoom2;
+        if (isRoom1(room)) return visualTileInRoom1;
+        if (isRoom2(room)) return visualTileInRoom2;
         return null;
     }
 
 
     public Room getOppositeRoom(Room currentRoom) {
-        if (currentRoom == room1) return room2;
-        if (currentRoom == room2) return room1;
+        if (isRoom1(currentRoom)) return getRoom2();
+        if (isRoom2(currentRoom)) return getRoom1();
         return null;
     }
 
+    // In a paged world these may load the room from disk
+    public Room getRoom1() { return pagedWorld != null ? pagedWorld.getRoom(room1Id) : room1; }
+    public Room getRoom2() { return pagedWorld != null ? pagedWorld.getRoom(room2Id) : room2; }
+    public String getRoom1Id() { return room1Id; }
+    public String getRoom2Id() { return room2Id; }
+    public Lock getLock() { return lock; }
+
+    // A paged room can be evicted and reloaded as a new object, so rooms are compared by id
+    private boolean isRoom1(Room room) {
+        if (room == null) return false;
+        return pagedWorld != null ? room.getId().equals(room1Id) : room == room1;
+    }
+
+    private boolean isRoom2(Room room) {
+        if (room == null) return false;
+        return pagedWorld != null ? room.getId().equals(room2Id) : room == room2;
+    }
+
+    // Called by a paged World before either room can be evicted: drop the direct references
+    void resolveRoomsThrough(World world) {
+        this.pagedWorld = world;
+        this.room1 = null;
+        this.room2 = null;
+    }
+
     public Point getTileCoordinates() { // << NEW GETTER
         return tileCoordinates;
     }
@@ -76,14 +111,14 @@ public class Door extends Entity implements Activatable {
     @Override
     public boolean activate(LivingBeing activator, String itemIdToUseIdentifier) {
         if (lock == null) {
-            System.out.println("The " + getName() + " is already unlocked.");
+            GameConsole.println("The " + getName() + " is already unlocked.");
             // Potentially update the tile map representation here if this door changes a 'D' to a '.'
             // This logic is better handled by the GamePanel when it re-renders and checks door state.
             return true;
         }
 
         if (!lock.isLocked()) {
-            System.out.println("The " + getName() + " is already unlocked.");
+            GameConsole.println("The " + getName() + " is already unlocked.");
             return true;
         }
 
@@ -94,48 +129,58 @@ public class Door extends Entity implements Activatable {
                         .findFirst().orElse(null);
                 if (crowbarInInventory != null) {
                     if (lock.tryUnlockWithCrowbar()) {
-                        System.out.println("You pried open the " + getName() + " with the crowbar!");
+                        GameConsole.println("You pried open the " + getName() + " with the crowbar!");
                         // GamePanel will visually update the door on next repaint
+                        publishUnlocked(activator);
                         return true;
                     } else {
-                        System.out.println("The crowbar is ineffective against this lock.");
+                        GameConsole.println("The crowbar is ineffective against this lock.");
                         return false;
                     }
                 } else {
-                    System.out.println("You don't have a crowbar to use.");
+                    GameConsole.println("You don't have a crowbar to use.");
                     return false;
                 }
             } else {
                 Item keyItem = activator.getItemByIdFromInventory(itemIdToUseIdentifier);
                 if (keyItem instanceof Key) {
                     if (lock.tryUnlock(keyItem)) {
-                        System.out.println("You unlocked the " + getName() + " with the " + keyItem.getName() + ".");
+                        GameConsole.println("You unlocked the " + getName() + " with the " + keyItem.getName() + ".");
                         // GamePanel will visually update the door on next repaint
+                        publishUnlocked(activator);
                         return true;
                     } else {
-                        System.out.println("The " + keyItem.getName() + " doesn't fit this lock.");
+                        GameConsole.println("The " + keyItem.getName() + " doesn't fit this lock.");
                         return false;
                     }
                 } else {
-                    System.out.println("You can't unlock the " + getName() + " with that item or the item is not a key.");
+                    GameConsole.println("You can't unlock the " + getName() + " with that item or the item is not a key.");
                     return false;
                 }
             }
         } else {
-            System.out.println("The " + getName() + " is locked. You might need a key or a tool.");
+            GameConsole.println("The " + getName() + " is locked. You might need a key or a tool.");
             return false;
         }
     }
 
+    // Both rooms belong to the same world, so room1's bus is the world's bus
+    private void publishUnlocked(LivingBeing activator) {
+        EventBus bus = pagedWorld != null ? pagedWorld.getEventBus() : room1 != null ? room1.getEventBus() : null;
+        if (bus != null && bus.hasSubscribers(GameEvent.DoorUnlocked.class)) {
+            bus.publish(new GameEvent.DoorUnlocked(this, activator));
+        }
+    }
+
     @Override
     public String getDescription() {
         return super.getDescription() + (isLocked() ? " (Locked)" : " (Unlocked)");
     }
 
     public Point getEntryPointForRoom(Room targetRoom) {
-        if (targetRoom == room2) {
+        if (isRoom2(targetRoom)) {
             return entryPointToRoom2;
-        } else if (targetRoom == room1) {
+        } else if (isRoom1(targetRoom)) {
             return entryPointToRoom1;
         }
         return null; // Should not happen
@@ -0,0 +1,69 @@
+package com.OOP.model.core;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Set of packed tile indices with O(1) add, remove, contains and uniform random sample.
+ * Classic sparse set: {@code dense} holds the members in [0, size), {@code position}
+ * maps a tile index back to its slot in {@code dense} (or -1 if absent).
+ * Room uses it to keep its free floor tiles live instead of rebuilding a list per placement.
+ */
+public class FreeTileSet {
+    private final int[] dense;
+    private final int[] position;
+    private int size;
+
+    public FreeTileSet(int tileCount) {
+        this.dense = new int[tileCount];
+        this.position = new int[tileCount];
+        Arrays.fill(position, -1);
+    }
+
+    public boolean add(int tileIndex) {
+        if (position[tileIndex] != -1) return false;
+        dense[size] = tileIndex;
+        position[tileIndex] = size;
+        size++;
+        return true;
+    }
+
+    public boolean remove(int tileIndex) {
+        int slot = position[tileIndex];
+        if (slot == -1) return false;
+        // Move the last member into the hole
+        int last = dense[--size];
+        dense[slot] = last;
+        position[last] = slot;
+        position[tileIndex] = -1;
+        return true;
+    }
+
+    public boolean contains(int tileIndex) {
+        return position[tileIndex] != -1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Random member, or -1 if empty
+    public int sample(Random random) {
+        if (size == 0) return -1;
+        return dense[random.nextInt(size)];
+    }
+
+    // Random member other than excludedIndex, or -1 if there is none
+    public int sampleExcluding(Random random, int excludedIndex) {
+        int excludedSlot = excludedIndex >= 0 && excludedIndex < position.length ? position[excludedIndex] : -1;
+        if (excludedSlot == -1) return sample(random);
+        if (size == 1) return -1;
+        // Draw from the other size - 1 slots: the excluded slot stands in for the last one
+        int slot = random.nextInt(size - 1);
+        return dense[slot == excludedSlot ? size - 1 : slot];
+    }
+}
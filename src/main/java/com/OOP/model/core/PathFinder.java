@@ -0,0 +1,150 @@
+package com.OOP.model.core;
+
+import java.util.Arrays;
+
+/**
+ * A* over a room's {@link TileGrid} with 4-way unit-cost moves and the Manhattan heuristic.
+ * Walls block, and so do door tiles whose {@link Door} is locked (or missing); unlocked door
+ * tiles can be walked onto, e.g. as the last step before going through.
+ * <p>
+ * A search allocates nothing per node. Each thread keeps one set of int arrays sized to the
+ * largest room it has searched: g-scores, parents, and "stamp" arrays that mark which entries
+ * belong to the current search, so nothing is cleared between searches. The open set is a
+ * binary heap of longs (f-score in the high half, tile index in the low half) with lazy
+ * deletion instead of decrease-key. Only the returned path is allocated.
+ */
+public final class PathFinder {
+    private static final ThreadLocal<SearchBuffers> BUFFERS = ThreadLocal.withInitial(SearchBuffers::new);
+
+    private PathFinder() {
+    }
+
+    /**
+     * Shortest path from (fromX, fromY) to (toX, toY) as packed tile indexes
+     * ({@code y * width + x}), excluding the start and including the goal. Returns an empty array
+     * if already there and null if the goal is blocked or unreachable.
+     */
+    public static int[] findPath(Room room, int fromX, int fromY, int toX, int toY) {
+        TileGrid grid = room.getTileGrid();
+        if (!grid.inBounds(fromX, fromY) || !grid.inBounds(toX, toY)) return null;
+        int start = grid.indexOf(fromX, fromY);
+        int goal = grid.indexOf(toX, toY);
+        if (start == goal) return new int[0];
+        if (!isPassable(room, grid, goal)) return null;
+        return BUFFERS.get().search(room, grid, start, goal, toX, toY);
+    }
+
+    // Walkable floor, or a door tile whose door is currently unlocked
+    static boolean isPassable(Room room, TileGrid grid, int index) {
+        if (grid.isWalkableIndex(index)) return true;
+        if (!TileGrid.isDoorType(grid.getTileAt(index))) return false;
+        Door door = room.getDoorAt(grid.xOf(index), grid.yOf(index));
+        return door != null && !door.isLocked();
+    }
+
+    private static final class SearchBuffers {
+        private int[] gScore = new int[0];
+        private int[] parent = new int[0];
+        private int[] openStamp = new int[0];   // == search: gScore/parent are valid for this search
+        private int[] closedStamp = new int[0]; // == search: expanded
+        private int search;
+        private long[] heap = new long[64];
+        private int heapSize;
+
+        int[] search(Room room, TileGrid grid, int start, int goal, int goalX, int goalY) {
+            ensureCapacity(grid.size());
+            if (++search == 0) { // Stamp wrapped around: old stamps could collide, so reset once
+                Arrays.fill(openStamp, 0);
+                Arrays.fill(closedStamp, 0);
+                search = 1;
+            }
+            int width = grid.getWidth();
+            int height = grid.getHeight();
+            heapSize = 0;
+            gScore[start] = 0;
+            parent[start] = -1;
+            openStamp[start] = search;
+            push(heuristic(start, width, goalX, goalY), start);
+
+            while (heapSize > 0) {
+                long top = pop();
+                int node = (int) top;
+                if (closedStamp[node] == search) continue; // Stale entry left by a better push
+                if (node == goal) return buildPath(start, goal);
+                closedStamp[node] = search;
+
+                int x = node % width;
+                int y = node / width;
+                int nextG = gScore[node] + 1;
+                if (x > 0) relax(room, grid, node, node - 1, nextG, width, goalX, goalY);
+                if (x < width - 1) relax(room, grid, node, node + 1, nextG, width, goalX, goalY);
+                if (y > 0) relax(room, grid, node, node - width, nextG, width, goalX, goalY);
+                if (y < height - 1) relax(room, grid, node, node + width, nextG, width, goalX, goalY);
+            }
+            return null;
+        }
+
+        private void relax(Room room, TileGrid grid, int from, int neighbour, int g, int width, int goalX, int goalY) {
+            if (closedStamp[neighbour] == search) return;
+            if (openStamp[neighbour] == search && gScore[neighbour] <= g) return;
+            if (!isPassable(room, grid, neighbour)) return;
+            openStamp[neighbour] = search;
+            gScore[neighbour] = g;
+            parent[neighbour] = from;
+            push(g + heuristic(neighbour, width, goalX, goalY), neighbour);
+        }
+
+        private static int heuristic(int index, int width, int goalX, int goalY) {
+            return Math.abs(index % width - goalX) + Math.abs(index / width - goalY);
+        }
+
+        private int[] buildPath(int start, int goal) {
+            int length = gScore[goal];
+            int[] path = new int[length];
+            for (int node = goal, i = length - 1; node != start; node = parent[node], i--) {
+                path[i] = node;
+            }
+            return path;
+        }
+
+        private void ensureCapacity(int tiles) {
+            if (gScore.length >= tiles) return;
+            gScore = new int[tiles];
+            parent = new int[tiles];
+            openStamp = new int[tiles];
+            closedStamp = new int[tiles];
+            search = 0;
+        }
+
+        // --- Binary min-heap of (f << 32 | node) ---
+
+        private void push(int f, int node) {
+            if (heapSize == heap.length) heap = Arrays.copyOf(heap, heapSize * 2);
+            long entry = ((long) f << 32) | node;
+            int i = heapSize++;
+            while (i > 0) {
+                int up = (i - 1) >>> 1;
+                if (heap[up] <= entry) break;
+                heap[i] = heap[up];
+                i = up;
+            }
+            heap[i] = entry;
+        }
+
+        private long pop() {
+            long top = heap[0];
+            long last = heap[--heapSize];
+            int i = 0;
+            int half = heapSize >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < heapSize && heap[child + 1] < heap[child]) child++;
+                if (last <= heap[child]) break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+    }
+}
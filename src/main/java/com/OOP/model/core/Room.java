@@ -1,63 +1,143 @@
 package com.OOP.model.core;
 
+import com.OOP.events.EventBus;
+import com.OOP.events.GameEvent;
 import com.OOP.model.entities.Entity;
 import com.OOP.model.entities.LivingBeing;
 import com.OOP.model.entities.Player;
 import com.OOP.model.items.Item;
 import com.OOP.model.interactables.Chest;
+import com.OOP.utils.GameConsole;
+import com.OOP.utils.NameIndex;
 
 import java.awt.*;
 import java.util.*;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 public class Room extends Entity {
     private Map<String, Door> exits; // Direction -> Door
     private List<Item> itemsOnFloor;
     private List<LivingBeing> livingBeings;
-    private static final Random random = new Random();
+    private Random random = new Random(); // Replaced by the owning World's generator in World.addRoom
     private List<Chest> chests;
-    private String[] tileMapLayout; // Example: {"WWWWW", "WFPFW", "W###W", "WDFEW", "WWWWW"}
+    private TileGrid tileGrid; // Packed form of a layout like {"WWWWW", "WFPFW", "W###W", "WDFEW", "WWWWW"}
     // W=Wall, F=Floor, P=PlayerStart, D=Door, E=Enemy, C=Chest, K=Key
+    private Map<Integer, Door> doorsByTile; // Packed tile index -> Door drawn on that tile
+    // Spatial indexes (packed tile index -> occupants), kept in sync by add/remove/move below
+    private TileOccupancy<Item> itemsByTile;
+    private TileOccupancy<Chest> chestsByTile;
+    private TileOccupancy<LivingBeing> beingsByTile;
+    // Name indexes for text commands, kept in sync with the lists above
+    private NameIndex<Item> floorItemNames;
+    private NameIndex<Chest> chestNames;
+    private NameIndex<LivingBeing> livingBeingNames;
+    private FreeTileSet freeTiles; // Floor tiles with no occupant, for O(1) random placement
+    private EventBus events = new EventBus(); // Replaced by the owning World's bus in World.addRoom
+    private long lastSimulatedTick; // Last world tick this room's AI ran for (see WorldTickScheduler)
     public static final int TILE_SIZE = 48; // Or whatever your tile PNGs are sized at
     // isLocked seems to be a property of Door/Chest, not Room itself from diagram
 
     public Room(String id, String name, String description, String[] tileMapLayout) {
+        this(id, name, description, TileGrid.fromLayout(tileMapLayout));
+    }
+
+    // For rooms that already have a packed grid (e.g. loaded from a save file)
+    public Room(String id, String name, String description, TileGrid tileGrid) {
         super(id, name, description);
         this.exits = new HashMap<>();
         this.itemsOnFloor = new ArrayList<>();
         this.livingBeings = new ArrayList<>();
         this.chests = new ArrayList<>();
-        this.tileMapLayout = tileMapLayout; // New
+        this.tileGrid = tileGrid;
+        this.doorsByTile = new HashMap<>();
+        this.itemsByTile = new TileOccupancy<>();
+        this.chestsByTile = new TileOccupancy<>();
+        this.beingsByTile = new TileOccupancy<>();
+        this.floorItemNames = new NameIndex<>();
+        this.chestNames = new NameIndex<>();
+        this.livingBeingNames = new NameIndex<>();
+        this.freeTiles = new FreeTileSet(tileGrid.size());
+        BitSet floorMask = tileGrid.getFloorMask();
+        for (int index = floorMask.nextSetBit(0); index >= 0; index = floorMask.nextSetBit(index + 1)) {
+            freeTiles.add(index);
+        }
+    }
+
+    // Packed index for a tile, or -1 if it is off-map (e.g. unplaced entities at -1,-1)
+    private int tileKey(int tileX, int tileY) {
+        return tileGrid.inBounds(tileX, tileY) ? tileGrid.indexOf(tileX, tileY) : -1;
+    }
+
+    // Rooms share their world's generator so each world (game session) has its own random state
+    public EventBus getEventBus() {
+        return events;
+    }
+
+    public void setEventBus(EventBus events) {
+        this.events = events;
+    }
+
+    public void setRandom(Random random) {
+        this.random = random;
     }
 
-    public String[] getTileMapLayout() {
-        return tileMapLayout;
+    public long getLastSimulatedTick() {
+        return lastSimulatedTick;
+    }
+
+    public void setLastSimulatedTick(long tick) {
+        this.lastSimulatedTick = tick;
+    }
+
+    public TileGrid getTileGrid() {
+        return tileGrid;
     }
 
     public int getMapWidth() {
-        return tileMapLayout != null && tileMapLayout.length > 0 ? tileMapLayout[0].length() : 0;
+        return tileGrid.getWidth();
     }
 
     public int getMapHeight() {
-        return tileMapLayout != null ? tileMapLayout.length : 0;
+        return tileGrid.getHeight();
+    }
+
+    // Layout character at a tile, e.g. 'W', 'F', 'D'. Callers must stay in bounds.
+    public char getTileChar(int tileX, int tileY) {
+        return tileGrid.getTileChar(tileX, tileY);
     }
 
     // Method to get player starting position from map layout (optional, or pass to player)
     public Point getPlayerStartPosition() {
-        if (tileMapLayout == null) return new Point(1,1); // Default
-        for (int row = 0; row < tileMapLayout.length; row++) {
-            for (int col = 0; col < tileMapLayout[row].length(); col++) {
-                if (tileMapLayout[row].charAt(col) == 'P') {
-                    return new Point(col, row);
-                }
-            }
-        }
-        return new Point(1,1); // Fallback if 'P' not found
+        Point start = tileGrid.findFirst('P');
+        return start != null ? start : new Point(1,1); // Fallback if 'P' not found
     }
 
     public void addExit(String direction, Door door) {
         exits.put(direction.toLowerCase(), door);
+        // Index the door by the tile it occupies in this room so map lookups don't scan exits
+        Point doorTile = door.getVisualTileForRoom(this);
+        if (doorTile == null) doorTile = door.getTileCoordinates();
+        if (doorTile != null && tileGrid.inBounds(doorTile.x, doorTile.y)) {
+            doorsByTile.putIfAbsent(tileGrid.indexOf(doorTile.x, doorTile.y), door);
+        }
+    }
+
+    // Door whose tile is at (tileX, tileY) in this room, or null
+    public Door getDoorAt(int tileX, int tileY) {
+        if (!tileGrid.inBounds(tileX, tileY)) return null;
+        return doorsByTile.get(tileGrid.indexOf(tileX, tileY));
+    }
+
+    // Walls and door tiles are not walkable here; door passability depends on the lock (see getDoorAt)
+    public boolean isWalkable(int tileX, int tileY) {
+        return tileGrid.isWalkable(tileX, tileY);
+    }
+
+    // Shortest walk inside this room as packed tile indexes (see PathFinder), or null if there is none
+    public int[] findPath(int fromX, int fromY, int toX, int toY) {
+        return PathFinder.findPath(this, fromX, fromY, toX, toY);
     }
 
     public Door getExit(String direction) {
@@ -69,82 +149,84 @@ public class Room extends Entity {
     }
 
     public void addItem(Item item) {
-        Point randomFloorTile = findRandomWalkableFloorTile();
-        if (randomFloorTile != null) {
-            // Check if another item is already at this spot (optional, could allow stacking)
-            boolean spotOccupiedByItem = itemsOnFloor.stream()
-                    .anyMatch(i -> i.getTileX() == randomFloorTile.x && i.getTileY() == randomFloorTile.y);
-
-            if (!spotOccupiedByItem) {
-                item.setTileCoordinates(randomFloorTile.x, randomFloorTile.y);
-                itemsOnFloor.add(item);
-            } else {
-                // Handle collision: try again, or place nearby, or log warning
-                System.err.println("Warning: Could not find free spot for item " + item.getName() + " in " + getName() + ". Trying again (simple)...");
-                Point anotherSpot = findRandomWalkableFloorTile(randomFloorTile); // Try to find different spot
-                if (anotherSpot != null && !anotherSpot.equals(randomFloorTile)) {
-                    item.setTileCoordinates(anotherSpot.x, anotherSpot.y);
-                    itemsOnFloor.add(item);
-                } else {
-                    System.err.println("Failed to place item " + item.getName() + " randomly after retry.");
-                    // Fallback: could add to a default spot or not add at all
-                }
-            }
+        // Free tiles are floor tiles with no item, chest or living being on them
+        int freeTile = freeTiles.sample(random);
+        if (freeTile != -1) {
+            placeItem(item, tileGrid.xOf(freeTile), tileGrid.yOf(freeTile));
         } else {
-            System.err.println("Warning: Could not find any walkable floor tile to place item " + item.getName() + " in " + getName());
+            GameConsole.errorln("Warning: Could not find any free floor tile to place item " + item.getName() + " in " + getName());
             // Potentially add to player inventory directly or drop at a default (0,0) which is bad
         }
     }
 
-    // Helper to find a random walkable floor tile
+    // Puts an item on the floor at an exact tile (no free-spot check)
+    public void placeItem(Item item, int tileX, int tileY) {
+        item.setTileCoordinates(tileX, tileY);
+        itemsOnFloor.add(item);
+        floorItemNames.add(item);
+        int key = tileKey(tileX, tileY);
+        itemsByTile.add(key, item);
+        refreshFreeTile(key);
+        if (events.hasSubscribers(GameEvent.FloorItemsChanged.class)) {
+            events.publish(new GameEvent.FloorItemsChanged(this, tileX, tileY));
+        }
+    }
+
+    // Helper to find a random free floor tile ('F' or '.', nothing standing or lying on it)
     public Point findRandomWalkableFloorTile() {
         return findRandomWalkableFloorTile(null);
     }
     private Point findRandomWalkableFloorTile(Point excludeThisPoint) {
-        if (tileMapLayout == null) return null;
-        List<Point> floorTiles = new ArrayList<>();
-        for (int r = 0; r < getMapHeight(); r++) {
-            for (int c = 0; c < getMapWidth(); c++) {
-                char tileChar = tileMapLayout[r].charAt(c);
-                // Consider 'F' (Floor) and '.' (Open Door) as walkable for items
-                if (tileChar == 'F' || tileChar == '.') {
-                    Point currentPoint = new Point(c,r);
-                    if (excludeThisPoint == null || !excludeThisPoint.equals(currentPoint)) {
-                        // Also ensure no entity (player, NPC, chest) is at this exact spot for item placement clarity
-                        int finalC = c;
-                        int finalR = r;
-                        int finalC1 = c;
-                        int finalR1 = r;
-                        boolean entityAtSpot = livingBeings.stream().anyMatch(lb -> lb instanceof Player ? ((Player)lb).getTileX() == finalC1 && ((Player)lb).getTileY() == finalR1 : false) || // Crude check for player
-                                chests.stream().anyMatch(ch -> ch.getTileX() == finalC && ch.getTileY() == finalR); // Assuming Chest has tileX/Y
-
-                        if (!entityAtSpot) {
-                            floorTiles.add(currentPoint);
-                        }
-                    }
-                }
-            }
-        }
-        if (floorTiles.isEmpty()) return null;
-        return floorTiles.get(random.nextInt(floorTiles.size()));
+        int excluded = excludeThisPoint != null ? tileKey(excludeThisPoint.x, excludeThisPoint.y) : -1;
+        int freeTile = freeTiles.sampleExcluding(random, excluded);
+        if (freeTile == -1) return null;
+        return new Point(tileGrid.xOf(freeTile), tileGrid.yOf(freeTile));
     }
 
+    // Floor tile with no item, chest or living being on it
+    public boolean isFreeTile(int tileX, int tileY) {
+        int key = tileKey(tileX, tileY);
+        return key >= 0 && freeTiles.contains(key);
+    }
 
-    // Get item at specific tile coordinates
-    public Item getItemAt(int tileX, int tileY) {
-        for (Item item : itemsOnFloor) {
-            if (item.getTileX() == tileX && item.getTileY() == tileY) {
-                return item;
-            }
+    public int getFreeTileCount() {
+        return freeTiles.size();
+    }
+
+    // Re-evaluates one tile after something was added to, removed from or moved off it
+    private void refreshFreeTile(int key) {
+        if (key < 0 || !tileGrid.isFloorIndex(key)) return;
+        if (itemsByTile.isOccupied(key) || chestsByTile.isOccupied(key) || beingsByTile.isOccupied(key)) {
+            freeTiles.remove(key);
+        } else {
+            freeTiles.add(key);
         }
-        return null;
+    }
+
+    // Get item at specific tile coordinates (first one dropped there if several are stacked)
+    public Item getItemAt(int tileX, int tileY) {
+        return itemsByTile.first(tileKey(tileX, tileY));
+    }
+
+    public List<Item> getItemsAt(int tileX, int tileY) {
+        return itemsByTile.getAll(tileKey(tileX, tileY));
     }
 
     // Overload or change removeItem to remove a specific Item object
     public boolean removeItem(Item itemToRemove) {
         if (itemToRemove != null) {
+            int oldX = itemToRemove.getTileX(), oldY = itemToRemove.getTileY();
+            int key = tileKey(oldX, oldY);
+            boolean wasOnTile = itemsByTile.remove(key, itemToRemove);
+            refreshFreeTile(key);
+            if (wasOnTile && events.hasSubscribers(GameEvent.FloorItemsChanged.class)) {
+                events.publish(new GameEvent.FloorItemsChanged(this, oldX, oldY));
+            }
             itemToRemove.setTileCoordinates(-1,-1); // Mark as off-map
-            return itemsOnFloor.remove(itemToRemove);
+            if (itemsOnFloor.remove(itemToRemove)) {
+                floorItemNames.remove(itemToRemove);
+                return true;
+            }
         }
         return false;
     }
@@ -152,54 +234,81 @@ public class Room extends Entity {
     // Keep the old removeItem by name for compatibility with text commands if needed,
     // but it won't know the item's location for graphical removal unless updated.
     public Item removeItem(String itemName) { // This is now less useful for graphical take
-        Item itemToRemove = null;
-        for (Item item : itemsOnFloor) {
-            if (item.getName().equalsIgnoreCase(itemName)) {
-                itemToRemove = item;
-                break;
-            }
-        }
+        Item itemToRemove = floorItemNames.findExact(itemName);
         if (removeItem(itemToRemove)) { // Call the object-based remove
             return itemToRemove;
         }
         return null;
     }
 
+    // Item lying on the floor with exactly this name (case-insensitive), or null
+    public Item getItemOnFloorByName(String itemName) {
+        return floorItemNames.findExact(itemName);
+    }
+
+    // Read-only: go through addItem/placeItem/removeItem so the tile index stays correct
     public List<Item> getItemsOnFloor() {
-        return itemsOnFloor;
+        return Collections.unmodifiableList(itemsOnFloor);
     }
 
     public void addLivingBeing(LivingBeing being) {
         livingBeings.add(being);
+        livingBeingNames.add(being);
+        int key = tileKey(being.getTileX(), being.getTileY());
+        beingsByTile.add(key, being);
+        refreshFreeTile(key);
     }
 
     public void removeLivingBeing(LivingBeing being) {
-        livingBeings.remove(being);
+        if (livingBeings.remove(being)) {
+            livingBeingNames.remove(being);
+            int key = tileKey(being.getTileX(), being.getTileY());
+            beingsByTile.remove(key, being);
+            refreshFreeTile(key);
+        }
     }
 
+    // Called by LivingBeing whenever its tile changes while it is in this room
+    public void onLivingBeingMoved(LivingBeing being, int oldTileX, int oldTileY) {
+        int oldKey = tileKey(oldTileX, oldTileY);
+        int newKey = tileKey(being.getTileX(), being.getTileY());
+        if (beingsByTile.move(oldKey, newKey, being)) {
+            refreshFreeTile(oldKey);
+            refreshFreeTile(newKey);
+            if (events.hasSubscribers(GameEvent.BeingMoved.class)) {
+                events.publish(new GameEvent.BeingMoved(being, this, oldTileX, oldTileY, being.getTileX(), being.getTileY()));
+            }
+        }
+    }
+
+    public List<LivingBeing> getLivingBeingsAt(int tileX, int tileY) {
+        return beingsByTile.getAll(tileKey(tileX, tileY));
+    }
+
+    // Read-only: use addLivingBeing/removeLivingBeing
     public List<LivingBeing> getLivingBeings() {
-        return livingBeings;
+        return Collections.unmodifiableList(livingBeings);
     }
 
     public LivingBeing getLivingBeingByName(String name) {
-        for (LivingBeing lb : livingBeings) {
-            if (lb.getName().equalsIgnoreCase(name) && !(lb instanceof Player)) { // Don't target self by name usually
-                return lb;
-            }
-        }
-        return null;
+        return livingBeingNames.findExact(name, lb -> !(lb instanceof Player)); // Don't target self by name usually
+    }
+
+    // Exact name first, then any being whose name contains 'name' (e.g. "goblin" -> "Grumpy Goblin")
+    public LivingBeing findLivingBeing(String name, Predicate<? super LivingBeing> filter) {
+        return livingBeingNames.find(name, filter);
+    }
+
+    // Exact name match including the player (used when looking at things)
+    public LivingBeing getAnyLivingBeingByName(String name) {
+        return livingBeingNames.findExact(name);
     }
 
     public Chest getChestByName(String name) {
-        for (Chest chest : chests) {
-            if (chest.getName().equalsIgnoreCase(name)) {
-                return chest;
-            }
-        }
-        return null;
+        return chestNames.findExact(name);
     }
 
-    public List<Chest> getChests() { return chests; }
+    public List<Chest> getChests() { return Collections.unmodifiableList(chests); }
 
     public String getFullDescription() {
         StringBuilder sb = new StringBuilder();
@@ -254,37 +363,30 @@ public class Room extends Entity {
 
         if (placementLocation != null) {
             // Check if the chosen spot is already occupied by another chest
-            Point finalPlacementLocation = placementLocation;
-            boolean spotOccupiedByChest = this.chests.stream()
-                    .anyMatch(existingChest -> existingChest.getTileX() == finalPlacementLocation.x &&
-                            existingChest.getTileY() == finalPlacementLocation.y);
+            boolean spotOccupiedByChest = chestsByTile.isOccupied(tileKey(placementLocation.x, placementLocation.y));
 
             if (!spotOccupiedByChest) {
-                chest.setTileCoordinates(placementLocation);
-                this.chests.add(chest);
+                placeChest(chest, placementLocation);
             } else {
-                System.err.println("Warning: Chest spot " + placementLocation + " is already occupied. Cannot place " + chest.getName() + " in " + getName());
+                GameConsole.errorln("Warning: Chest spot " + placementLocation + " is already occupied. Cannot place " + chest.getName() + " in " + getName());
                 // Optionally, try to find another random spot if the default 'C' was taken
                 if (location == null) { // Only retry if it was default placement
                     Point alternativeSpot = findRandomWalkableFloorTile(placementLocation); // Exclude the occupied spot
                     if (alternativeSpot != null) {
-                        boolean altSpotOccupied = this.chests.stream()
-                                .anyMatch(existingChest -> existingChest.getTileX() == alternativeSpot.x &&
-                                        existingChest.getTileY() == alternativeSpot.y);
+                        boolean altSpotOccupied = chestsByTile.isOccupied(tileKey(alternativeSpot.x, alternativeSpot.y));
                         if (!altSpotOccupied) {
-                            chest.setTileCoordinates(alternativeSpot);
-                            this.chests.add(chest);
-                            System.out.println("Placed " + chest.getName() + " at alternative spot: " + alternativeSpot);
+                            placeChest(chest, alternativeSpot);
+                            GameConsole.println("Placed " + chest.getName() + " at alternative spot: " + alternativeSpot);
                         } else {
-                            System.err.println("Alternative spot also occupied for " + chest.getName());
+                            GameConsole.errorln("Alternative spot also occupied for " + chest.getName());
                         }
                     } else {
-                        System.err.println("No alternative spot found for " + chest.getName());
+                        GameConsole.errorln("No alternative spot found for " + chest.getName());
                     }
                 }
             }
         } else {
-            System.err.println("Warning: Could not determine a placement location for chest " + chest.getName() + " in " + getName());
+            GameConsole.errorln("Warning: Could not determine a placement location for chest " + chest.getName() + " in " + getName());
         }
     }
 
@@ -297,25 +399,21 @@ public class Room extends Entity {
     }
 
 
+    private void placeChest(Chest chest, Point location) {
+        chest.setTileCoordinates(location);
+        this.chests.add(chest);
+        chestNames.add(chest);
+        int key = tileKey(location.x, location.y);
+        chestsByTile.add(key, chest);
+        refreshFreeTile(key);
+    }
+
     public Chest getChestAt(int tileX, int tileY) {
-        for (Chest chest : chests) {
-            if (chest.getTileX() == tileX && chest.getTileY() == tileY) {
-                return chest;
-            }
-        }
-        return null;
+        return chestsByTile.first(tileKey(tileX, tileY));
     }
 
-    // Helper to find a character in the layout (already exists or should exist)
+    // Helper to find a character in the layout; first positions are precomputed by TileGrid
     private Point findCharInLayout(char targetChar) {
-        if (tileMapLayout == null) return null;
-        for (int row = 0; row < tileMapLayout.length; row++) {
-            for (int col = 0; col < tileMapLayout[row].length(); col++) {
-                if (tileMapLayout[row].charAt(col) == targetChar) {
-                    return new Point(col, row);
-                }
-            }
-        }
-        return null;
+        return tileGrid.findFirst(targetChar);
     }
 }
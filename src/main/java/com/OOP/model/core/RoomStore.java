@@ -0,0 +1,18 @@
+package com.OOP.model.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Backing storage for a paged {@link World}: rooms the world evicts are written here and read
+ * back the next time they are needed. Doors and locks stay in memory in the world, so a stored
+ * room refers to them by id.
+ */
+public interface RoomStore extends Closeable {
+    void write(Room room) throws IOException;
+
+    // Rebuilds a stored room; its doors and locks are looked up in the world
+    Room read(String roomId, World world) throws IOException;
+
+    boolean contains(String roomId);
+}
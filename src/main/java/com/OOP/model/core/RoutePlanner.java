@@ -0,0 +1,332 @@
+package com.OOP.model.core;
+
+import com.OOP.events.EventBus;
+import com.OOP.events.GameEvent;
+import com.OOP.events.Subscription;
+import com.OOP.model.interactables.Lock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Shortest routes between rooms, counted in doors, over the doors that are currently unlocked.
+ * <p>
+ * The room/door graph is read once from {@link Room#getExits()} and kept as int arrays
+ * (rooms and doors numbered, adjacency in one array per direction). A query is answered from a
+ * BFS tree rooted at the destination: every room's distance to it and the door to take next.
+ * Doors work both ways, so one tree serves routes from anywhere to that destination, and
+ * following it is O(route length). The most recently used trees are cached.
+ * <p>
+ * When a lock changes ({@link GameEvent.DoorUnlocked}, or a {@link GameEvent.ChestOpened} whose
+ * lock also guards doors) only the trees it affects are dropped: an unlocked door matters to a
+ * tree if it would make some room closer to the destination, a locked one if the tree routes
+ * through it. Locks changed without an event can be reported with {@link #lockChanged(Lock)}.
+ * <p>
+ * Rooms and doors added after the planner was built are not seen (World drops its planner when
+ * a new room is added). Not thread-safe: use it on the thread that plays the world.
+ */
+public class RoutePlanner implements AutoCloseable {
+    public static final int DEFAULT_CACHED_TREES = 16;
+
+    private final String[] roomIds;
+    private final String[] roomNames; // Normalized, for partial lookups
+    private final Map<String, Integer> roomIndexById;
+    private final Map<String, Integer> roomIndexByName; // Normalized name -> first room with it
+    private final Door[] doors;
+    private final int[] doorRoomA;
+    private final int[] doorRoomB;
+    private final Map<Door, Integer> doorIndex = new IdentityHashMap<>();
+    private final Map<Lock, int[]> doorsByLock = new IdentityHashMap<>();
+    // Adjacency: the edges of room r are edgeStart[r] until edgeStart[r + 1]
+    private final int[] edgeStart;
+    private final int[] edgeRoom;
+    private final int[] edgeDoor;
+
+    private final int maxCachedTrees;
+    private final LinkedHashMap<Integer, RouteTree> trees = new LinkedHashMap<>(16, 0.75f, true);
+    private final Subscription doorSubscription;
+    private final Subscription chestSubscription;
+
+    // Stats
+    private long queries;
+    private long treesBuilt;
+    private long treesInvalidated;
+
+    // BFS tree towards one destination room
+    private static final class RouteTree {
+        final int target;
+        final int[] distance; // Doors to the target, -1 = unreachable
+        final int[] nextDoor; // Door to take towards the target, -1 at the target / unreachable
+
+        RouteTree(int target, int rooms) {
+            this.target = target;
+            this.distance = new int[rooms];
+            this.nextDoor = new int[rooms];
+        }
+    }
+
+    public RoutePlanner(World world) {
+        this(world, DEFAULT_CACHED_TREES);
+    }
+
+    /**
+     * Reads the graph of every room reachable through doors from the rooms the world holds.
+     * In a paged world this pages every room in and leaves eviction to the next safe point;
+     * World builds its planner with {@link #buildAtSafePoint} at load time instead.
+     */
+    public RoutePlanner(World world, int maxCachedTrees) {
+        this(world, maxCachedTrees, false);
+    }
+
+    /**
+     * For a caller at a safe point (nothing holds a Room, e.g. while loading): the world is
+     * trimmed after each room is read, so a paged world stays within its resident budget.
+     */
+    static RoutePlanner buildAtSafePoint(World world) {
+        return new RoutePlanner(world, DEFAULT_CACHED_TREES, true);
+    }
+
+    private RoutePlanner(World world, int maxCachedTrees, boolean trimWhileReading) {
+        if (maxCachedTrees < 1) throw new IllegalArgumentException("maxCachedTrees must be at least 1");
+        this.maxCachedTrees = maxCachedTrees;
+
+        List<String> ids = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        roomIndexById = new HashMap<>();
+        roomIndexByName = new HashMap<>();
+        for (Room room : new ArrayList<>(world.getRooms())) indexRoom(room.getId(), ids);
+
+        List<Door> doorList = new ArrayList<>();
+        int[] ends = new int[64]; // Room pairs per door
+        for (int r = 0; r < ids.size(); r++) { // ids grows as neighbours are discovered
+            Room room = world.getRoom(ids.get(r));
+            String name = room != null ? normalize(room.getName()) : "";
+            names.add(name);
+            if (room == null) continue;
+            roomIndexByName.putIfAbsent(name, r);
+            for (Door door : room.getExits().values()) {
+                if (doorIndex.containsKey(door) || door.getRoom1Id() == null || door.getRoom2Id() == null) continue;
+                int a = indexRoom(door.getRoom1Id(), ids);
+                int b = indexRoom(door.getRoom2Id(), ids);
+                int d = doorList.size();
+                doorIndex.put(door, d);
+                doorList.add(door);
+                if (2 * d + 2 > ends.length) ends = Arrays.copyOf(ends, ends.length * 2);
+                ends[2 * d] = a;
+                ends[2 * d + 1] = b;
+            }
+            if (trimWhileReading) world.trimResidentRooms(); // Nothing but ids is kept from the room
+        }
+
+        int roomCount = ids.size();
+        int doorCount = doorList.size();
+        roomIds = ids.toArray(new String[0]);
+        roomNames = names.toArray(new String[0]);
+        doors = doorList.toArray(new Door[0]);
+        doorRoomA = new int[doorCount];
+        doorRoomB = new int[doorCount];
+        edgeStart = new int[roomCount + 1];
+        for (int d = 0; d < doorCount; d++) {
+            doorRoomA[d] = ends[2 * d];
+            doorRoomB[d] = ends[2 * d + 1];
+            if (doorRoomA[d] == doorRoomB[d]) continue; // Leads back into the same room: never on a shortest route
+            edgeStart[doorRoomA[d] + 1]++;
+            edgeStart[doorRoomB[d] + 1]++;
+        }
+        for (int r = 0; r < roomCount; r++) edgeStart[r + 1] += edgeStart[r];
+        edgeRoom = new int[edgeStart[roomCount]];
+        edgeDoor = new int[edgeStart[roomCount]];
+        int[] fill = Arrays.copyOf(edgeStart, roomCount);
+        for (int d = 0; d < doorCount; d++) {
+            int a = doorRoomA[d];
+            int b = doorRoomB[d];
+            if (a == b) continue;
+            edgeRoom[fill[a]] = b;
+            edgeDoor[fill[a]++] = d;
+            edgeRoom[fill[b]] = a;
+            edgeDoor[fill[b]++] = d;
+        }
+
+        Map<Lock, List<Integer>> byLock = new IdentityHashMap<>();
+        for (int d = 0; d < doorCount; d++) {
+            if (doors[d].getLock() != null) byLock.computeIfAbsent(doors[d].getLock(), l -> new ArrayList<>()).add(d);
+        }
+        byLock.forEach((lock, list) -> doorsByLock.put(lock, list.stream().mapToInt(Integer::intValue).toArray()));
+
+        EventBus bus = world.getEventBus();
+        doorSubscription = bus.subscribe(GameEvent.DoorUnlocked.class, e -> lockChanged(e.door().getLock()));
+        chestSubscription = bus.subscribe(GameEvent.ChestOpened.class, e -> lockChanged(e.chest().getLock()));
+    }
+
+    private int indexRoom(String id, List<String> ids) {
+        Integer index = roomIndexById.get(id);
+        if (index != null) return index;
+        roomIndexById.put(id, ids.size());
+        ids.add(id);
+        return ids.size() - 1;
+    }
+
+    // Lower case, '_' read as a space (like command arguments)
+    private static String normalize(String name) {
+        return name == null ? "" : name.trim().replace('_', ' ').toLowerCase(Locale.ROOT);
+    }
+
+    public int getRoomCount() {
+        return roomIds.length;
+    }
+
+    public int getDoorCount() {
+        return doors.length;
+    }
+
+    public boolean containsRoom(String roomId) {
+        return roomIndexById.containsKey(roomId);
+    }
+
+    // Room id for an id, a room name (case-insensitive) or a part of one ("shop" -> "Makeshift Shop"), or null
+    public String resolveRoomId(String idOrName) {
+        if (idOrName == null) return null;
+        if (roomIndexById.containsKey(idOrName)) return idOrName;
+        String name = normalize(idOrName);
+        Integer index = roomIndexByName.get(name);
+        if (index != null) return roomIds[index];
+        if (name.isEmpty()) return null;
+        for (int r = 0; r < roomNames.length; r++) { // Rare (typed by a player), so a scan is fine
+            if (roomNames[r].contains(name)) return roomIds[r];
+        }
+        return null;
+    }
+
+    /**
+     * The doors to go through, in order, to get from one room to the other using unlocked doors
+     * only. Empty if both are the same room, null if either is unknown or there is no way.
+     */
+    public List<Door> findRoute(String fromRoomId, String toRoomId) {
+        RouteTree tree = treeFor(toRoomId);
+        Integer from = roomIndexById.get(fromRoomId);
+        if (tree == null || from == null || tree.distance[from] < 0) return null;
+        if (from == tree.target) return Collections.emptyList();
+        List<Door> route = new ArrayList<>(tree.distance[from]);
+        for (int room = from; room != tree.target; ) {
+            int d = tree.nextDoor[room];
+            route.add(doors[d]);
+            room = doorRoomA[d] == room ? doorRoomB[d] : doorRoomA[d];
+        }
+        return route;
+    }
+
+    // First door of the route (e.g. for an NPC taking one step at a time), or null
+    public Door nextDoor(String fromRoomId, String toRoomId) {
+        RouteTree tree = treeFor(toRoomId);
+        Integer from = roomIndexById.get(fromRoomId);
+        if (tree == null || from == null || tree.nextDoor[from] < 0) return null;
+        return doors[tree.nextDoor[from]];
+    }
+
+    // Number of doors on the shortest route, or -1 if there is none
+    public int distance(String fromRoomId, String toRoomId) {
+        RouteTree tree = treeFor(toRoomId);
+        Integer from = roomIndexById.get(fromRoomId);
+        return tree == null || from == null ? -1 : tree.distance[from];
+    }
+
+    private RouteTree treeFor(String toRoomId) {
+        Integer target = roomIndexById.get(toRoomId);
+        if (target == null) return null;
+        queries++;
+        RouteTree tree = trees.get(target);
+        if (tree == null) {
+            tree = buildTree(target);
+            trees.put(target, tree);
+            if (trees.size() > maxCachedTrees) {
+                Iterator<RouteTree> eldest = trees.values().iterator();
+                eldest.next();
+                eldest.remove();
+            }
+        }
+        return tree;
+    }
+
+    private RouteTree buildTree(int target) {
+        RouteTree tree = new RouteTree(target, roomIds.length);
+        int[] distance = tree.distance;
+        int[] nextDoor = tree.nextDoor;
+        Arrays.fill(distance, -1);
+        Arrays.fill(nextDoor, -1);
+        int[] queue = new int[roomIds.length];
+        int head = 0;
+        int tail = 0;
+        distance[target] = 0;
+        queue[tail++] = target;
+        while (head < tail) {
+            int room = queue[head++];
+            int nextDistance = distance[room] + 1;
+            for (int e = edgeStart[room]; e < edgeStart[room + 1]; e++) {
+                int neighbour = edgeRoom[e];
+                if (distance[neighbour] >= 0 || doors[edgeDoor[e]].isLocked()) continue;
+                distance[neighbour] = nextDistance;
+                nextDoor[neighbour] = edgeDoor[e]; // From the neighbour, this door leads one step closer
+                queue[tail++] = neighbour;
+            }
+        }
+        treesBuilt++;
+        return tree;
+    }
+
+    /**
+     * Drops the cached trees that a change of this lock makes wrong. Called for the lock events
+     * on the world's bus; call it directly after locking or unlocking a door's lock some other way.
+     */
+    public void lockChanged(Lock lock) {
+        if (lock == null || trees.isEmpty()) return;
+        int[] lockedDoors = doorsByLock.get(lock);
+        if (lockedDoors == null) return; // Only guards chests
+        Iterator<RouteTree> it = trees.values().iterator();
+        while (it.hasNext()) {
+            RouteTree tree = it.next();
+            for (int d : lockedDoors) {
+                if (isAffected(tree, d, lock.isLocked())) {
+                    it.remove();
+                    treesInvalidated++;
+                    break;
+                }
+            }
+        }
+    }
+
+    private boolean isAffected(RouteTree tree, int d, boolean nowLocked) {
+        int a = doorRoomA[d];
+        int b = doorRoomB[d];
+        if (nowLocked) return tree.nextDoor[a] == d || tree.nextDoor[b] == d; // The tree goes through it
+        int distanceA = tree.distance[a];
+        int distanceB = tree.distance[b];
+        if (distanceA < 0 && distanceB < 0) return false; // Still cut off from the target either way
+        if (distanceA < 0 || distanceB < 0) return true;  // Opens a way to rooms that had none
+        return Math.abs(distanceA - distanceB) > 1;       // A shortcut
+    }
+
+    public int getCachedTreeCount() {
+        return trees.size();
+    }
+
+    public String getStats() {
+        return String.format("%d rooms, %d doors, %d queries, %d trees built, %d invalidated, %d cached",
+                roomIds.length, doors.length, queries, treesBuilt, treesInvalidated, trees.size());
+    }
+
+    // Stops listening to the world's lock events
+    @Override
+    public void close() {
+        doorSubscription.close();
+        chestSubscription.close();
+        trees.clear();
+    }
+}
@@ -0,0 +1,190 @@
+package com.OOP.model.core;
+
+import java.awt.Point;
+import java.util.BitSet;
+
+/**
+ * Packed tile map for a {@link Room}.
+ * Tiles are stored row-major in one flat byte array (index = y * width + x), so every
+ * lookup is a single array read instead of a charAt over String rows.
+ * Walkability and "floor" (item placement) are precomputed into BitSet masks, and the
+ * first position of every marker character (P, C, E, ...) is recorded when the grid is built.
+ */
+public class TileGrid {
+    // --- Tile-type registry ---
+    // Tile codes are the ASCII value of the layout character, so the registry is a flat table.
+    // W=Wall, F=Floor, P=PlayerStart, D=Door, .=Open Door/Path, anything else = marker drawn on floor
+    public static final int REGISTRY_SIZE = 128;
+    private static final int FLAG_SOLID = 1;  // Blocks movement (walls)
+    private static final int FLAG_FLOOR = 2;  // Items may be placed here
+    private static final int FLAG_DOOR = 4;   // Passability depends on the Door object's lock
+    private static final byte[] TYPE_FLAGS = new byte[REGISTRY_SIZE];
+
+    static {
+        register('W', FLAG_SOLID);
+        register('F', FLAG_FLOOR);
+        register('.', FLAG_FLOOR);
+        register('D', FLAG_DOOR);
+    }
+
+    private static void register(char tileChar, int flags) {
+        TYPE_FLAGS[tileChar] = (byte) flags;
+    }
+
+    public static byte codeOf(char tileChar) {
+        return tileChar < REGISTRY_SIZE ? (byte) tileChar : (byte) '?';
+    }
+
+    public static boolean isSolidType(byte code) { return (TYPE_FLAGS[code] & FLAG_SOLID) != 0; }
+    public static boolean isFloorType(byte code) { return (TYPE_FLAGS[code] & FLAG_FLOOR) != 0; }
+    public static boolean isDoorType(byte code) { return (TYPE_FLAGS[code] & FLAG_DOOR) != 0; }
+
+    private final int width;
+    private final int height;
+    private final byte[] tiles;
+    private final BitSet walkableMask; // Not a wall and not a door (doors are checked against their lock)
+    private final BitSet floorMask;    // 'F' and '.' tiles
+    // Distinct tile codes in this grid and the first index of each, in order of first appearance.
+    // A room only uses a handful of codes, so this is far smaller than a table over the whole registry.
+    private final byte[] presentCodes;
+    private final int[] firstIndexOfCode;
+
+    public TileGrid(int width, int height, byte[] tiles) {
+        if (tiles.length != width * height) {
+            throw new IllegalArgumentException("Tile array has " + tiles.length + " entries, expected " + (width * height));
+        }
+        this.width = width;
+        this.height = height;
+        this.tiles = tiles;
+        this.walkableMask = new BitSet(tiles.length);
+        this.floorMask = new BitSet(tiles.length);
+        long seenLow = 0, seenHigh = 0; // One bit per registry code (128 codes)
+        int distinct = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            byte code = tiles[i];
+            if (code < 0 || code >= REGISTRY_SIZE) {
+                throw new IllegalArgumentException("Tile (" + (i % width) + ", " + (i / width) + ") has code " + code
+                        + ", outside the tile registry (0-" + (REGISTRY_SIZE - 1) + ")");
+            }
+            if (!isSolidType(code) && !isDoorType(code)) walkableMask.set(i);
+            if (isFloorType(code)) floorMask.set(i);
+            long bit = 1L << (code & 63);
+            if (code < 64 ? (seenLow & bit) == 0 : (seenHigh & bit) == 0) {
+                if (code < 64) seenLow |= bit; else seenHigh |= bit;
+                distinct++;
+            }
+        }
+        this.presentCodes = new byte[distinct];
+        this.firstIndexOfCode = new int[distinct];
+        int found = 0;
+        for (int i = 0; i < tiles.length && found < distinct; i++) {
+            if (indexOfCode(tiles[i], found) == -1) {
+                presentCodes[found] = tiles[i];
+                firstIndexOfCode[found++] = i;
+            }
+        }
+    }
+
+    // Position of code in presentCodes[0..count), or -1
+    private int indexOfCode(byte code, int count) {
+        for (int k = 0; k < count; k++) {
+            if (presentCodes[k] == code) return k;
+        }
+        return -1;
+    }
+
+    // Builds a grid from the classic String[] layout, e.g. {"WWWWW", "WPFDW", ...}
+    public static TileGrid fromLayout(String[] layout) {
+        if (layout == null || layout.length == 0) {
+            return new TileGrid(0, 0, new byte[0]);
+        }
+        int height = layout.length;
+        int width = layout[0].length();
+        byte[] tiles = new byte[width * height];
+        for (int row = 0; row < height; row++) {
+            String line = layout[row];
+            for (int col = 0; col < width; col++) {
+                // Short rows are padded with walls so the grid stays rectangular
+                tiles[row * width + col] = col < line.length() ? codeOf(line.charAt(col)) : (byte) 'W';
+            }
+        }
+        return new TileGrid(width, height, tiles);
+    }
+
+    public int getWidth() { return width; }
+
+    public int getHeight() { return height; }
+
+    public int size() { return tiles.length; }
+
+    public boolean inBounds(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    // Packed tile key; callers must check inBounds first
+    public int indexOf(int x, int y) {
+        return y * width + x;
+    }
+
+    public int xOf(int index) { return index % width; }
+
+    public int yOf(int index) { return index / width; }
+
+    public byte getTile(int x, int y) {
+        return tiles[y * width + x];
+    }
+
+    public byte getTileAt(int index) {
+        return tiles[index];
+    }
+
+    public char getTileChar(int x, int y) {
+        return (char) tiles[y * width + x];
+    }
+
+    public boolean isWalkable(int x, int y) {
+        return inBounds(x, y) && walkableMask.get(y * width + x);
+    }
+
+    public boolean isWalkableIndex(int index) {
+        return walkableMask.get(index);
+    }
+
+    public boolean isFloorIndex(int index) {
+        return floorMask.get(index);
+    }
+
+    public BitSet getFloorMask() {
+        return floorMask;
+    }
+
+    // First tile (in row-major order) carrying the given layout character, or -1
+    public int findFirstIndex(char tileChar) {
+        if (tileChar >= REGISTRY_SIZE) return -1;
+        int k = indexOfCode((byte) tileChar, presentCodes.length);
+        return k == -1 ? -1 : firstIndexOfCode[k];
+    }
+
+    public Point findFirst(char tileChar) {
+        int index = findFirstIndex(tileChar);
+        return index == -1 ? null : new Point(xOf(index), yOf(index));
+    }
+
+    // Raw tile codes, e.g. for saving. Do not modify.
+    public byte[] getTiles() {
+        return tiles;
+    }
+
+    // Rebuilds the String[] form; only meant for debugging/export, not for hot paths
+    public String[] toLayout() {
+        String[] layout = new String[height];
+        char[] row = new char[width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                row[x] = (char) tiles[y * width + x];
+            }
+            layout[y] = new String(row);
+        }
+        return layout;
+    }
+}
@@ -0,0 +1,56 @@
+package com.OOP.model.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spatial index for one room: packed tile index -> occupants standing on that tile.
+ * Occupants on the same tile keep the order they were added in, so {@link #first(int)}
+ * returns the same object a linear scan over the room's list would have found.
+ * Tile indices come from {@link TileGrid#indexOf(int, int)}; negative indices (off-map) are ignored.
+ */
+public class TileOccupancy<T> {
+    private final Map<Integer, List<T>> occupantsByTile = new HashMap<>();
+
+    public void add(int tileIndex, T occupant) {
+        if (tileIndex < 0) return;
+        occupantsByTile.computeIfAbsent(tileIndex, k -> new ArrayList<>(2)).add(occupant);
+    }
+
+    public boolean remove(int tileIndex, T occupant) {
+        if (tileIndex < 0) return false;
+        List<T> occupants = occupantsByTile.get(tileIndex);
+        if (occupants == null || !occupants.remove(occupant)) return false;
+        if (occupants.isEmpty()) occupantsByTile.remove(tileIndex);
+        return true;
+    }
+
+    // Moves an occupant between tiles. Coming from off-map (negative index) just adds it;
+    // otherwise does nothing if it was not indexed at oldTileIndex.
+    public boolean move(int oldTileIndex, int newTileIndex, T occupant) {
+        if (oldTileIndex >= 0 && !remove(oldTileIndex, occupant)) return false;
+        add(newTileIndex, occupant);
+        return true;
+    }
+
+    public T first(int tileIndex) {
+        List<T> occupants = occupantsByTile.get(tileIndex);
+        return occupants == null ? null : occupants.get(0);
+    }
+
+    public List<T> getAll(int tileIndex) {
+        List<T> occupants = occupantsByTile.get(tileIndex);
+        return occupants == null ? Collections.emptyList() : Collections.unmodifiableList(occupants);
+    }
+
+    public boolean isOccupied(int tileIndex) {
+        return occupantsByTile.containsKey(tileIndex);
+    }
+
+    public void clear() {
+        occupantsByTile.clear();
+    }
+}
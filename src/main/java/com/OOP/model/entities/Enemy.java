@@ -2,6 +2,7 @@ package com.OOP.model.entities;
 
 import com.OOP.model.core.Room;
 import com.OOP.model.items.Item;
+import com.OOP.utils.GameConsole;
 
 public class Enemy extends LivingBeing {
     private Item loot; // Simple loot system: one item or null
@@ -11,12 +12,16 @@ public class Enemy extends LivingBeing {
         this.loot = loot;
     }
 
+    public Item getLoot() {
+        return loot;
+    }
+
     @Override
     public void die() {
         super.die(); // Basic die behavior (drops inventory if any, removes from room)
         if (loot != null && getCurrentRoom() != null) {
             getCurrentRoom().addItem(loot);
-            System.out.println(getName() + " dropped " + loot.getName() + "!");
+            GameConsole.println(getName() + " dropped " + loot.getName() + "!");
         }
     }
 }
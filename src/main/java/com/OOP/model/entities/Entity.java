@@ -23,6 +23,11 @@ public abstract class Entity {
         return description;
     }
 
+    // The description as stored, without the status suffixes some subclasses add (e.g. " (Locked)")
+    public String getBaseDescription() {
+        return description;
+    }
+
     public void setDescription(String description) {
         this.description = description;
     }
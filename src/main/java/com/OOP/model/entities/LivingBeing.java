@@ -1,12 +1,17 @@
 package com.OOP.model.entities;
 
+import com.OOP.events.EventBus;
+import com.OOP.events.GameEvent;
 import com.OOP.model.core.Room;
 import com.OOP.model.items.Item;
 import com.OOP.model.items.Weapon;
 import com.OOP.model.items.Shield;
+import com.OOP.utils.GameConsole;
+import com.OOP.utils.NameIndex;
 
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public abstract class LivingBeing extends Entity {
@@ -14,7 +19,8 @@ public abstract class LivingBeing extends Entity {
     private int maxHealthPoints;
     private int attackPower;
     private Room currentRoom;
-    public List<Item> inventory;
+    private List<Item> inventory;
+    private NameIndex<Item> inventoryNames; // Name lookups for text commands, mirrors inventory
     private Weapon equippedWeapon;
     private Shield equippedShield;
     protected int tileX = -1; // Default to off-map or unassigned
@@ -26,6 +32,7 @@ public abstract class LivingBeing extends Entity {
         this.maxHealthPoints = healthPoints;
         this.attackPower = attackPower;
         this.inventory = new ArrayList<>();
+        this.inventoryNames = new NameIndex<>();
         this.currentRoom = currentRoom; // Don't call setCurrentRoom here to avoid recursion if setCurrentRoom sets tile pos
         if (currentRoom != null && !(this instanceof Player)) { // Player sets its own initial pos
             // Default placement for non-player entities if not set explicitly later
@@ -36,17 +43,24 @@ public abstract class LivingBeing extends Entity {
     }
 
     public int getTileX() { return tileX; }
-    public void setTileX(int tileX) { this.tileX = tileX; }
+    public void setTileX(int tileX) { setTileCoordinates(tileX, this.tileY); }
     public int getTileY() { return tileY; }
-    public void setTileY(int tileY) { this.tileY = tileY; }
+    public void setTileY(int tileY) { setTileCoordinates(this.tileX, tileY); }
     public Point getTileCoordinates() {
         if(tileX == -1 || tileY == -1) return null;
         return new Point(tileX, tileY);
     }
-    public void setTileCoordinates(int x, int y) { this.tileX = x; this.tileY = y; }
+    // All tile changes go through here so the room's spatial index follows the being
+    public void setTileCoordinates(int x, int y) {
+        int oldX = this.tileX, oldY = this.tileY;
+        if (oldX == x && oldY == y) return;
+        this.tileX = x;
+        this.tileY = y;
+        if (currentRoom != null) currentRoom.onLivingBeingMoved(this, oldX, oldY);
+    }
     public void setTileCoordinates(Point p) {
-        if (p != null) { this.tileX = p.x; this.tileY = p.y; }
-        else { this.tileX = -1; this.tileY = -1; }
+        if (p != null) setTileCoordinates(p.x, p.y);
+        else setTileCoordinates(-1, -1);
     }
 
 
@@ -56,6 +70,7 @@ public abstract class LivingBeing extends Entity {
     // If they are static to a room, set their tileX/Y upon creation.
 
     public void setCurrentRoom(Room newRoom){
+        Room oldRoom = this.currentRoom;
         if (this.currentRoom != null) {
             this.currentRoom.removeLivingBeing(this);
         }
@@ -68,9 +83,32 @@ public abstract class LivingBeing extends Entity {
                 Point p = newRoom.findRandomWalkableFloorTile(); // Or a specific spawn point char from layout
                 if(p!=null) this.setTileCoordinates(p);
             }
+            if (!(this instanceof Player)) publishRoomEntered(oldRoom); // Player publishes once it is at the door
         }
     }
 
+    // --- Save/load support: set state directly, without messages, events or random placement ---
+
+    public void restoreStats(int healthPoints, int maxHealthPoints, int attackPower) {
+        this.healthPoints = healthPoints;
+        this.maxHealthPoints = maxHealthPoints;
+        this.attackPower = attackPower;
+    }
+
+    // Puts the being at an exact tile of a room it is not yet listed in
+    public void restorePosition(Room room, int tileX, int tileY) {
+        this.currentRoom = room;
+        this.tileX = tileX;
+        this.tileY = tileY;
+        if (room != null) room.addLivingBeing(this);
+    }
+
+    // Both items must already be in the inventory
+    public void restoreEquipment(Weapon weapon, Shield shield) {
+        this.equippedWeapon = weapon != null && inventory.contains(weapon) ? weapon : null;
+        this.equippedShield = shield != null && inventory.contains(shield) ? shield : null;
+    }
+
     public int getHealthPoints() {
         return healthPoints;
     }
@@ -80,8 +118,23 @@ public abstract class LivingBeing extends Entity {
     }
 
     public void setHealthPoints(int healthPoints) {
+        int oldHealth = this.healthPoints;
         this.healthPoints = Math.max(0, healthPoints);
         if (this.healthPoints > this.maxHealthPoints) this.healthPoints = this.maxHealthPoints;
+        EventBus bus = getEventBus();
+        if (bus != null && oldHealth != this.healthPoints && bus.hasSubscribers(GameEvent.HealthChanged.class)) {
+            bus.publish(new GameEvent.HealthChanged(this, oldHealth, this.healthPoints));
+        }
+    }
+
+    // The bus of the world this being is in (null while it is in no room)
+    protected EventBus getEventBus() {
+        return currentRoom != null ? currentRoom.getEventBus() : null;
+    }
+
+    // Attack power without the equipped weapon's damage
+    public int getBaseAttackPower() {
+        return attackPower;
     }
 
     public int getAttackPower() {
@@ -96,44 +149,58 @@ public abstract class LivingBeing extends Entity {
         return currentRoom;
     }
 
+    // Read-only: use addToInventory/removeFromInventory so the name index stays in sync
     public List<Item> getInventory() {
-        return inventory;
+        return Collections.unmodifiableList(inventory);
+    }
+
+    public void addToInventory(Item item) {
+        inventory.add(item);
+        inventoryNames.add(item);
+    }
+
+    public boolean removeFromInventory(Item item) {
+        if (inventory.remove(item)) {
+            inventoryNames.remove(item);
+            return true;
+        }
+        return false;
     }
 
     public void pickUpItem(Item item) {
         if (item != null) {
-            inventory.add(item);
+            addToInventory(item);
             currentRoom.removeItem(item.getName()); // remove by name, assumes unique names in room for simplicity
-            System.out.println(getName() + " picked up " + item.getName() + ".");
+            GameConsole.println(getName() + " picked up " + item.getName() + ".");
+            publishItemPickedUp(item);
         }
     }
 
     public Item dropItem(String itemName) {
         Item itemToDrop = getItemFromInventory(itemName);
         if (itemToDrop != null) {
-            inventory.remove(itemToDrop);
+            removeFromInventory(itemToDrop);
             currentRoom.addItem(itemToDrop);
             if (itemToDrop == equippedWeapon) unequipWeapon();
             if (itemToDrop == equippedShield) unequipShield();
-            System.out.println(getName() + " dropped " + itemToDrop.getName() + ".");
+            GameConsole.println(getName() + " dropped " + itemToDrop.getName() + ".");
+            EventBus bus = getEventBus();
+            if (bus != null && bus.hasSubscribers(GameEvent.ItemDropped.class)) {
+                bus.publish(new GameEvent.ItemDropped(this, itemToDrop, currentRoom));
+            }
             return itemToDrop;
         }
-        System.out.println(getName() + " doesn't have " + itemName + ".");
+        GameConsole.println(getName() + " doesn't have " + itemName + ".");
         return null;
     }
 
     public boolean hasItemByName(String itemName) {
-        return inventory.stream().anyMatch(item -> item.getName().toLowerCase().contains(itemName.toLowerCase()));
+        return inventoryNames.findPartial(itemName) != null;
     }
 
     public Item getItemFromInventory(String itemName) {
         if (itemName == null) return null;
-        for (Item item : inventory) {
-            if (item.getName().equalsIgnoreCase(itemName)) {
-                return item;
-            }
-        }
-        return null; // Not found
+        return inventoryNames.findExact(itemName); // null if not found
     }
 
     public Item getItemByIdFromInventory(String itemId) {
@@ -148,15 +215,23 @@ public abstract class LivingBeing extends Entity {
 
 
     public void takeDamage(int damage) {
+        takeDamage(damage, null);
+    }
+
+    public void takeDamage(int damage, LivingBeing attacker) {
         int actualDamage = damage;
         if (equippedShield != null) {
             actualDamage = Math.max(0, damage - equippedShield.getBlockValue());
             if (actualDamage < damage) {
-                System.out.println(getName() + "'s shield absorbed " + (damage - actualDamage) + " damage!");
+                GameConsole.println(getName() + "'s shield absorbed " + (damage - actualDamage) + " damage!");
             }
         }
         this.healthPoints -= actualDamage;
-        System.out.println(getName() + " takes " + actualDamage + " damage.");
+        GameConsole.println(getName() + " takes " + actualDamage + " damage.");
+        EventBus bus = getEventBus();
+        if (bus != null && bus.hasSubscribers(GameEvent.DamageDealt.class)) {
+            bus.publish(new GameEvent.DamageDealt(attacker, this, actualDamage, damage - actualDamage, healthPoints));
+        }
         if (this.healthPoints <= 0) {
             die();
         }
@@ -164,15 +239,19 @@ public abstract class LivingBeing extends Entity {
 
     public void attack(LivingBeing target) {
         if (target.getHealthPoints() <= 0) {
-            System.out.println(target.getName() + " is already defeated.");
+            GameConsole.println(target.getName() + " is already defeated.");
             return;
         }
-        System.out.println(getName() + " attacks " + target.getName() + "!");
-        target.takeDamage(getAttackPower());
+        GameConsole.println(getName() + " attacks " + target.getName() + "!");
+        target.takeDamage(getAttackPower(), this);
     }
 
     public void die() {
-        System.out.println(getName() + " has been defeated!");
+        GameConsole.println(getName() + " has been defeated!");
+        EventBus bus = getEventBus();
+        if (bus != null && bus.hasSubscribers(GameEvent.BeingDefeated.class)) {
+            bus.publish(new GameEvent.BeingDefeated(this, currentRoom));
+        }
         if (this.currentRoom != null) {
             this.currentRoom.removeLivingBeing(this);
             // Drop all inventory on death
@@ -186,16 +265,19 @@ public abstract class LivingBeing extends Entity {
     public void equipWeapon(Weapon weapon) {
         if (inventory.contains(weapon)) {
             this.equippedWeapon = weapon;
-            System.out.println(getName() + " equipped " + weapon.getName() + ".");
+            GameConsole.println(getName() + " equipped " + weapon.getName() + ".");
+            publishEquipmentChanged(weapon, true);
         } else {
-            System.out.println(getName() + " does not have " + weapon.getName() + " in inventory.");
+            GameConsole.println(getName() + " does not have " + weapon.getName() + " in inventory.");
         }
     }
 
     public void unequipWeapon() {
         if (this.equippedWeapon != null) {
-            System.out.println(getName() + " unequipped " + this.equippedWeapon.getName() + ".");
+            GameConsole.println(getName() + " unequipped " + this.equippedWeapon.getName() + ".");
+            Weapon removed = this.equippedWeapon;
             this.equippedWeapon = null;
+            publishEquipmentChanged(removed, false);
         }
     }
 
@@ -204,18 +286,42 @@ public abstract class LivingBeing extends Entity {
     public void equipShield(Shield shield) {
         if (inventory.contains(shield)) {
             this.equippedShield = shield;
-            System.out.println(getName() + " equipped " + shield.getName() + ".");
+            GameConsole.println(getName() + " equipped " + shield.getName() + ".");
+            publishEquipmentChanged(shield, true);
         } else {
-            System.out.println(getName() + " does not have " + shield.getName() + " in inventory.");
+            GameConsole.println(getName() + " does not have " + shield.getName() + " in inventory.");
         }
     }
 
     public void unequipShield() {
         if (this.equippedShield != null) {
-            System.out.println(getName() + " unequipped " + this.equippedShield.getName() + ".");
+            GameConsole.println(getName() + " unequipped " + this.equippedShield.getName() + ".");
+            Shield removed = this.equippedShield;
             this.equippedShield = null;
+            publishEquipmentChanged(removed, false);
         }
     }
     public Shield getEquippedShield() { return equippedShield; }
 
+    private void publishEquipmentChanged(Item item, boolean equipped) {
+        EventBus bus = getEventBus();
+        if (bus != null && bus.hasSubscribers(GameEvent.EquipmentChanged.class)) {
+            bus.publish(new GameEvent.EquipmentChanged(this, item, equipped));
+        }
+    }
+
+    protected void publishRoomEntered(Room from) {
+        EventBus bus = getEventBus();
+        if (bus != null && bus.hasSubscribers(GameEvent.RoomEntered.class)) {
+            bus.publish(new GameEvent.RoomEntered(this, from, currentRoom));
+        }
+    }
+
+    protected void publishItemPickedUp(Item item) {
+        EventBus bus = getEventBus();
+        if (bus != null && bus.hasSubscribers(GameEvent.ItemPickedUp.class)) {
+            bus.publish(new GameEvent.ItemPickedUp(this, item));
+        }
+    }
+
 }
@@ -2,37 +2,42 @@ package com.OOP.model.entities;
 
 import com.OOP.model.core.Room;
 import com.OOP.model.items.Item;
+import com.OOP.utils.GameConsole;
+import com.OOP.utils.NameIndex;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class Merchant extends NPC {
     private Map<Item, Integer> catalog; // Item -> Price
+    private NameIndex<Item> catalogNames; // Name lookups for 'buy <item>'
 
     public Merchant(String id, String name, String description, Room currentRoom) {
         super(id, name, description, 100, currentRoom, true); // Merchants are friendly
         this.catalog = new LinkedHashMap<>(); // LinkedHashMap to maintain insertion order
+        this.catalogNames = new NameIndex<>();
     }
 
     public void addToCatalog(Item item, int price) {
-        catalog.put(item, price);
+        if (catalog.put(item, price) == null) {
+            catalogNames.add(item);
+        }
     }
 
     public void removeFromCatalog(Item item) {
-        catalog.remove(item);
+        if (catalog.remove(item) != null) {
+            catalogNames.remove(item);
+        }
     }
 
+    // Read-only: use addToCatalog/removeFromCatalog
     public Map<Item, Integer> getCatalog() {
-        return catalog;
+        return Collections.unmodifiableMap(catalog);
     }
 
     public Item getItemFromCatalog(String itemName) {
-        for (Item item : catalog.keySet()) {
-            if (item.getName().equalsIgnoreCase(itemName)) {
-                return item;
-            }
-        }
-        return null;
+        return catalogNames.findExact(itemName);
     }
 
     public Integer getPrice(Item item) {
@@ -41,37 +46,37 @@ public class Merchant extends NPC {
 
     @Override
     public void interact(Player player) {
-        System.out.println(getName() + " says: 'Welcome, adventurer! Care to see my wares?'");
+        GameConsole.println(getName() + " says: 'Welcome, adventurer! Care to see my wares?'");
         displayWares();
-        System.out.println("You can 'buy <item_name>' or 'leave'.");
+        GameConsole.println("You can 'buy <item_name>' or 'leave'.");
     }
 
     public void displayWares() {
-        System.out.println("--- " + getName() + "'s Wares ---");
+        GameConsole.println("--- " + getName() + "'s Wares ---");
         if (catalog.isEmpty()) {
-            System.out.println("Sorry, I'm all out of stock!");
+            GameConsole.println("Sorry, I'm all out of stock!");
         } else {
             for (Map.Entry<Item, Integer> entry : catalog.entrySet()) {
-                System.out.println("- " + entry.getKey().getName() + " (" + entry.getKey().getDescription() + ") - " + entry.getValue() + " gold");
+                GameConsole.println("- " + entry.getKey().getName() + " (" + entry.getKey().getDescription() + ") - " + entry.getValue() + " gold");
             }
         }
-        System.out.println("----------------------");
+        GameConsole.println("----------------------");
     }
 
     public boolean sellToPlayer(String itemName, Player player) {
         Item itemToSell = getItemFromCatalog(itemName);
         if (itemToSell == null) {
-            System.out.println(getName() + " says: 'I don't have " + itemName + ".'");
+            GameConsole.println(getName() + " says: 'I don't have " + itemName + ".'");
             return false;
         }
         Integer price = getPrice(itemToSell);
         if (player.buyItem(itemToSell, price, this)) { // Player handles gold, adds to inventory
             removeFromCatalog(itemToSell); // Remove from merchant's stock
-            System.out.println(getName() + " says: 'A fine choice!'");
+            GameConsole.println(getName() + " says: 'A fine choice!'");
             return true;
         } else {
             // Player.buyItem would have printed "not enough gold"
-            System.out.println(getName() + " says: 'Come back when you have more coin.'");
+            GameConsole.println(getName() + " says: 'Come back when you have more coin.'");
             return false;
         }
     }
@@ -1,43 +1,28 @@
 package com.OOP.model.entities;
 
+import com.OOP.events.EventBus;
+import com.OOP.events.GameEvent;
 import com.OOP.model.core.Door;
 import com.OOP.model.core.Room;
 import com.OOP.model.items.Gold;
 import com.OOP.model.items.Item;
+import com.OOP.utils.GameConsole;
 
 import java.awt.*;
 
 public class Player extends LivingBeing {
     private int goldQuantity;
-    private int tileX;
-    private int tileY;
 
     // Modify constructor
     public Player(String name, int healthPoints, int attackPower, Room currentRoom) {
         super("player_id", name, "The protagonist", healthPoints, attackPower, currentRoom);
         this.goldQuantity = 0;
+        // Set fields directly: the player is not in the room's lists until World adds it
         Point startPos = currentRoom.getPlayerStartPosition();
         this.tileX = startPos.x;
         this.tileY = startPos.y;
     }
 
-    // Add getters and setters
-    public int getTileX() {
-        return tileX;
-    }
-
-    public void setTileX(int tileX) {
-        this.tileX = tileX;
-    }
-
-    public int getTileY() {
-        return tileY;
-    }
-
-    public void setTileY(int tileY) {
-        this.tileY = tileY;
-    }
-
     // When changing rooms, update player's tile position
     // In com.yourgame.model.entities.Player.java
 
@@ -72,17 +57,15 @@ public class Player extends LivingBeing {
             }
 
             if (entryPoint != null) {
-                this.tileX = entryPoint.x;
-                this.tileY = entryPoint.y;
+                setTileCoordinates(entryPoint);
             } else {
                 // Fallback if no specific entry point is found (e.g., game start, or teleport)
-                Point startPos = newRoom.getPlayerStartPosition(); // 'P' character in layout
-                this.tileX = startPos.x;
-                this.tileY = startPos.y;
+                setTileCoordinates(newRoom.getPlayerStartPosition()); // 'P' character in layout
                 if (oldRoom != null) { // Log if this fallback is used during normal transition
-                    System.err.println("Warning: Could not determine door entry point from " + oldRoom.getName() + " to " + newRoom.getName() + ". Using default 'P'.");
+                    GameConsole.errorln("Warning: Could not determine door entry point from " + oldRoom.getName() + " to " + newRoom.getName() + ". Using default 'P'.");
                 }
             }
+            publishRoomEntered(oldRoom);
         }
     }
 
@@ -90,18 +73,25 @@ public class Player extends LivingBeing {
         return goldQuantity;
     }
 
+    // Restores the gold from a save file (no message, no GoldChanged event)
+    public void setGoldQuantity(int goldQuantity) {
+        this.goldQuantity = goldQuantity;
+    }
+
     public void addGold(int amount) {
         this.goldQuantity += amount;
-        System.out.println("You received " + amount + " gold. Total: " + goldQuantity);
+        GameConsole.println("You received " + amount + " gold. Total: " + goldQuantity);
+        publishGoldChanged(amount);
     }
 
     public boolean spendGold(int amount) {
         if (this.goldQuantity >= amount) {
             this.goldQuantity -= amount;
-            System.out.println("You spent " + amount + " gold. Remaining: " + goldQuantity);
+            GameConsole.println("You spent " + amount + " gold. Remaining: " + goldQuantity);
+            publishGoldChanged(-amount);
             return true;
         }
-        System.out.println("Not enough gold. You have " + goldQuantity + ", need " + amount + ".");
+        GameConsole.println("Not enough gold. You have " + goldQuantity + ", need " + amount + ".");
         return false;
     }
 
@@ -112,35 +102,43 @@ public class Player extends LivingBeing {
                 addGold(((Gold) item).getAmount());
                 // Gold object doesn't go to inventory, it's just consumed
                 // The room should have already removed it
-                System.out.println(getName() + " picked up " + ((Gold) item).getAmount() + " gold value from " + item.getName() + ".");
+                GameConsole.println(getName() + " picked up " + ((Gold) item).getAmount() + " gold value from " + item.getName() + ".");
             } else {
-                inventory.add(item);
-                System.out.println(getName() + " picked up " + item.getName() + ".");
+                addToInventory(item);
+                GameConsole.println(getName() + " picked up " + item.getName() + ".");
             }
+            publishItemPickedUp(item);
             // The item should be removed from the room's list by the calling logic
             // Example: currentRoom.removeItem(item); happens in GameKeyListener or MainGameLogicController
         }
     }
 
+    private void publishGoldChanged(int delta) {
+        EventBus bus = getEventBus();
+        if (bus != null && bus.hasSubscribers(GameEvent.GoldChanged.class)) {
+            bus.publish(new GameEvent.GoldChanged(this, delta, goldQuantity));
+        }
+    }
+
     public void viewInventory() {
-        System.out.println("--- Inventory ---");
+        GameConsole.println("--- Inventory ---");
         if (getInventory().isEmpty()) {
-            System.out.println("Empty.");
+            GameConsole.println("Empty.");
         } else {
             for (Item item : getInventory()) {
-                System.out.println("- " + item.getName() + (item == getEquippedWeapon() || item == getEquippedShield() ? " (Equipped)" : ""));
+                GameConsole.println("- " + item.getName() + (item == getEquippedWeapon() || item == getEquippedShield() ? " (Equipped)" : ""));
             }
         }
-        System.out.println("Gold: " + goldQuantity);
-        System.out.println("Equipped Weapon: " + (getEquippedWeapon() != null ? getEquippedWeapon().getName() : "None"));
-        System.out.println("Equipped Shield: " + (getEquippedShield() != null ? getEquippedShield().getName() : "None"));
-        System.out.println("-----------------");
+        GameConsole.println("Gold: " + goldQuantity);
+        GameConsole.println("Equipped Weapon: " + (getEquippedWeapon() != null ? getEquippedWeapon().getName() : "None"));
+        GameConsole.println("Equipped Shield: " + (getEquippedShield() != null ? getEquippedShield().getName() : "None"));
+        GameConsole.println("-----------------");
     }
 
     public boolean buyItem(Item item, int price, Merchant merchant) {
         if (spendGold(price)) {
-            getInventory().add(item); // Add to player's inventory
-            System.out.println("You bought " + item.getName() + ".");
+            addToInventory(item); // Add to player's inventory
+            GameConsole.println("You bought " + item.getName() + ".");
             // Merchant should handle removing from its catalog internally
             return true;
         }
@@ -151,18 +149,18 @@ public class Player extends LivingBeing {
     // but could be added:
     public void sellItem(Item item, int price, Merchant merchant) {
         if (getInventory().contains(item)) {
-            getInventory().remove(item);
+            removeFromInventory(item);
             addGold(price); // Typically sell for less than buy price
-            System.out.println("You sold " + item.getName() + " for " + price + " gold.");
+            GameConsole.println("You sold " + item.getName() + " for " + price + " gold.");
             merchant.addToCatalog(item, (int) (price * 1.5)); // Merchant buys it and might sell for more
         } else {
-            System.out.println("You don't have " + item.getName() + ".");
+            GameConsole.println("You don't have " + item.getName() + ".");
         }
     }
 
     @Override
     public void die() {
-        System.out.println("Wasted. Game Over.");
+        GameConsole.println("Wasted. Game Over.");
         // Game loop should check for player death and terminate
     }
 }
@@ -1,6 +1,7 @@
 package com.OOP.model.entities;
 
 import com.OOP.model.core.Room;
+import com.OOP.utils.GameConsole;
 
 public class Teammate extends LivingBeing {
     public Teammate(String id, String name, String description, int healthPoints, int attackPower, Room currentRoom) {
@@ -12,7 +13,7 @@ public class Teammate extends LivingBeing {
     // AI for combat/following is more complex.
     public void assist(LivingBeing target) {
         if (target.getHealthPoints() > 0) {
-            System.out.println(getName() + " assists in attacking " + target.getName() + "!");
+            GameConsole.println(getName() + " assists in attacking " + target.getName() + "!");
             attack(target);
         }
     }
@@ -1,9 +1,12 @@
 package com.OOP.model.interactables;
 
+import com.OOP.events.EventBus;
+import com.OOP.events.GameEvent;
 import com.OOP.interfaces.Activatable;
 import com.OOP.model.entities.Entity;
 import com.OOP.model.entities.LivingBeing;
 import com.OOP.model.items.Item;
+import com.OOP.utils.GameConsole;
 
 import java.awt.Point; // Import Point
 import java.util.ArrayList;
@@ -97,16 +100,22 @@ public class Chest extends Entity implements Activatable {
 
     public boolean isOpen() { return isOpen; }
 
+    // Restores the open state from a save file; does not publish ChestOpened
+    public void setOpen(boolean open) { this.isOpen = open; }
+
+    public Lock getLock() { return lock; }
+
     // ... activate() method remains the same ...
     @Override
     public boolean activate(LivingBeing activator, String itemIdToUse) {
         if (isOpen) {
-            System.out.println("The " + getName() + " is already open.");
+            GameConsole.println("The " + getName() + " is already open.");
             return true;
         }
         if (lock == null || !lock.isLocked()) {
             isOpen = true;
-            System.out.println("You open the " + getName() + ".");
+            publishOpened(activator);
+            GameConsole.println("You open the " + getName() + ".");
             return true;
         }
 
@@ -119,23 +128,32 @@ public class Chest extends Entity implements Activatable {
         if (itemIdToUse != null && itemIdToUse.equalsIgnoreCase("crowbar") && activator.hasItemByName("Rusty Crowbar")) { // Or get generic crowbar
             if (lock.tryUnlockWithCrowbar()) {
                 isOpen = true;
-                System.out.println("You pried open the " + getName() + " with the crowbar!");
+                publishOpened(activator);
+                GameConsole.println("You pried open the " + getName() + " with the crowbar!");
                 return true;
             } else {
-                System.out.println("The crowbar is ineffective against this chest's lock.");
+                GameConsole.println("The crowbar is ineffective against this chest's lock.");
                 return false;
             }
         } else if (lock.tryUnlock(item)) { // Pass the key item
             isOpen = true;
-            System.out.println("You unlocked and opened the " + getName() + ".");
+            publishOpened(activator);
+            GameConsole.println("You unlocked and opened the " + getName() + ".");
             return true;
         } else {
-            System.out.println("You can't open the " + getName() + ". It's locked or you lack the right tool/key.");
+            GameConsole.println("You can't open the " + getName() + ". It's locked or you lack the right tool/key.");
             return false;
         }
     }
 
 
+    private void publishOpened(LivingBeing activator) {
+        EventBus bus = activator.getCurrentRoom() != null ? activator.getCurrentRoom().getEventBus() : null;
+        if (bus != null && bus.hasSubscribers(GameEvent.ChestOpened.class)) {
+            bus.publish(new GameEvent.ChestOpened(this, activator));
+        }
+    }
+
     @Override
     public String getDescription() {
         String status;
@@ -6,6 +6,7 @@ import com.OOP.model.items.Key;
 import com.OOP.model.items.Crowbar;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class Lock extends Entity {
@@ -29,6 +30,14 @@ public class Lock extends Entity {
         this.acceptableKeyIds.add(keyId);
     }
 
+    public List<String> getAcceptableKeyIds() {
+        return Collections.unmodifiableList(acceptableKeyIds);
+    }
+
+    public boolean canBePriedOpen() {
+        return canBePriedOpen;
+    }
+
     public boolean isLocked() {
         return isLocked;
     }
@@ -2,6 +2,7 @@ package com.OOP.model.items;
 
 import com.OOP.interfaces.Executable;
 import com.OOP.model.entities.LivingBeing;
+import com.OOP.utils.GameConsole;
 
 public class Medicine extends Item implements Executable {
     private int healingAmount;
@@ -20,11 +21,11 @@ public class Medicine extends Item implements Executable {
         if (user == target) {
             int currentHp = user.getHealthPoints();
             user.setHealthPoints(currentHp + healingAmount);
-            System.out.println(user.getName() + " used " + getName() + " and healed for " + healingAmount + " HP. " +
+            GameConsole.println(user.getName() + " used " + getName() + " and healed for " + healingAmount + " HP. " +
                     "(HP: " + user.getHealthPoints() + "/" + user.getMaxHealthPoints() + ")");
         } else {
             // Could allow healing others if needed
-            System.out.println(getName() + " can only be used on oneself.");
+            GameConsole.println(getName() + " can only be used on oneself.");
         }
     }
 }
@@ -0,0 +1,433 @@
+package com.OOP.persistence;
+
+import com.OOP.MainGameLogicController;
+import com.OOP.model.core.World;
+import com.OOP.utils.GameConsole;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of every action the controller accepted, plus periodic world checkpoints.
+ * After a crash the world is rebuilt from the newest readable checkpoint and the journal records
+ * written after it, so nothing is lost without ever pausing the game for a full save per command.
+ * <p>
+ * Files in the journal directory:
+ * <pre>
+ * checkpoint-&lt;seq&gt;.sav   world after action number seq (a {@link WorldWriter} save, includes the RNG state)
+ * journal-&lt;seq&gt;.log      actions starting at number seq: magic, version, then records of
+ *                        length (int), sequence (long), kind (byte), UTF-8 payload, CRC32 (int)
+ * </pre>
+ * Appends never block the game thread: records are queued and a single writer thread writes
+ * everything queued so far with one gathering write and one fsync (group commit), so a burst of
+ * commands costs one fsync instead of one each. Checkpoints are serialized on the game thread
+ * (the world must not change meanwhile) and written by the same writer thread, after which the
+ * journal rolls to a new file and files older than the previous checkpoint are deleted.
+ * <p>
+ * Replay is only exact if the world is deterministic given its saved state, which is why
+ * {@link World} uses a {@link com.OOP.utils.GameRandom} whose state is part of every checkpoint.
+ */
+public class CommandJournal implements AutoCloseable {
+    // Record kinds: text commands and the GUI's direct map actions
+    public static final byte COMMAND = 'C';
+    public static final byte MOVE = 'M';        // Payload "x y"
+    public static final byte TAKE_FLOOR = 'T';  // Take the item under the player
+    public static final byte TAKE_CHEST = 'K';  // Take the first item from the open chest under the player
+
+    private static final int SEGMENT_MAGIC = 0x4F4F504A; // "OOPJ"
+    private static final short SEGMENT_VERSION = 1;
+    private static final int SEGMENT_HEADER_BYTES = 4 + 2;
+    private static final int RECORD_FIXED_BYTES = 8 + 1; // sequence + kind, counted in the length
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = Integer.getInteger("game.journal.checkpointEvery", 1000);
+
+    public record Record(long sequence, byte kind, String payload) {}
+
+    /** What {@link #open} found: where it restarted from and how fast the journal replayed. */
+    public record Recovery(long checkpointSequence, int replayedRecords, long replayNanos, boolean freshStart) {
+        public double recordsPerSecond() {
+            return replayNanos == 0 ? 0 : replayedRecords * 1_000_000_000.0 / replayNanos;
+        }
+
+        public String describe() {
+            if (freshStart) return "Journal: new game (checkpoint 0 written)";
+            return String.format("Journal: restored checkpoint %d, replayed %d commands in %.1f ms (%.0f commands/sec)",
+                    checkpointSequence, replayedRecords, replayNanos / 1_000_000.0, recordsPerSecond());
+        }
+    }
+
+    private sealed interface Task permits Append, Checkpoint {}
+    private record Append(ByteBuffer encoded, CompletableFuture<Long> done, long sequence) implements Task {}
+    private record Checkpoint(long sequence, ByteBuffer[] data, CompletableFuture<Long> done) implements Task {}
+
+    private final Path directory;
+    private final World world;
+    private final Recovery recovery;
+    private final int checkpointInterval;
+    private final Thread writer;
+
+    // Guarded by 'this'
+    private final ArrayDeque<Task> pending = new ArrayDeque<>();
+    private boolean closed;
+    private IOException failure;
+
+    // Game thread only
+    private long nextSequence;
+    private int actionsSinceCheckpoint;
+
+    // Writer thread only
+    private FileChannel segment;
+    private long segmentStart;
+    private long previousCheckpoint;
+    private long currentCheckpoint;
+    private long commits;
+    private long recordsWritten;
+
+    private CommandJournal(Path directory, World world, Recovery recovery, long lastSequence, int checkpointInterval) throws IOException {
+        this.directory = directory;
+        this.world = world;
+        this.recovery = recovery;
+        this.checkpointInterval = checkpointInterval;
+        this.nextSequence = lastSequence + 1;
+        this.currentCheckpoint = recovery.checkpointSequence();
+        this.previousCheckpoint = recovery.checkpointSequence();
+        // Files past the replayed records could only hold actions that were never applied
+        for (long start : listSequences(directory, "journal-", ".log")) {
+            if (start > nextSequence) Files.deleteIfExists(segmentPath(directory, start));
+        }
+        openSegment(nextSequence);
+        this.writer = new Thread(this::writeLoop, "journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public static CommandJournal open(Path directory, Supplier<World> newWorld) throws IOException {
+        return open(directory, newWorld, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Opens (or creates) the journal in a directory. With no checkpoint yet, a new world is
+     * created and written as checkpoint 0; otherwise the newest readable checkpoint is loaded
+     * and every journaled action after it is replayed. The resulting world is {@link #getWorld()}.
+     */
+    public static CommandJournal open(Path directory, Supplier<World> newWorld, int checkpointInterval) throws IOException {
+        Files.createDirectories(directory);
+        List<Long> checkpoints = listSequences(directory, "checkpoint-", ".sav");
+        if (checkpoints.isEmpty()) {
+            World world = newWorld.get();
+            WorldWriter.save(world, checkpointPath(directory, 0));
+            return new CommandJournal(directory, world, new Recovery(0, 0, 0, true), 0, checkpointInterval);
+        }
+
+        World world = null;
+        long checkpointSequence = 0;
+        for (int i = checkpoints.size() - 1; i >= 0 && world == null; i--) {
+            try {
+                world = WorldReader.load(checkpointPath(directory, checkpoints.get(i)));
+                checkpointSequence = checkpoints.get(i);
+            } catch (IOException e) {
+                GameConsole.errorln("Skipping unreadable checkpoint " + checkpoints.get(i) + ": " + e.getMessage());
+            }
+        }
+        if (world == null) throw new IOException("No readable checkpoint in " + directory);
+
+        // Replay with a throwaway controller; its output and the model's prints are discarded
+        MainGameLogicController replayer = new MainGameLogicController(world, world.getPlayer(), text -> { }, () -> { });
+        replayer.setDescribeRoomAfterCommand(false);
+        List<Record> records = readRecords(directory, checkpointSequence);
+        long start = System.nanoTime();
+        GameConsole.withThreadSinks(text -> { }, text -> { }, () -> {
+            for (Record record : records) apply(replayer, record);
+        });
+        long replayNanos = System.nanoTime() - start;
+        long lastSequence = records.isEmpty() ? checkpointSequence : records.get(records.size() - 1).sequence();
+
+        Recovery recovery = new Recovery(checkpointSequence, records.size(), replayNanos, false);
+        return new CommandJournal(directory, world, recovery, lastSequence, checkpointInterval);
+    }
+
+    // Replays one journaled action through the same controller entry point that produced it
+    public static void apply(MainGameLogicController controller, Record record) {
+        switch (record.kind()) {
+            case COMMAND -> controller.processInput(record.payload());
+            case MOVE -> {
+                String[] xy = record.payload().split(" ");
+                controller.movePlayerTo(Integer.parseInt(xy[0]), Integer.parseInt(xy[1]));
+            }
+            case TAKE_FLOOR -> controller.takeItemUnderPlayer();
+            case TAKE_CHEST -> controller.takeFromChestUnderPlayer();
+            default -> throw new IllegalArgumentException("Unknown journal record kind " + (char) record.kind());
+        }
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public Recovery getRecovery() {
+        return recovery;
+    }
+
+    // --- Game thread side ---
+
+    /**
+     * Queues an action for the journal and returns right away. The future completes with the
+     * action's sequence number once it is on disk, or exceptionally if the journal failed.
+     */
+    public CompletableFuture<Long> append(byte kind, String payload) {
+        CompletableFuture<Long> done = new CompletableFuture<>();
+        long sequence = nextSequence++;
+        byte[] text = payload.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer encoded = ByteBuffer.allocate(4 + RECORD_FIXED_BYTES + text.length + 4);
+        encoded.putInt(RECORD_FIXED_BYTES + text.length).putLong(sequence).put(kind).put(text);
+        CRC32 crc = new CRC32();
+        crc.update(encoded.array(), 4, RECORD_FIXED_BYTES + text.length);
+        encoded.putInt((int) crc.getValue()).flip();
+        enqueue(new Append(encoded, done, sequence), done);
+        return done;
+    }
+
+    // Called after each journaled action has been applied; writes a checkpoint every checkpointInterval actions
+    public void actionApplied() {
+        if (++actionsSinceCheckpoint >= checkpointInterval) {
+            checkpoint();
+        }
+    }
+
+    // Snapshots the world now (on the calling thread) and has the writer thread store it
+    public CompletableFuture<Long> checkpoint() {
+        CompletableFuture<Long> done = new CompletableFuture<>();
+        actionsSinceCheckpoint = 0;
+        try {
+            enqueue(new Checkpoint(nextSequence - 1, WorldWriter.encode(world), done), done);
+        } catch (IOException e) {
+            done.completeExceptionally(e);
+            GameConsole.errorln("Journal: checkpoint failed: " + e.getMessage());
+        }
+        return done;
+    }
+
+    private synchronized void enqueue(Task task, CompletableFuture<Long> done) {
+        if (failure != null || closed) {
+            done.completeExceptionally(failure != null ? failure : new IOException("Journal is closed"));
+            return;
+        }
+        pending.add(task);
+        notifyAll();
+    }
+
+    // Waits until everything queued so far is on disk
+    public void flush() throws IOException {
+        CompletableFuture<Long> marker;
+        synchronized (this) {
+            if (pending.isEmpty() && failure == null) return;
+            marker = new CompletableFuture<>();
+            enqueue(new Append(ByteBuffer.allocate(0), marker, -1), marker);
+        }
+        try {
+            marker.join();
+        } catch (RuntimeException e) {
+            throw new IOException("Journal flush failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (segment != null) segment.close();
+        if (failure != null) throw failure;
+    }
+
+    public synchronized String getStats() {
+        return String.format("Journal: %d records in %d fsyncs (%.1f per fsync), next sequence %d",
+                recordsWritten, commits, commits == 0 ? 0.0 : (double) recordsWritten / commits, nextSequence);
+    }
+
+    // --- Writer thread ---
+
+    private void writeLoop() {
+        List<Task> batch = new ArrayList<>();
+        while (true) {
+            synchronized (this) {
+                while (pending.isEmpty() && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending.isEmpty()) return; // Closed and drained
+                batch.addAll(pending);
+                pending.clear();
+            }
+            try {
+                writeBatch(batch);
+            } catch (IOException e) {
+                fail(e, batch);
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<Task> batch) throws IOException {
+        List<Append> appends = new ArrayList<>();
+        for (Task task : batch) {
+            if (task instanceof Append append) {
+                appends.add(append);
+            } else if (task instanceof Checkpoint checkpoint) {
+                commit(appends); // Records before the checkpoint go into the old segment
+                writeCheckpoint(checkpoint);
+            }
+        }
+        commit(appends);
+    }
+
+    // One gathering write and one fsync for every record queued since the last commit
+    private void commit(List<Append> appends) throws IOException {
+        if (appends.isEmpty()) return;
+        ByteBuffer[] buffers = new ByteBuffer[appends.size()];
+        long records = 0;
+        long bytes = 0;
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = appends.get(i).encoded();
+            bytes += buffers[i].remaining();
+            if (appends.get(i).sequence() >= 0) records++; // Not a flush marker
+        }
+        while (bytes > 0) {
+            bytes -= segment.write(buffers);
+        }
+        segment.force(false);
+        synchronized (this) {
+            commits++;
+            recordsWritten += records;
+        }
+        for (Append append : appends) append.done().complete(append.sequence());
+        appends.clear();
+    }
+
+    private void writeCheckpoint(Checkpoint checkpoint) throws IOException {
+        WorldWriter.writeFile(checkpoint.data(), checkpointPath(directory, checkpoint.sequence()));
+        previousCheckpoint = currentCheckpoint;
+        currentCheckpoint = checkpoint.sequence();
+        if (segmentStart != checkpoint.sequence() + 1) {
+            segment.close();
+            openSegment(checkpoint.sequence() + 1);
+        }
+        deleteObsoleteFiles();
+        checkpoint.done().complete(checkpoint.sequence());
+    }
+
+    // Keeps the last two checkpoints and every journal file with records after the older one
+    private void deleteObsoleteFiles() throws IOException {
+        for (long sequence : listSequences(directory, "checkpoint-", ".sav")) {
+            if (sequence < previousCheckpoint) Files.deleteIfExists(checkpointPath(directory, sequence));
+        }
+        List<Long> segments = listSequences(directory, "journal-", ".log");
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            // Segment i ends right before segment i + 1 starts
+            if (segments.get(i + 1) - 1 <= previousCheckpoint) Files.deleteIfExists(segmentPath(directory, segments.get(i)));
+        }
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        segment = FileChannel.open(segmentPath(directory, firstSequence),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        segmentStart = firstSequence;
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_BYTES).putInt(SEGMENT_MAGIC).putShort(SEGMENT_VERSION).flip();
+        while (header.hasRemaining()) segment.write(header);
+        segment.force(true);
+    }
+
+    private void fail(IOException e, List<Task> batch) {
+        List<Task> abandoned = new ArrayList<>(batch);
+        synchronized (this) {
+            failure = e;
+            abandoned.addAll(pending);
+            pending.clear();
+        }
+        GameConsole.errorln("Journal: write failed, journaling stopped: " + e.getMessage());
+        for (Task task : abandoned) {
+            if (task instanceof Append append) append.done().completeExceptionally(e);
+            else if (task instanceof Checkpoint checkpoint) checkpoint.done().completeExceptionally(e);
+        }
+    }
+
+    // --- Reading ---
+
+    // Records after afterSequence, in order. A torn or corrupt tail (crash mid-write) ends its
+    // file; the next file is only used if it continues the sequence without a gap.
+    static List<Record> readRecords(Path directory, long afterSequence) throws IOException {
+        List<Record> records = new ArrayList<>();
+        long expected = afterSequence + 1;
+        for (long start : listSequences(directory, "journal-", ".log")) {
+            if (start > expected) break; // Gap: later records can't be applied
+            ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(segmentPath(directory, start)));
+            if (data.remaining() < SEGMENT_HEADER_BYTES || data.getInt() != SEGMENT_MAGIC) continue;
+            short version = data.getShort();
+            if (version != SEGMENT_VERSION) throw new IOException("Unsupported journal version " + version + " in segment " + start);
+            CRC32 crc = new CRC32();
+            while (data.remaining() >= 4) {
+                int length = data.getInt();
+                if (length < RECORD_FIXED_BYTES || length + 4 > data.remaining()) break; // Torn write
+                crc.reset();
+                crc.update(data.array(), data.position(), length);
+                long sequence = data.getLong();
+                byte kind = data.get();
+                String payload = new String(data.array(), data.position(), length - RECORD_FIXED_BYTES, StandardCharsets.UTF_8);
+                data.position(data.position() + length - RECORD_FIXED_BYTES);
+                if ((int) crc.getValue() != data.getInt()) break; // Corrupt record
+                if (sequence < expected) continue; // Already in the checkpoint
+                if (sequence != expected) break;
+                records.add(new Record(sequence, kind, payload));
+                expected++;
+            }
+        }
+        return records;
+    }
+
+    private static List<Long> listSequences(Path directory, String prefix, String suffix) throws IOException {
+        List<Long> sequences = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+                    .forEach(name -> {
+                        try {
+                            sequences.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())));
+                        } catch (NumberFormatException ignored) {
+                            // Not one of ours (e.g. a .tmp left by an interrupted save)
+                        }
+                    });
+        }
+        sequences.sort(null);
+        return sequences;
+    }
+
+    private static Path checkpointPath(Path directory, long sequence) {
+        return directory.resolve(String.format("checkpoint-%012d.sav", sequence));
+    }
+
+    private static Path segmentPath(Path directory, long firstSequence) {
+        return directory.resolve(String.format("journal-%012d.log", firstSequence));
+    }
+}
@@ -0,0 +1,315 @@
+package com.OOP.persistence;
+
+import com.OOP.model.core.Door;
+import com.OOP.model.core.Room;
+import com.OOP.model.core.RoomStore;
+import com.OOP.model.core.TileGrid;
+import com.OOP.model.core.World;
+import com.OOP.model.entities.LivingBeing;
+import com.OOP.model.entities.Player;
+import com.OOP.model.interactables.Chest;
+import com.OOP.model.interactables.Lock;
+import com.OOP.model.items.Item;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A {@link RoomStore} backed by one page file. Each evicted room is encoded on its own into a slot
+ * of the file, with the items and beings written by {@link SaveCodec} like in a save, but strings
+ * and items inline and doors/locks by id. Only the slot table (room id -> offset and capacity)
+ * stays in memory.
+ * A room that still fits its old slot is rewritten in place, otherwise it gets a new slot at the
+ * end of the file; the old slot is not reused (see {@link #getWastedBytes()}).
+ * <pre>
+ * slot   length (int), then the room: id, name, description, last AI tick (long), width, height, tiles,
+ *        floor items, chests (lock id, open, tile, contents), exits (direction, door id),
+ *        beings (kind tag, stats, tile, inventory, equipment, kind data)
+ * </pre>
+ * Pages are scratch data for one session: the file is deleted when the store is closed.
+ */
+public class RoomPageFile implements RoomStore {
+    private static final int SLOT_HEADER_BYTES = 4;
+    private static final long MAX_SLOT = (1L << 24) - 1;
+
+    private final FileChannel channel;
+    private final Map<String, Long> slots = new HashMap<>(); // Room id -> offset << 24 | capacity
+    private final SaveCodec.ByteSink sink = new SaveCodec.ByteSink(4096);
+    private final PageWriter writer = new PageWriter(sink);
+    private long end;
+    private long wastedBytes;
+    private int reads;
+    private int writes;
+
+    public RoomPageFile(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.DELETE_ON_CLOSE);
+    }
+
+    public static RoomPageFile createTemp() throws IOException {
+        Path file = Files.createTempFile("world-pages", ".bin");
+        file.toFile().deleteOnExit(); // In case the store is never closed
+        return new RoomPageFile(file);
+    }
+
+    @Override
+    public boolean contains(String roomId) {
+        return slots.containsKey(roomId);
+    }
+
+    @Override
+    public void write(Room room) throws IOException {
+        sink.clear();
+        sink.writeByte(0); // Length placeholder, patched below
+        sink.writeByte(0);
+        sink.writeByte(0);
+        sink.writeByte(0);
+        writer.encodeRoom(room);
+        ByteBuffer page = sink.flip();
+        int length = page.remaining();
+        if (length > MAX_SLOT) throw new IOException("Room " + room.getId() + " is too large to page (" + length + " bytes)");
+        page.putInt(0, length - SLOT_HEADER_BYTES);
+
+        Long slot = slots.get(room.getId());
+        long offset;
+        long capacity;
+        if (slot != null && length <= (slot & MAX_SLOT)) {
+            offset = slot >>> 24;
+            capacity = slot & MAX_SLOT;
+        } else {
+            if (slot != null) wastedBytes += slot & MAX_SLOT;
+            offset = end;
+            capacity = length;
+            end += length;
+        }
+        long position = offset;
+        while (page.hasRemaining()) position += channel.write(page, position);
+        slots.put(room.getId(), offset << 24 | capacity);
+        writes++;
+    }
+
+    @Override
+    public Room read(String roomId, World world) throws IOException {
+        Long slot = slots.get(roomId);
+        if (slot == null) return null;
+        long offset = slot >>> 24;
+        ByteBuffer header = ByteBuffer.allocate(SLOT_HEADER_BYTES);
+        readFully(header, offset);
+        ByteBuffer page = ByteBuffer.allocate(header.flip().getInt());
+        readFully(page, offset + SLOT_HEADER_BYTES);
+        page.flip();
+        reads++;
+        try {
+            return new PageReader(page, world).readRoom();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException | ClassCastException e) {
+            throw new IOException("Page of room " + roomId + " is corrupt", e);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) throw new EOFException("Page file is truncated");
+            position += read;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    public int getReadCount() {
+        return reads;
+    }
+
+    public int getWriteCount() {
+        return writes;
+    }
+
+    // Bytes of slots left behind by rooms that outgrew them
+    public long getWastedBytes() {
+        return wastedBytes;
+    }
+
+    // --- Encoding ---
+
+    private static final class PageWriter extends SaveCodec.Encoder {
+        PageWriter(SaveCodec.ByteSink out) {
+            super(out);
+        }
+
+        void encodeRoom(Room room) throws IOException {
+            writeString(room.getId());
+            writeString(room.getName());
+            writeString(room.getBaseDescription());
+            out.writeLong(room.getLastSimulatedTick());
+            TileGrid grid = room.getTileGrid();
+            out.writeVarInt(grid.getWidth());
+            out.writeVarInt(grid.getHeight());
+            out.writeBytes(grid.getTiles());
+
+            List<Item> floorItems = room.getItemsOnFloor();
+            out.writeVarInt(floorItems.size());
+            for (Item item : floorItems) writeItem(item);
+
+            out.writeVarInt(room.getChests().size());
+            for (Chest chest : room.getChests()) {
+                writeString(chest.getId());
+                writeString(chest.getName());
+                writeString(chest.getBaseDescription());
+                writeString(chest.getLock() != null ? chest.getLock().getId() : null);
+                out.writeBoolean(chest.isOpen());
+                out.writeSignedVarInt(chest.getTileX());
+                out.writeSignedVarInt(chest.getTileY());
+                out.writeVarInt(chest.getContents().size());
+                for (Item item : chest.getContents()) writeItem(item);
+            }
+
+            Map<String, Door> exits = room.getExits();
+            out.writeVarInt(exits.size());
+            for (Map.Entry<String, Door> exit : exits.entrySet()) {
+                writeString(exit.getKey());
+                writeString(exit.getValue().getId());
+            }
+
+            List<LivingBeing> beings = room.getLivingBeings();
+            out.writeVarInt(beings.size());
+            for (LivingBeing being : beings) writeBeing(being);
+        }
+
+        @Override
+        void writeBeing(LivingBeing being) throws IOException {
+            if (being instanceof Player) throw new IOException("The player's room cannot be paged out");
+            super.writeBeing(being);
+        }
+
+        // Items are not shared between rooms, so a page writes them inline
+        @Override
+        void writeItemRef(Item item) throws IOException {
+            writeItem(item);
+        }
+
+        @Override
+        void writeOptionalItemRef(Item item) throws IOException {
+            out.writeBoolean(item != null);
+            if (item != null) writeItem(item);
+        }
+
+        // Equipment is always in the inventory, so it is written as inventory index + 1
+        @Override
+        void writeEquipped(List<Item> inventory, Item item) {
+            out.writeVarInt(inventory.indexOf(item) + 1);
+        }
+
+        // Length + 1 and UTF-8 bytes; 0 = null
+        @Override
+        void writeString(String s) {
+            if (s == null) {
+                out.writeVarInt(0);
+                return;
+            }
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            out.writeVarInt(utf8.length + 1);
+            out.writeBytes(utf8);
+        }
+    }
+
+    // --- Decoding ---
+
+    private static final class PageReader extends SaveCodec.Decoder {
+        private final World world;
+
+        PageReader(ByteBuffer in, World world) {
+            super(in);
+            this.world = world;
+        }
+
+        Room readRoom() throws IOException {
+            String id = readString();
+            String name = readString();
+            String description = readString();
+            long lastSimulatedTick = in.getLong();
+            int width = readVarInt();
+            int height = readVarInt();
+            byte[] tiles = new byte[width * height];
+            in.get(tiles);
+            Room room = new Room(id, name, description, new TileGrid(width, height, tiles));
+            room.setLastSimulatedTick(lastSimulatedTick);
+
+            int floorItemCount = readVarInt();
+            for (int i = 0; i < floorItemCount; i++) {
+                Item item = readItem();
+                room.placeItem(item, item.getTileX(), item.getTileY());
+            }
+
+            int chestCount = readVarInt();
+            for (int i = 0; i < chestCount; i++) {
+                String chestId = readString();
+                String chestName = readString();
+                String chestDescription = readString();
+                Lock lock = lookup(readString(), world::getPagedLock, "lock");
+                boolean open = readBoolean();
+                Chest chest = new Chest(chestId, chestName, chestDescription, lock, readSignedVarInt(), readSignedVarInt());
+                chest.setOpen(open);
+                int contentCount = readVarInt();
+                for (int c = 0; c < contentCount; c++) chest.addItem(readItem());
+                room.addChest(chest, chest.getTileCoordinates());
+            }
+
+            int exitCount = readVarInt();
+            for (int i = 0; i < exitCount; i++) {
+                String direction = readString();
+                room.addExit(direction, lookup(readString(), world::getPagedDoor, "door"));
+            }
+
+            int beingCount = readVarInt();
+            for (int i = 0; i < beingCount; i++) readBeing(room);
+            if (in.hasRemaining()) throw new IllegalArgumentException(in.remaining() + " unread bytes at end of page");
+            return room;
+        }
+
+        private <T> T lookup(String id, Function<String, T> table, String what) throws IOException {
+            if (id == null) return null;
+            T value = table.apply(id);
+            if (value == null) throw new IOException("Paged room refers to unknown " + what + " " + id);
+            return value;
+        }
+
+        @Override
+        Item readItemRef() {
+            return readItem();
+        }
+
+        @Override
+        Item readOptionalItemRef() {
+            return readBoolean() ? readItem() : null;
+        }
+
+        @Override
+        Item readEquipped(Item[] inventory) {
+            int ref = readVarInt();
+            return ref == 0 ? null : inventory[ref - 1];
+        }
+
+        @Override
+        String readString() {
+            int length = readVarInt() - 1;
+            if (length < 0) return null;
+            String s = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+            return s;
+        }
+    }
+}
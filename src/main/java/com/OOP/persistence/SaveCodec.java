@@ -0,0 +1,279 @@
+package com.OOP.persistence;
+
+import com.OOP.model.core.Room;
+import com.OOP.model.entities.Enemy;
+import com.OOP.model.entities.LivingBeing;
+import com.OOP.model.entities.Merchant;
+import com.OOP.model.entities.Player;
+import com.OOP.model.entities.Teammate;
+import com.OOP.model.items.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The encoding shared by saves ({@link WorldWriter}/{@link WorldReader}) and paged rooms
+ * ({@link RoomPageFile}): varints, and items and living beings with their kind tags from
+ * {@link SaveFormat}. The two formats only differ in how strings and items inside a being are
+ * referred to (string table and item table in a save, inline in a page), so each side
+ * subclasses {@link Encoder}/{@link Decoder} and fills in those few methods.
+ * A new Item or LivingBeing type only has to be added here.
+ */
+final class SaveCodec {
+    private SaveCodec() {
+    }
+
+    static byte itemKind(Item item) throws IOException {
+        if (item instanceof Key) return SaveFormat.ITEM_KEY;
+        if (item instanceof Gold) return SaveFormat.ITEM_GOLD;
+        if (item instanceof Weapon) return SaveFormat.ITEM_WEAPON;
+        if (item instanceof Shield) return SaveFormat.ITEM_SHIELD;
+        if (item instanceof Medicine) return SaveFormat.ITEM_MEDICINE;
+        if (item instanceof Crowbar) return SaveFormat.ITEM_CROWBAR;
+        throw new IOException("Cannot write item " + item.getId() + " of type " + item.getClass().getName());
+    }
+
+    static byte beingKind(LivingBeing being) throws IOException {
+        if (being instanceof Player) return SaveFormat.BEING_PLAYER;
+        if (being instanceof Enemy) return SaveFormat.BEING_ENEMY;
+        if (being instanceof Merchant) return SaveFormat.BEING_MERCHANT;
+        if (being instanceof Teammate) return SaveFormat.BEING_TEAMMATE;
+        throw new IOException("Cannot write " + being.getId() + " of type " + being.getClass().getName());
+    }
+
+    abstract static class Encoder {
+        protected final ByteSink out;
+
+        Encoder(ByteSink out) {
+            this.out = out;
+        }
+
+        abstract void writeString(String s);
+
+        // An item carried by a being or sold by a merchant, never null
+        abstract void writeItemRef(Item item) throws IOException;
+
+        // An enemy's loot, may be null
+        abstract void writeOptionalItemRef(Item item) throws IOException;
+
+        // An equipped weapon or shield (null = nothing), which is always also in the inventory
+        abstract void writeEquipped(List<Item> inventory, Item item);
+
+        void writeItem(Item item) throws IOException {
+            byte kind = itemKind(item);
+            out.writeByte(kind);
+            writeString(item.getId());
+            writeString(item.getName());
+            writeString(item.getBaseDescription());
+            out.writeSignedVarInt(item.getTileX());
+            out.writeSignedVarInt(item.getTileY());
+            switch (kind) {
+                case SaveFormat.ITEM_KEY -> writeString(((Key) item).getOpensLockId());
+                case SaveFormat.ITEM_GOLD -> out.writeSignedVarInt(((Gold) item).getAmount());
+                case SaveFormat.ITEM_WEAPON -> out.writeSignedVarInt(((Weapon) item).getDamage());
+                case SaveFormat.ITEM_SHIELD -> out.writeSignedVarInt(((Shield) item).getBlockValue());
+                case SaveFormat.ITEM_MEDICINE -> out.writeSignedVarInt(((Medicine) item).getHealingAmount());
+                default -> { } // Crowbar has no extra state
+            }
+        }
+
+        void writeBeing(LivingBeing being) throws IOException {
+            out.writeByte(beingKind(being));
+            writeString(being.getId());
+            writeString(being.getName());
+            writeString(being.getBaseDescription());
+            out.writeSignedVarInt(being.getHealthPoints());
+            out.writeSignedVarInt(being.getMaxHealthPoints());
+            out.writeSignedVarInt(being.getBaseAttackPower());
+            out.writeSignedVarInt(being.getTileX());
+            out.writeSignedVarInt(being.getTileY());
+            List<Item> inventory = being.getInventory();
+            out.writeVarInt(inventory.size());
+            for (Item item : inventory) writeItemRef(item);
+            writeEquipped(inventory, being.getEquippedWeapon());
+            writeEquipped(inventory, being.getEquippedShield());
+            switch (being) {
+                case Player player -> out.writeSignedVarInt(player.getGoldQuantity());
+                case Enemy enemy -> writeOptionalItemRef(enemy.getLoot());
+                case Merchant merchant -> {
+                    out.writeBoolean(merchant.isFriendly());
+                    out.writeVarInt(merchant.getCatalog().size());
+                    for (Map.Entry<Item, Integer> entry : merchant.getCatalog().entrySet()) {
+                        writeItemRef(entry.getKey());
+                        out.writeSignedVarInt(entry.getValue());
+                    }
+                }
+                default -> { } // Teammate has no extra state
+            }
+        }
+    }
+
+    // Reads what an Encoder wrote. Malformed data throws the unchecked buffer/argument exceptions,
+    // which the callers turn into an IOException naming the file or page.
+    abstract static class Decoder {
+        protected final ByteBuffer in;
+
+        Decoder(ByteBuffer in) {
+            this.in = in;
+        }
+
+        abstract String readString();
+
+        abstract Item readItemRef();
+
+        abstract Item readOptionalItemRef();
+
+        abstract Item readEquipped(Item[] inventory);
+
+        Item readItem() {
+            byte kind = in.get();
+            String id = readString();
+            String name = readString();
+            String description = readString();
+            int tileX = readSignedVarInt();
+            int tileY = readSignedVarInt();
+            Item item = switch (kind) {
+                case SaveFormat.ITEM_KEY -> new Key(id, name, description, readString());
+                case SaveFormat.ITEM_GOLD -> new Gold(id, name, description, readSignedVarInt());
+                case SaveFormat.ITEM_WEAPON -> new Weapon(id, name, description, readSignedVarInt());
+                case SaveFormat.ITEM_SHIELD -> new Shield(id, name, description, readSignedVarInt());
+                case SaveFormat.ITEM_MEDICINE -> new Medicine(id, name, description, readSignedVarInt());
+                case SaveFormat.ITEM_CROWBAR -> new Crowbar(id, name, description);
+                default -> throw new IllegalArgumentException("Unknown item kind " + kind);
+            };
+            item.setTileCoordinates(tileX, tileY);
+            return item;
+        }
+
+        LivingBeing readBeing(Room room) {
+            byte kind = in.get();
+            String id = readString();
+            String name = readString();
+            String description = readString();
+            int healthPoints = readSignedVarInt();
+            int maxHealthPoints = readSignedVarInt();
+            int attackPower = readSignedVarInt();
+            int tileX = readSignedVarInt();
+            int tileY = readSignedVarInt();
+            Item[] inventory = new Item[readCount()];
+            for (int i = 0; i < inventory.length; i++) inventory[i] = readItemRef();
+            Item weapon = readEquipped(inventory);
+            Item shield = readEquipped(inventory);
+
+            // Built without a room so no constructor picks a random tile; restorePosition places it below
+            LivingBeing being = switch (kind) {
+                case SaveFormat.BEING_PLAYER -> {
+                    Player player = new Player(name, maxHealthPoints, attackPower, room); // Id is always "player_id"
+                    player.setDescription(description);
+                    player.setGoldQuantity(readSignedVarInt());
+                    yield player;
+                }
+                case SaveFormat.BEING_ENEMY -> new Enemy(id, name, description, maxHealthPoints, attackPower, null, readOptionalItemRef());
+                case SaveFormat.BEING_MERCHANT -> {
+                    Merchant merchant = new Merchant(id, name, description, null);
+                    merchant.setFriendly(readBoolean());
+                    int catalogSize = readCount();
+                    for (int i = 0; i < catalogSize; i++) merchant.addToCatalog(readItemRef(), readSignedVarInt());
+                    yield merchant;
+                }
+                case SaveFormat.BEING_TEAMMATE -> new Teammate(id, name, description, maxHealthPoints, attackPower, null);
+                default -> throw new IllegalArgumentException("Unknown being kind " + kind);
+            };
+            being.restoreStats(healthPoints, maxHealthPoints, attackPower);
+            for (Item item : inventory) being.addToInventory(item);
+            being.restoreEquipment((Weapon) weapon, (Shield) shield);
+            being.restorePosition(room, tileX, tileY);
+            return being;
+        }
+
+        boolean readBoolean() {
+            return in.get() != 0;
+        }
+
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = in.get();
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) return value;
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        int readSignedVarInt() {
+            int raw = readVarInt();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        // A count or length; every entry takes at least one byte, so anything larger is corrupt
+        int readCount() {
+            int count = readVarInt();
+            if (count < 0 || count > in.remaining()) throw new IllegalArgumentException("Count " + count + " exceeds the remaining data");
+            return count;
+        }
+    }
+
+    // Growable heap buffer with the varint encodings read back by Decoder
+    static final class ByteSink {
+        private ByteBuffer buffer;
+
+        ByteSink(int initialCapacity) {
+            buffer = ByteBuffer.allocate(initialCapacity);
+        }
+
+        private void ensure(int bytes) {
+            if (buffer.remaining() < bytes) {
+                int capacity = Math.max(buffer.capacity() * 2, buffer.position() + bytes);
+                ByteBuffer bigger = ByteBuffer.allocate(capacity);
+                buffer.flip();
+                bigger.put(buffer);
+                buffer = bigger;
+            }
+        }
+
+        void writeByte(int b) {
+            ensure(1);
+            buffer.put((byte) b);
+        }
+
+        void writeBoolean(boolean b) {
+            writeByte(b ? 1 : 0);
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            buffer.putLong(value);
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensure(bytes.length);
+            buffer.put(bytes);
+        }
+
+        // Unsigned LEB128: 7 bits per byte, high bit set on all but the last byte
+        void writeVarInt(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        // Zigzag first so small negative numbers (-1 = unplaced) stay one byte
+        void writeSignedVarInt(int value) {
+            writeVarInt((value << 1) ^ (value >> 31));
+        }
+
+        ByteBuffer flip() {
+            return buffer.flip();
+        }
+
+        // Empties the sink for reuse, keeping its buffer
+        void clear() {
+            buffer.clear();
+        }
+    }
+}
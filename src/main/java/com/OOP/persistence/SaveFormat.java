@@ -0,0 +1,48 @@
+package com.OOP.persistence;
+
+/**
+ * Layout of the binary save file written by {@link WorldWriter} and read by {@link WorldReader}.
+ * <pre>
+ * header   magic "OOPW" (int), version (short), body length (int)
+ * body     strings  count, then each as length + UTF-8 bytes
+ *          random   has-state flag, then the GameRandom state as a long (version 2+)
+ *          tick     world tick as a long (version 3+)
+ *          locks    count, then id, description, locked, pryable, key ids
+ *          items    count, then kind tag, id, name, description, tile x/y, kind data
+ *          rooms    count, then id, name, description, ticks since its AI last ran (version 3+),
+ *                   width, height, raw tiles, floor items, chests (with contents)
+ *          doors    count, then id, name, description, room1, room2, lock, 5 points
+ *          exits    per room: count, then direction + door
+ *          beings   per room: count, then kind tag, stats, tile, inventory, equipment, kind data
+ *          player   being index
+ * trailer  CRC32 of the body (int)
+ * </pre>
+ * Every object is written once and referenced by its index in its table, so shared objects
+ * (a lock used by a door and a chest, an item both carried and equipped) stay shared after loading.
+ * Counts, indexes and lengths are unsigned varints; tile coordinates are zigzag varints
+ * because unplaced things sit at -1. Optional references are written as index + 1 (0 = none).
+ */
+public final class SaveFormat {
+    public static final int MAGIC = 0x4F4F5057; // "OOPW"
+    public static final short VERSION = 3;
+    public static final short MIN_VERSION = 1; // Version 1 saves have no random state
+    public static final int HEADER_BYTES = 4 + 2 + 4;
+    public static final int TRAILER_BYTES = 4;
+
+    // Item kinds
+    static final byte ITEM_KEY = 1;
+    static final byte ITEM_GOLD = 2;
+    static final byte ITEM_WEAPON = 3;
+    static final byte ITEM_SHIELD = 4;
+    static final byte ITEM_MEDICINE = 5;
+    static final byte ITEM_CROWBAR = 6;
+
+    // Living being kinds
+    static final byte BEING_PLAYER = 1;
+    static final byte BEING_ENEMY = 2;
+    static final byte BEING_MERCHANT = 3;
+    static final byte BEING_TEAMMATE = 4;
+
+    private SaveFormat() {
+    }
+}
@@ -0,0 +1,240 @@
+package com.OOP.persistence;
+
+import com.OOP.model.core.Door;
+import com.OOP.model.core.Room;
+import com.OOP.model.core.TileGrid;
+import com.OOP.model.core.World;
+import com.OOP.model.entities.LivingBeing;
+import com.OOP.model.entities.Player;
+import com.OOP.model.interactables.Chest;
+import com.OOP.model.interactables.Lock;
+import com.OOP.model.items.Item;
+import com.OOP.utils.GameRandom;
+
+import java.awt.Point;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32;
+
+/**
+ * Reads a save written by {@link WorldWriter} back into a new {@link World}.
+ * The whole file is read with one channel read into a heap buffer and checked against its
+ * CRC before any object is built. Objects are restored through the model's restore/set methods,
+ * so loading prints nothing and publishes no events. Items and beings are decoded by {@link SaveCodec}.
+ */
+public class WorldReader extends SaveCodec.Decoder {
+    private final short version;
+    private String[] strings;
+    private Lock[] locks;
+    private Item[] items;
+    private Room[] rooms;
+    private Door[] doors;
+    private LivingBeing[] beings;
+
+    private WorldReader(ByteBuffer in, short version) {
+        super(in);
+        this.version = version;
+    }
+
+    // The loaded world continues the saved random sequence (if the save has one)
+    public static World load(Path file) throws IOException {
+        return load(file, null);
+    }
+
+    // Loads into a world that uses the given generator instead of the saved one
+    public static World load(Path file, Random random) throws IOException {
+        ByteBuffer data = readFully(file);
+        if (data.remaining() < SaveFormat.HEADER_BYTES + SaveFormat.TRAILER_BYTES) {
+            throw new IOException("Not a save file (too short): " + file);
+        }
+        if (data.getInt() != SaveFormat.MAGIC) {
+            throw new IOException("Not a save file: " + file);
+        }
+        short version = data.getShort();
+        if (version < SaveFormat.MIN_VERSION || version > SaveFormat.VERSION) {
+            throw new IOException("Unsupported save version " + version + " in " + file
+                    + " (supported " + SaveFormat.MIN_VERSION + " to " + SaveFormat.VERSION + ")");
+        }
+        int bodyLength = data.getInt();
+        if (bodyLength != data.remaining() - SaveFormat.TRAILER_BYTES) {
+            throw new IOException("Save file is truncated or has trailing data: " + file);
+        }
+        ByteBuffer body = data.slice(data.position(), bodyLength);
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        if ((int) crc.getValue() != data.getInt(data.position() + bodyLength)) {
+            throw new IOException("Save file is corrupt (checksum mismatch): " + file);
+        }
+
+        try {
+            return new WorldReader(body, version).readWorld(random);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException | ClassCastException | NullPointerException e) {
+            throw new IOException("Save file is corrupt: " + file, e);
+        }
+    }
+
+    private static ByteBuffer readFully(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new IOException("Save file too large: " + file);
+            ByteBuffer data = ByteBuffer.allocate((int) size);
+            while (data.hasRemaining()) {
+                if (channel.read(data) < 0) throw new EOFException("Save file shrank while reading: " + file);
+            }
+            return data.flip();
+        }
+    }
+
+    private World readWorld(Random random) {
+        strings = new String[readCount()];
+        for (int i = 0; i < strings.length; i++) {
+            int length = readCount();
+            strings[i] = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        }
+
+        Long randomState = null;
+        if (version >= 2 && readBoolean()) randomState = in.getLong();
+        if (random == null) {
+            GameRandom restored = new GameRandom();
+            if (randomState != null) restored.setState(randomState);
+            random = restored;
+        }
+
+        long tick = version >= 3 ? in.getLong() : 0;
+
+        locks = new Lock[readCount()];
+        for (int i = 0; i < locks.length; i++) {
+            Lock lock = new Lock(readString(), readString(), readBoolean(), readBoolean());
+            int keyCount = readCount();
+            for (int k = 0; k < keyCount; k++) lock.addAcceptableKeyId(readString());
+            locks[i] = lock;
+        }
+
+        items = new Item[readCount()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = readItem();
+        }
+
+        World world = new World(random);
+        world.setTick(tick);
+        rooms = new Room[readCount()];
+        for (int i = 0; i < rooms.length; i++) {
+            String roomId = readString();
+            String roomName = readString();
+            String roomDescription = readString();
+            long lastSimulatedTick = version >= 3 ? tick - readVarInt() : 0;
+            Room room = new Room(roomId, roomName, roomDescription, readTileGrid());
+            room.setLastSimulatedTick(lastSimulatedTick);
+            world.addRoom(room);
+            int floorItemCount = readCount();
+            for (int k = 0; k < floorItemCount; k++) {
+                Item item = items[readVarInt()];
+                room.placeItem(item, item.getTileX(), item.getTileY());
+            }
+            int chestCount = readCount();
+            for (int k = 0; k < chestCount; k++) {
+                String id = readString();
+                String name = readString();
+                String description = readString();
+                Lock lock = readOptional(locks);
+                boolean open = readBoolean();
+                Chest chest = new Chest(id, name, description, lock, readSignedVarInt(), readSignedVarInt());
+                chest.setOpen(open);
+                int contentCount = readCount();
+                for (int c = 0; c < contentCount; c++) chest.addItem(items[readVarInt()]);
+                room.addChest(chest, chest.getTileCoordinates());
+            }
+            rooms[i] = room;
+        }
+
+        doors = new Door[readCount()];
+        for (int i = 0; i < doors.length; i++) {
+            String id = readString();
+            String name = readString();
+            String description = readString();
+            Room room1 = readOptional(rooms);
+            Room room2 = readOptional(rooms);
+            Lock lock = readOptional(locks);
+            Point doorTile = readPoint();
+            Point visualTileInRoom1 = readPoint();
+            Point entryToRoom2 = readPoint();
+            Point visualTileInRoom2 = readPoint();
+            Point entryToRoom1 = readPoint();
+            doors[i] = new Door(id, name, doorTile, description, room1, room2, lock,
+                    visualTileInRoom1, entryToRoom2, visualTileInRoom2, entryToRoom1);
+        }
+
+        for (Room room : rooms) {
+            int exitCount = readCount();
+            for (int k = 0; k < exitCount; k++) {
+                room.addExit(readString(), doors[readVarInt()]);
+            }
+        }
+
+        int beingCount = 0;
+        beings = new LivingBeing[16];
+        for (Room room : rooms) {
+            int count = readCount();
+            for (int k = 0; k < count; k++) {
+                if (beingCount == beings.length) beings = Arrays.copyOf(beings, beingCount * 2);
+                beings[beingCount++] = readBeing(room);
+            }
+        }
+        int playerIndex = readVarInt() - 1;
+        if (playerIndex >= beingCount) throw new IllegalArgumentException("Player index out of range: " + playerIndex);
+        if (playerIndex >= 0) world.setPlayer((Player) beings[playerIndex]);
+        if (in.hasRemaining()) throw new IllegalArgumentException(in.remaining() + " unread bytes at end of save");
+        return world;
+    }
+
+    private TileGrid readTileGrid() {
+        int width = readCount();
+        int height = readCount();
+        if ((long) width * height > in.remaining()) throw new IllegalArgumentException("Room size " + width + "x" + height + " exceeds save data");
+        byte[] tiles = new byte[width * height];
+        in.get(tiles);
+        return new TileGrid(width, height, tiles);
+    }
+
+    // --- Table references ---
+
+    @Override
+    Item readItemRef() {
+        return items[readVarInt()];
+    }
+
+    @Override
+    Item readOptionalItemRef() {
+        return readOptional(items);
+    }
+
+    @Override
+    Item readEquipped(Item[] inventory) {
+        return readOptional(items);
+    }
+
+    @Override
+    String readString() {
+        int ref = readVarInt();
+        return ref == 0 ? null : strings[ref - 1];
+    }
+
+    private <T> T readOptional(T[] table) {
+        int ref = readVarInt();
+        return ref == 0 ? null : table[ref - 1];
+    }
+
+    private Point readPoint() {
+        if (!readBoolean()) return null;
+        return new Point(readSignedVarInt(), readSignedVarInt());
+    }
+}
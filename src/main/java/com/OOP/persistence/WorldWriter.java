@@ -0,0 +1,281 @@
+package com.OOP.persistence;
+
+import com.OOP.model.core.Door;
+import com.OOP.model.core.Room;
+import com.OOP.model.core.TileGrid;
+import com.OOP.model.core.World;
+import com.OOP.model.entities.Enemy;
+import com.OOP.model.entities.LivingBeing;
+import com.OOP.model.entities.Merchant;
+import com.OOP.model.interactables.Chest;
+import com.OOP.model.interactables.Lock;
+import com.OOP.model.items.Item;
+import com.OOP.utils.GameRandom;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Writes a {@link World} to the binary format described in {@link SaveFormat}.
+ * The file is written to a temporary sibling first and then moved over the target,
+ * so a crash while saving never leaves a half-written save behind.
+ * Items and beings are encoded by {@link SaveCodec}; this class adds the string and item tables.
+ */
+public class WorldWriter extends SaveCodec.Encoder {
+    private final Map<String, Integer> stringIndex = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private final Map<Lock, Integer> lockIndex = new IdentityHashMap<>();
+    private final Map<Item, Integer> itemIndex = new IdentityHashMap<>();
+    private final Map<Room, Integer> roomIndex = new IdentityHashMap<>();
+    private final Map<Door, Integer> doorIndex = new IdentityHashMap<>();
+    private final List<Room> rooms = new ArrayList<>();
+
+    private WorldWriter() {
+        super(new SaveCodec.ByteSink(1 << 16));
+    }
+
+    public static void save(World world, Path file) throws IOException {
+        writeFile(encode(world), file);
+    }
+
+    // Serializes the world into memory. The world must not change while this runs, but the
+    // returned buffers no longer reference it and can be written later (e.g. on an I/O thread).
+    public static ByteBuffer[] encode(World world) throws IOException {
+        return new WorldWriter().encodeWorld(world);
+    }
+
+    private ByteBuffer[] encodeWorld(World world) throws IOException {
+        if (world.isPaged()) {
+            // Evicted rooms are not in getRooms() and reloaded rooms are new objects, so a walk would not be consistent
+            throw new IOException("A paged world cannot be saved as a whole");
+        }
+        collect(world);
+        writeBody(world);
+
+        SaveCodec.ByteSink stringTable = new SaveCodec.ByteSink(Math.max(64, strings.size() * 16));
+        stringTable.writeVarInt(strings.size());
+        for (String s : strings) {
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            stringTable.writeVarInt(utf8.length);
+            stringTable.writeBytes(utf8);
+        }
+
+        ByteBuffer stringBytes = stringTable.flip();
+        ByteBuffer bodyBytes = out.flip();
+        CRC32 crc = new CRC32();
+        crc.update(stringBytes.duplicate());
+        crc.update(bodyBytes.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(SaveFormat.HEADER_BYTES);
+        header.putInt(SaveFormat.MAGIC).putShort(SaveFormat.VERSION).putInt(stringBytes.remaining() + bodyBytes.remaining()).flip();
+        ByteBuffer trailer = ByteBuffer.allocate(SaveFormat.TRAILER_BYTES);
+        trailer.putInt((int) crc.getValue()).flip();
+        return new ByteBuffer[] {header, stringBytes, bodyBytes, trailer};
+    }
+
+    public static void writeFile(ByteBuffer[] parts, Path file) throws IOException {
+        ByteBuffer last = parts[parts.length - 1];
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (last.hasRemaining()) {
+                channel.write(parts); // Gathering write, no copy into one big buffer
+            }
+            channel.force(false);
+        }
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // --- Pass 1: number every object once ---
+
+    private void collect(World world) {
+        for (Room room : world.getRooms()) {
+            roomIndex.put(room, rooms.size());
+            rooms.add(room);
+        }
+        for (Room room : rooms) {
+            room.getItemsOnFloor().forEach(this::collectItem);
+            for (Chest chest : room.getChests()) {
+                collectLock(chest.getLock());
+                chest.getContents().forEach(this::collectItem);
+            }
+            for (Door door : room.getExits().values()) {
+                if (doorIndex.putIfAbsent(door, doorIndex.size()) == null) collectLock(door.getLock());
+            }
+            for (LivingBeing being : room.getLivingBeings()) {
+                being.getInventory().forEach(this::collectItem);
+                collectItem(being.getEquippedWeapon());
+                collectItem(being.getEquippedShield());
+                if (being instanceof Enemy enemy) collectItem(enemy.getLoot());
+                if (being instanceof Merchant merchant) merchant.getCatalog().keySet().forEach(this::collectItem);
+            }
+        }
+    }
+
+    private void collectLock(Lock lock) {
+        if (lock != null) lockIndex.putIfAbsent(lock, lockIndex.size());
+    }
+
+    private void collectItem(Item item) {
+        if (item != null) itemIndex.putIfAbsent(item, itemIndex.size());
+    }
+
+    // --- Pass 2: write the tables in dependency order ---
+
+    private void writeBody(World world) throws IOException {
+        if (world.getRandom() instanceof GameRandom random) {
+            out.writeBoolean(true);
+            out.writeLong(random.getState());
+        } else {
+            out.writeBoolean(false); // A plain Random's state can't be read
+        }
+        out.writeLong(world.getTick());
+
+        out.writeVarInt(lockIndex.size());
+        for (Lock lock : inIndexOrder(lockIndex)) {
+            writeString(lock.getId());
+            writeString(lock.getBaseDescription());
+            out.writeBoolean(lock.isLocked());
+            out.writeBoolean(lock.canBePriedOpen());
+            out.writeVarInt(lock.getAcceptableKeyIds().size());
+            for (String keyId : lock.getAcceptableKeyIds()) writeString(keyId);
+        }
+
+        out.writeVarInt(itemIndex.size());
+        for (Item item : inIndexOrder(itemIndex)) {
+            writeItem(item);
+        }
+
+        out.writeVarInt(rooms.size());
+        for (Room room : rooms) {
+            writeString(room.getId());
+            writeString(room.getName());
+            writeString(room.getBaseDescription());
+            out.writeVarInt((int) Math.min(world.getTick() - room.getLastSimulatedTick(), Integer.MAX_VALUE));
+            TileGrid grid = room.getTileGrid();
+            out.writeVarInt(grid.getWidth());
+            out.writeVarInt(grid.getHeight());
+            out.writeBytes(grid.getTiles());
+            List<Item> floorItems = room.getItemsOnFloor();
+            out.writeVarInt(floorItems.size());
+            for (Item item : floorItems) out.writeVarInt(itemIndex.get(item));
+            out.writeVarInt(room.getChests().size());
+            for (Chest chest : room.getChests()) {
+                writeString(chest.getId());
+                writeString(chest.getName());
+                writeString(chest.getBaseDescription());
+                out.writeVarInt(optionalIndex(lockIndex, chest.getLock()));
+                out.writeBoolean(chest.isOpen());
+                out.writeSignedVarInt(chest.getTileX());
+                out.writeSignedVarInt(chest.getTileY());
+                out.writeVarInt(chest.getContents().size());
+                for (Item item : chest.getContents()) out.writeVarInt(itemIndex.get(item));
+            }
+        }
+
+        out.writeVarInt(doorIndex.size());
+        for (Door door : inIndexOrder(doorIndex)) {
+            writeString(door.getId());
+            writeString(door.getName());
+            writeString(door.getBaseDescription());
+            out.writeVarInt(optionalIndex(roomIndex, door.getRoom1()));
+            out.writeVarInt(optionalIndex(roomIndex, door.getRoom2()));
+            out.writeVarInt(optionalIndex(lockIndex, door.getLock()));
+            // Same order as the Door constructor's point arguments
+            writePoint(door.getTileCoordinates());
+            writePoint(door.getVisualTileForRoom(door.getRoom1()));
+            writePoint(door.getEntryPointForRoom(door.getRoom2()));
+            writePoint(door.getVisualTileForRoom(door.getRoom2()));
+            writePoint(door.getEntryPointForRoom(door.getRoom1()));
+        }
+
+        for (Room room : rooms) {
+            Map<String, Door> exits = room.getExits();
+            out.writeVarInt(exits.size());
+            for (Map.Entry<String, Door> exit : exits.entrySet()) {
+                writeString(exit.getKey());
+                out.writeVarInt(doorIndex.get(exit.getValue()));
+            }
+        }
+
+        int beingCount = 0;
+        int playerIndex = -1;
+        for (Room room : rooms) {
+            List<LivingBeing> beings = room.getLivingBeings();
+            out.writeVarInt(beings.size());
+            for (LivingBeing being : beings) {
+                if (being == world.getPlayer()) playerIndex = beingCount;
+                writeBeing(being);
+                beingCount++;
+            }
+        }
+        out.writeVarInt(playerIndex + 1);
+    }
+
+    @Override
+    void writeItemRef(Item item) {
+        out.writeVarInt(itemIndex.get(item));
+    }
+
+    @Override
+    void writeOptionalItemRef(Item item) {
+        out.writeVarInt(optionalIndex(itemIndex, item));
+    }
+
+    @Override
+    void writeEquipped(List<Item> inventory, Item item) {
+        writeOptionalItemRef(item);
+    }
+
+    @Override
+    void writeString(String s) {
+        if (s == null) {
+            out.writeVarInt(0);
+            return;
+        }
+        Integer index = stringIndex.get(s);
+        if (index == null) {
+            index = strings.size();
+            stringIndex.put(s, index);
+            strings.add(s);
+        }
+        out.writeVarInt(index + 1);
+    }
+
+    private void writePoint(Point p) {
+        out.writeBoolean(p != null);
+        if (p != null) {
+            out.writeSignedVarInt(p.x);
+            out.writeSignedVarInt(p.y);
+        }
+    }
+
+    private static <T> int optionalIndex(Map<T, Integer> index, T value) {
+        return value == null ? 0 : index.get(value) + 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> inIndexOrder(Map<T, Integer> index) {
+        Object[] ordered = new Object[index.size()];
+        index.forEach((value, i) -> ordered[i] = value);
+        return (List<T>) List.of(ordered);
+    }
+}
@@ -0,0 +1,571 @@
+package com.OOP.persistence;
+
+import com.OOP.model.core.Door;
+import com.OOP.model.core.Room;
+import com.OOP.model.core.TileGrid;
+import com.OOP.model.core.World;
+import com.OOP.model.entities.Enemy;
+import com.OOP.model.entities.LivingBeing;
+import com.OOP.model.entities.Merchant;
+import com.OOP.model.entities.Player;
+import com.OOP.model.entities.Teammate;
+import com.OOP.model.interactables.Chest;
+import com.OOP.model.interactables.Lock;
+import com.OOP.model.items.*;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.awt.Point;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds a {@link World} from an XML world definition, so worlds can be edited without recompiling.
+ * <pre>
+ * &lt;world&gt;
+ *   &lt;lock id="lock_cell_door" description="cell_key_id" locked="true" pryable="true"&gt;
+ *     &lt;key ref="key_cell"/&gt;
+ *   &lt;/lock&gt;
+ *   &lt;room id="room_cell" name="Jail Cell" description="A damp and dark jail cell."&gt;
+ *     &lt;row&gt;WWWWW&lt;/row&gt; ...
+ *     &lt;item kind="medicine" id="potion_health_1" name="Health Potion" description="..." value="25"/&gt;
+ *     &lt;chest id="..." name="..." description="..." lock="lock_chest_1"&gt; &lt;item .../&gt; &lt;/chest&gt;
+ *     &lt;player name="Hero" hp="100" attack="5"/&gt;
+ *     &lt;enemy id="..." name="..." description="..." hp="70" attack="12"&gt; &lt;item .../&gt; (loot) &lt;/enemy&gt;
+ *     &lt;merchant id="..." name="..." description="..."&gt; &lt;item ... price="50"/&gt; &lt;/merchant&gt;
+ *     &lt;teammate id="..." name="..." description="..." hp="40" attack="6"/&gt;
+ *   &lt;/room&gt;
+ *   &lt;door id="..." name="..." description="..." from="room_cell" from-exit="north"
+ *         to="room_hallway" to-exit="south" lock="lock_cell_door" tile="3,1"/&gt;
+ * &lt;/world&gt;
+ * </pre>
+ * Item kinds are key (with {@code opens="<lock id>"}), gold, weapon, shield, medicine (all with
+ * {@code value}) and crowbar. Items, chests and beings take optional {@code x}/{@code y}; without
+ * them they are placed like the hand-built world places them (random free tile, 'C', 'P').
+ * Doors may also give {@code from-tile}, {@code to-entry}, {@code to-tile} and {@code from-entry}.
+ * <p>
+ * The file is read with a StAX cursor in one pass: rooms are packed into {@link TileGrid}s as
+ * soon as their rows are read and everything else is kept as small specs, so no document tree
+ * is ever built. Elements may appear in any order (a door can name a room defined further down).
+ * All references (rooms, locks, keys) are checked once the file is read, and every problem is
+ * reported together with its line number before any object is built.
+ */
+public class WorldXmlLoader {
+    private static final int MAX_REPORTED_ERRORS = 50;
+
+    private final String source;
+    private final List<String> errors = new ArrayList<>();
+    private final Map<String, LockSpec> locks = new HashMap<>();
+    private final Map<String, RoomSpec> rooms = new HashMap<>();
+    private final List<RoomSpec> roomOrder = new ArrayList<>();
+    private final List<DoorSpec> doors = new ArrayList<>();
+    private final Map<String, ItemSpec> itemsById = new HashMap<>();
+    private final Set<String> doorIds = new HashSet<>();
+    private final Set<String> beingIds = new HashSet<>();
+    private BeingSpec player;
+
+    private WorldXmlLoader(String source) {
+        this.source = source;
+    }
+
+    public static World load(Path file) throws IOException {
+        World world = new World();
+        load(file, world);
+        return world;
+    }
+
+    // Fills an empty world (e.g. one with a fixed random seed)
+    public static void load(Path file, World world) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            load(in, file.toString(), world);
+        }
+    }
+
+    public static void load(InputStream in, String source, World world) throws IOException {
+        WorldXmlLoader loader = new WorldXmlLoader(source);
+        loader.parse(in);
+        loader.validate();
+        if (!loader.errors.isEmpty()) {
+            StringBuilder message = new StringBuilder(source).append(": ").append(loader.errors.size()).append(" error(s) in world definition");
+            for (int i = 0; i < loader.errors.size() && i < MAX_REPORTED_ERRORS; i++) {
+                message.append('\n').append(loader.errors.get(i));
+            }
+            if (loader.errors.size() > MAX_REPORTED_ERRORS) message.append("\n...");
+            throw new IOException(message.toString());
+        }
+        loader.build(world);
+    }
+
+    // --- Specs: what the file says, before any model object exists ---
+
+    private record LockSpec(int line, String id, String description, boolean locked, boolean pryable, List<String> keyIds, List<Integer> keyLines) { }
+
+    private record ItemSpec(int line, String kind, String id, String name, String description, int value, String opens, int price, Point tile) { }
+
+    private record ChestSpec(int line, String id, String name, String description, String lockId, Point tile, List<ItemSpec> contents) { }
+
+    private record BeingSpec(int line, String kind, String id, String name, String description, int hp, int attack,
+                             Boolean friendly, Point tile, List<ItemSpec> items) { }
+
+    private record DoorSpec(int line, String id, String name, String description, String from, String fromExit,
+                            String to, String toExit, String lockId, Point tile,
+                            Point fromTile, Point toEntry, Point toTile, Point fromEntry) { }
+
+    private static class RoomSpec {
+        final int line;
+        final String id;
+        final String name;
+        final String description;
+        final List<String> rows = new ArrayList<>();
+        final List<ItemSpec> items = new ArrayList<>();
+        final List<ChestSpec> chests = new ArrayList<>();
+        final List<BeingSpec> beings = new ArrayList<>();
+        final Set<String> exits = new HashSet<>();
+        TileGrid grid;
+
+        RoomSpec(int line, String id, String name, String description) {
+            this.line = line;
+            this.id = id;
+            this.name = name;
+            this.description = description;
+        }
+    }
+
+    // --- Parsing ---
+
+    private void parse(InputStream in) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false); // No external entities in world files
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        XMLStreamReader xml = null;
+        try {
+            xml = factory.createXMLStreamReader(in);
+            xml.nextTag();
+            if (!xml.getLocalName().equals("world")) {
+                throw new IOException(source + ": root element must be <world>, found <" + xml.getLocalName() + ">");
+            }
+            while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                switch (xml.getLocalName()) {
+                    case "lock" -> parseLock(xml);
+                    case "room" -> parseRoom(xml);
+                    case "door" -> parseDoor(xml);
+                    default -> unexpected(xml);
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(source + ": malformed XML: " + e.getMessage(), e);
+        } finally {
+            if (xml != null) {
+                try {
+                    xml.close();
+                } catch (XMLStreamException ignored) {
+                }
+            }
+        }
+    }
+
+    private void parseLock(XMLStreamReader xml) throws XMLStreamException {
+        int line = line(xml);
+        String id = required(xml, "id");
+        LockSpec lock = new LockSpec(line, id, optional(xml, "description", ""),
+                bool(xml, "locked", true), bool(xml, "pryable", true), new ArrayList<>(), new ArrayList<>());
+        if (id != null && locks.putIfAbsent(id, lock) != null) {
+            error(line, "duplicate lock id '" + id + "' (first defined on line " + locks.get(id).line() + ")");
+        }
+        while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (xml.getLocalName().equals("key")) {
+                String keyId = required(xml, "ref");
+                if (keyId != null) {
+                    lock.keyIds().add(keyId);
+                    lock.keyLines().add(line(xml));
+                }
+                skipToEnd(xml);
+            } else {
+                unexpected(xml);
+            }
+        }
+    }
+
+    private void parseRoom(XMLStreamReader xml) throws XMLStreamException {
+        int line = line(xml);
+        String id = required(xml, "id");
+        RoomSpec room = new RoomSpec(line, id, optional(xml, "name", id), optional(xml, "description", ""));
+        if (id != null) {
+            RoomSpec previous = rooms.putIfAbsent(id, room);
+            if (previous != null) error(line, "duplicate room id '" + id + "' (first defined on line " + previous.line + ")");
+        }
+        roomOrder.add(room);
+        while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (xml.getLocalName()) {
+                case "row" -> room.rows.add(xml.getElementText().strip());
+                case "item" -> room.items.add(parseItem(xml, false));
+                case "chest" -> room.chests.add(parseChest(xml));
+                case "player", "enemy", "merchant", "teammate" -> room.beings.add(parseBeing(xml));
+                default -> unexpected(xml);
+            }
+        }
+        // Pack the layout right away so only the grid is kept per room
+        if (room.rows.isEmpty()) {
+            error(line, "room '" + id + "' has no <row> layout");
+        } else {
+            for (String row : room.rows) {
+                for (int i = 0; i < row.length(); i++) {
+                    if (row.charAt(i) >= 128) {
+                        error(line, "room '" + id + "' layout has a non-ASCII tile '" + row.charAt(i) + "'");
+                        break;
+                    }
+                }
+            }
+            room.grid = TileGrid.fromLayout(room.rows.toArray(new String[0]));
+        }
+        room.rows.clear();
+    }
+
+    private ItemSpec parseItem(XMLStreamReader xml, boolean priced) throws XMLStreamException {
+        int line = line(xml);
+        String kind = required(xml, "kind");
+        String id = required(xml, "id");
+        String opens = null;
+        int value = 0;
+        if (kind != null) {
+            switch (kind) {
+                case "key" -> opens = required(xml, "opens");
+                case "gold", "weapon", "shield", "medicine" -> value = integer(xml, "value", null);
+                case "crowbar" -> { }
+                default -> error(line, "unknown item kind '" + kind + "'");
+            }
+        }
+        ItemSpec item = new ItemSpec(line, kind, id, optional(xml, "name", id), optional(xml, "description", ""),
+                value, opens, priced ? integer(xml, "price", null) : 0, point(xml, "x", "y"));
+        if (id != null) {
+            ItemSpec previous = itemsById.putIfAbsent(id, item);
+            if (previous != null) error(line, "duplicate item id '" + id + "' (first defined on line " + previous.line() + ")");
+        }
+        skipToEnd(xml);
+        return item;
+    }
+
+    private ChestSpec parseChest(XMLStreamReader xml) throws XMLStreamException {
+        int line = line(xml);
+        String id = required(xml, "id");
+        ChestSpec chest = new ChestSpec(line, id, optional(xml, "name", id), optional(xml, "description", ""),
+                xml.getAttributeValue(null, "lock"), point(xml, "x", "y"), new ArrayList<>());
+        while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (xml.getLocalName().equals("item")) chest.contents().add(parseItem(xml, false));
+            else unexpected(xml);
+        }
+        return chest;
+    }
+
+    private BeingSpec parseBeing(XMLStreamReader xml) throws XMLStreamException {
+        int line = line(xml);
+        String kind = xml.getLocalName();
+        boolean isPlayer = kind.equals("player");
+        String id = isPlayer ? "player_id" : required(xml, "id");
+        boolean hasStats = !kind.equals("merchant");
+        String friendly = xml.getAttributeValue(null, "friendly");
+        BeingSpec being = new BeingSpec(line, kind, id, optional(xml, "name", id), xml.getAttributeValue(null, "description"),
+                hasStats ? integer(xml, "hp", null) : 0, hasStats ? integer(xml, "attack", null) : 0,
+                friendly != null ? Boolean.valueOf(friendly) : null, point(xml, "x", "y"), new ArrayList<>());
+        if (isPlayer) {
+            if (player != null) error(line, "second <player> (first on line " + player.line() + ")");
+            else player = being;
+        } else if (id != null && !beingIds.add(id)) {
+            error(line, "duplicate being id '" + id + "'");
+        }
+        while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (xml.getLocalName().equals("item") && (kind.equals("enemy") || kind.equals("merchant"))) {
+                being.items().add(parseItem(xml, kind.equals("merchant")));
+            } else {
+                unexpected(xml);
+            }
+        }
+        if (kind.equals("enemy") && being.items().size() > 1) error(line, "enemy '" + id + "' can only carry one loot item");
+        return being;
+    }
+
+    private void parseDoor(XMLStreamReader xml) throws XMLStreamException {
+        int line = line(xml);
+        String id = required(xml, "id");
+        if (id != null && !doorIds.add(id)) error(line, "duplicate door id '" + id + "'");
+        doors.add(new DoorSpec(line, id, optional(xml, "name", id), optional(xml, "description", ""),
+                required(xml, "from"), required(xml, "from-exit"), required(xml, "to"), required(xml, "to-exit"),
+                xml.getAttributeValue(null, "lock"), pair(xml, "tile", true),
+                pair(xml, "from-tile", false), pair(xml, "to-entry", false),
+                pair(xml, "to-tile", false), pair(xml, "from-entry", false)));
+        skipToEnd(xml);
+    }
+
+    // --- Attribute helpers; problems are recorded and parsing carries on ---
+
+    private String required(XMLStreamReader xml, String name) {
+        String value = xml.getAttributeValue(null, name);
+        if (value == null || value.isBlank()) {
+            error(line(xml), "<" + xml.getLocalName() + "> is missing attribute '" + name + "'");
+            return null;
+        }
+        return value;
+    }
+
+    private static String optional(XMLStreamReader xml, String name, String fallback) {
+        String value = xml.getAttributeValue(null, name);
+        return value != null ? value : fallback;
+    }
+
+    private boolean bool(XMLStreamReader xml, String name, boolean fallback) {
+        String value = xml.getAttributeValue(null, name);
+        if (value == null) return fallback;
+        if (value.equals("true")) return true;
+        if (value.equals("false")) return false;
+        error(line(xml), "attribute '" + name + "' must be true or false, found '" + value + "'");
+        return fallback;
+    }
+
+    // A required int if fallback is null
+    private int integer(XMLStreamReader xml, String name, Integer fallback) {
+        String value = xml.getAttributeValue(null, name);
+        if (value == null) {
+            if (fallback != null) return fallback;
+            error(line(xml), "<" + xml.getLocalName() + "> is missing attribute '" + name + "'");
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value.strip());
+        } catch (NumberFormatException e) {
+            error(line(xml), "attribute '" + name + "' is not a number: '" + value + "'");
+            return 0;
+        }
+    }
+
+    private Point point(XMLStreamReader xml, String xName, String yName) {
+        boolean hasX = xml.getAttributeValue(null, xName) != null;
+        boolean hasY = xml.getAttributeValue(null, yName) != null;
+        if (hasX != hasY) {
+            error(line(xml), "<" + xml.getLocalName() + "> needs both '" + xName + "' and '" + yName + "' or neither");
+            return null;
+        }
+        return hasX ? new Point(integer(xml, xName, 0), integer(xml, yName, 0)) : null;
+    }
+
+    // "x,y" attribute
+    private Point pair(XMLStreamReader xml, String name, boolean isRequired) {
+        String value = isRequired ? required(xml, name) : xml.getAttributeValue(null, name);
+        if (value == null) return null;
+        int comma = value.indexOf(',');
+        try {
+            if (comma > 0) {
+                return new Point(Integer.parseInt(value.substring(0, comma).strip()), Integer.parseInt(value.substring(comma + 1).strip()));
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        error(line(xml), "attribute '" + name + "' must be 'x,y', found '" + value + "'");
+        return null;
+    }
+
+    private void unexpected(XMLStreamReader xml) throws XMLStreamException {
+        error(line(xml), "unexpected element <" + xml.getLocalName() + ">");
+        skipToEnd(xml);
+    }
+
+    // Skips the rest of the current element, including any children
+    private static void skipToEnd(XMLStreamReader xml) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) depth++;
+            else if (event == XMLStreamConstants.END_ELEMENT) depth--;
+        }
+    }
+
+    private static int line(XMLStreamReader xml) {
+        return xml.getLocation().getLineNumber();
+    }
+
+    private void error(int line, String message) {
+        errors.add("line " + line + ": " + message);
+    }
+
+    // --- Reference checks ---
+
+    private void validate() {
+        if (player == null) errors.add("no <player> defined");
+        for (LockSpec lock : locks.values()) {
+            for (int i = 0; i < lock.keyIds().size(); i++) {
+                ItemSpec key = itemsById.get(lock.keyIds().get(i));
+                if (key == null) error(lock.keyLines().get(i), "lock '" + lock.id() + "' accepts unknown key '" + lock.keyIds().get(i) + "'");
+                else if (!"key".equals(key.kind())) error(lock.keyLines().get(i), "lock '" + lock.id() + "' accepts '" + key.id() + "', which is not a key");
+            }
+        }
+        for (ItemSpec item : itemsById.values()) {
+            if (item.opens() != null && !locks.containsKey(item.opens())) {
+                error(item.line(), "key '" + item.id() + "' opens unknown lock '" + item.opens() + "'");
+            }
+        }
+        for (RoomSpec room : roomOrder) {
+            if (room.grid == null) continue;
+            for (ItemSpec item : room.items) checkTile(room, item.tile(), item.line(), "item '" + item.id() + "'");
+            for (ChestSpec chest : room.chests) {
+                checkLockRef(chest.lockId(), chest.line(), "chest '" + chest.id() + "'");
+                checkTile(room, chest.tile(), chest.line(), "chest '" + chest.id() + "'");
+            }
+            for (BeingSpec being : room.beings) checkTile(room, being.tile(), being.line(), being.kind() + " '" + being.id() + "'");
+        }
+        for (DoorSpec door : doors) {
+            String what = "door '" + door.id() + "'";
+            RoomSpec from = roomRef(door.from(), door.line(), what);
+            RoomSpec to = roomRef(door.to(), door.line(), what);
+            checkLockRef(door.lockId(), door.line(), what);
+            if (from != null) {
+                checkInBounds(from, door.tile(), door.line(), what + " tile");
+                checkInBounds(from, door.fromTile(), door.line(), what + " from-tile");
+                checkTile(from, door.fromEntry(), door.line(), what + " from-entry");
+                if (door.fromExit() != null && !from.exits.add(door.fromExit().toLowerCase(Locale.ROOT))) {
+                    error(door.line(), "room '" + from.id + "' already has a '" + door.fromExit() + "' exit");
+                }
+            }
+            if (to != null) {
+                checkInBounds(to, door.toTile(), door.line(), what + " to-tile");
+                checkTile(to, door.toEntry(), door.line(), what + " to-entry");
+                if (door.toExit() != null && !to.exits.add(door.toExit().toLowerCase(Locale.ROOT))) {
+                    error(door.line(), "room '" + to.id + "' already has a '" + door.toExit() + "' exit");
+                }
+            }
+        }
+    }
+
+    private RoomSpec roomRef(String roomId, int line, String what) {
+        if (roomId == null) return null;
+        RoomSpec room = rooms.get(roomId);
+        if (room == null) error(line, what + " refers to unknown room '" + roomId + "'");
+        return room != null && room.grid != null ? room : null;
+    }
+
+    private void checkLockRef(String lockId, int line, String what) {
+        if (lockId != null && !locks.containsKey(lockId)) error(line, what + " refers to unknown lock '" + lockId + "'");
+    }
+
+    private void checkInBounds(RoomSpec room, Point tile, int line, String what) {
+        if (tile != null && !room.grid.inBounds(tile.x, tile.y)) {
+            error(line, what + " (" + tile.x + "," + tile.y + ") is outside room '" + room.id + "'");
+        }
+    }
+
+    // Explicit positions must be walkable tiles of the room
+    private void checkTile(RoomSpec room, Point tile, int line, String what) {
+        if (tile == null) return;
+        if (!room.grid.inBounds(tile.x, tile.y)) {
+            error(line, what + " (" + tile.x + "," + tile.y + ") is outside room '" + room.id + "'");
+        } else if (!room.grid.isWalkable(tile.x, tile.y)) {
+            error(line, what + " (" + tile.x + "," + tile.y + ") is not a walkable tile of room '" + room.id + "'");
+        }
+    }
+
+    // --- Building (only reached when the definition is valid) ---
+
+    // Same order as the hand-built world: rooms, doors, floor items, chests, player, other beings
+    private void build(World world) {
+        Map<String, Lock> builtLocks = new HashMap<>();
+        for (LockSpec spec : locks.values()) {
+            Lock lock = new Lock(spec.id(), spec.description(), spec.locked(), spec.pryable());
+            for (String keyId : spec.keyIds()) lock.addAcceptableKeyId(keyId);
+            builtLocks.put(spec.id(), lock);
+        }
+
+        // Rooms are looked up through the world, and trimResidentRooms() runs between rooms, so a paged
+        // world stays within its budget while loading (a no-op otherwise)
+        for (RoomSpec spec : roomOrder) {
+            world.addRoom(new Room(spec.id, spec.name, spec.description, spec.grid));
+            world.trimResidentRooms();
+        }
+
+        for (DoorSpec spec : doors) {
+            Room from = world.getRoom(spec.from());
+            Room to = world.getRoom(spec.to());
+            Lock lock = spec.lockId() != null ? builtLocks.get(spec.lockId()) : null;
+            Door door;
+            if (spec.fromTile() == null && spec.toEntry() == null && spec.toTile() == null && spec.fromEntry() == null) {
+                door = new Door(spec.id(), spec.name(), spec.description(), from, to, lock, spec.tile());
+            } else {
+                door = new Door(spec.id(), spec.name(), spec.tile(), spec.description(), from, to, lock,
+                        spec.fromTile(), spec.toEntry(), spec.toTile(), spec.fromEntry());
+            }
+            from.addExit(spec.fromExit(), door);
+            to.addExit(spec.toExit(), door);
+            world.trimResidentRooms();
+        }
+
+        for (RoomSpec spec : roomOrder) {
+            Room room = world.getRoom(spec.id);
+            for (ItemSpec item : spec.items) {
+                if (item.tile() != null) room.placeItem(buildItem(item), item.tile().x, item.tile().y);
+                else room.addItem(buildItem(item));
+            }
+            world.trimResidentRooms();
+        }
+
+        for (RoomSpec spec : roomOrder) {
+            Room room = world.getRoom(spec.id);
+            for (ChestSpec chestSpec : spec.chests) {
+                Chest chest = new Chest(chestSpec.id(), chestSpec.name(), chestSpec.description(),
+                        chestSpec.lockId() != null ? builtLocks.get(chestSpec.lockId()) : null);
+                for (ItemSpec item : chestSpec.contents()) chest.addItem(buildItem(item));
+                room.addChest(chest, chestSpec.tile());
+            }
+            world.trimResidentRooms();
+        }
+
+        for (RoomSpec spec : roomOrder) {
+            for (BeingSpec being : spec.beings) {
+                if (being == player) world.setPlayer((Player) addBeing(world.getRoom(spec.id), being));
+            }
+        }
+        for (RoomSpec spec : roomOrder) {
+            for (BeingSpec being : spec.beings) {
+                if (being != player) addBeing(world.getRoom(spec.id), being);
+            }
+            world.trimResidentRooms();
+        }
+    }
+
+    private LivingBeing addBeing(Room room, BeingSpec spec) {
+        LivingBeing being = switch (spec.kind()) {
+            case "player" -> new Player(spec.name(), spec.hp(), spec.attack(), room);
+            case "enemy" -> new Enemy(spec.id(), spec.name(), spec.description(), spec.hp(), spec.attack(), room,
+                    spec.items().isEmpty() ? null : buildItem(spec.items().get(0)));
+            case "merchant" -> {
+                Merchant merchant = new Merchant(spec.id(), spec.name(), spec.description(), room);
+                for (ItemSpec item : spec.items()) merchant.addToCatalog(buildItem(item), item.price());
+                if (spec.friendly() != null) merchant.setFriendly(spec.friendly());
+                yield merchant;
+            }
+            default -> new Teammate(spec.id(), spec.name(), spec.description(), spec.hp(), spec.attack(), room);
+        };
+        if (spec.kind().equals("player") && spec.description() != null) being.setDescription(spec.description());
+        room.addLivingBeing(being);
+        if (spec.tile() != null) being.setTileCoordinates(spec.tile()); // After adding, so the room index follows
+        return being;
+    }
+
+    private static Item buildItem(ItemSpec spec) {
+        return switch (spec.kind()) {
+            case "key" -> new Key(spec.id(), spec.name(), spec.description(), spec.opens());
+            case "gold" -> new Gold(spec.id(), spec.name(), spec.description(), spec.value());
+            case "weapon" -> new Weapon(spec.id(), spec.name(), spec.description(), spec.value());
+            case "shield" -> new Shield(spec.id(), spec.name(), spec.description(), spec.value());
+            case "medicine" -> new Medicine(spec.id(), spec.name(), spec.description(), spec.value());
+            default -> new Crowbar(spec.id(), spec.name(), spec.description());
+        };
+    }
+}
@@ -0,0 +1,118 @@
+package com.OOP.session;
+
+import com.OOP.MainGameLogicController;
+import com.OOP.model.core.World;
+import com.OOP.utils.GameConsole;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * One isolated game: its own World, controller and bounded inbound command queue,
+ * driven by its own (virtual) thread. Everything the session prints, including the
+ * model's GameConsole messages, goes to the session's output consumer.
+ * <p>
+ * Given a world factory, the world is built on the session's thread once its output sink is
+ * installed, so sessions load in parallel and setup warnings reach their own session. Until
+ * then getWorld() and getController() return null; commands submitted meanwhile just queue.
+ */
+public class GameSession implements Runnable {
+    private final String id;
+    private final Supplier<World> worldFactory;
+    private volatile World world;
+    private volatile MainGameLogicController controller;
+    private final BlockingQueue<String> inbound;
+    private final Consumer<String> output;
+    private final AtomicLong processedCommands = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private volatile boolean running;
+    private volatile boolean finished;
+    private Thread thread;
+
+    public GameSession(String id, World world, int queueCapacity, Consumer<String> output) {
+        this(id, () -> world, queueCapacity, output);
+        setUp(); // Ready before start(), as callers passing a built world expect
+    }
+
+    public GameSession(String id, Supplier<World> worldFactory, int queueCapacity, Consumer<String> output) {
+        this.id = id;
+        this.worldFactory = worldFactory;
+        this.output = output;
+        this.inbound = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    private void setUp() {
+        World newWorld = worldFactory.get();
+        MainGameLogicController newController = new MainGameLogicController(newWorld, newWorld.getPlayer(), output, () -> { });
+        newController.setDescribeRoomAfterCommand(false);
+        world = newWorld;
+        controller = newController;
+    }
+
+    // Starts the session on a new virtual thread
+    public synchronized Thread start() {
+        if (thread != null) throw new IllegalStateException("Session " + id + " already started");
+        running = true;
+        thread = Thread.ofVirtual().name("session-" + id).start(this);
+        return thread;
+    }
+
+    // Non-blocking: returns false if the queue is full (caller should back off) or the session ended
+    public boolean submit(String command) {
+        return !finished && inbound.offer(command);
+    }
+
+    // Waits for queue space; returns false if the session ended or the wait timed out
+    public boolean submit(String command, long timeout, TimeUnit unit) throws InterruptedException {
+        return !finished && inbound.offer(command, timeout, unit);
+    }
+
+    public void stop() {
+        running = false;
+        Thread t = thread;
+        if (t != null) t.interrupt();
+    }
+
+    @Override
+    public void run() {
+        GameConsole.setThreadSinks(output, output);
+        try {
+            if (controller == null) setUp(); // Warnings from loading the world go to this session
+            while (running && !controller.isGameOver()) {
+                String command = inbound.take();
+                long start = System.nanoTime();
+                controller.processInput(command);
+                busyNanos.addAndGet(System.nanoTime() - start);
+                processedCommands.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Stopped
+        } finally {
+            finished = true;
+            GameConsole.clearThreadSinks();
+        }
+    }
+
+    public void join() throws InterruptedException {
+        Thread t = thread;
+        if (t != null) t.join();
+    }
+
+    public String getId() { return id; }
+
+    public World getWorld() { return world; }
+
+    public MainGameLogicController getController() { return controller; }
+
+    public long getProcessedCommands() { return processedCommands.get(); }
+
+    public long getBusyNanos() { return busyNanos.get(); }
+
+    public int getQueuedCommands() { return inbound.size(); }
+
+    public boolean isFinished() { return finished; }
+}
@@ -0,0 +1,120 @@
+package com.OOP.session;
+
+import com.OOP.model.core.World;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Hosts many independent game sessions in one process, one virtual thread each.
+ * <p>
+ * Sessions share no mutable state: every World owns its rooms and its Random (rooms used
+ * to share a static one), command registries are per controller, and model messages go
+ * through GameConsole's per-thread sink instead of the process-wide System.out. The console
+ * front-end (Main) still keeps its world in static fields, which is fine because it is only
+ * ever run once per process; sessions never touch it.
+ */
+public class SessionHost {
+    private final Map<String, GameSession> sessions = new ConcurrentHashMap<>();
+    private final Supplier<World> worldFactory;
+    private final int queueCapacity;
+    private final AtomicLong nextId = new AtomicLong();
+
+    public SessionHost(Supplier<World> worldFactory, int queueCapacity) {
+        this.worldFactory = worldFactory;
+        this.queueCapacity = queueCapacity;
+    }
+
+    // Default worlds: World.setupWorld() (the bundled worlds/default.xml, or -Dgame.world)
+    public SessionHost(int queueCapacity) {
+        this(() -> {
+            World world = new World();
+            world.setupWorld();
+            return world;
+        }, queueCapacity);
+    }
+
+    // Creates and starts a session whose output goes to outputFactory.apply(sessionId).
+    // Its world is built on the session's own thread, so opening many sessions doesn't wait on loading.
+    public GameSession openSession(Function<String, Consumer<String>> outputFactory) {
+        String id = "s" + nextId.incrementAndGet();
+        GameSession session = new GameSession(id, worldFactory, queueCapacity, outputFactory.apply(id));
+        sessions.put(id, session);
+        session.start();
+        return session;
+    }
+
+    public List<GameSession> openSessions(int count, Function<String, Consumer<String>> outputFactory) {
+        List<GameSession> opened = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            opened.add(openSession(outputFactory));
+        }
+        return opened;
+    }
+
+    public GameSession getSession(String id) {
+        return sessions.get(id);
+    }
+
+    public Collection<GameSession> getSessions() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+
+    public void closeSession(String id) {
+        GameSession session = sessions.remove(id);
+        if (session != null) session.stop();
+    }
+
+    public void shutdown() throws InterruptedException {
+        for (GameSession session : sessions.values()) session.stop();
+        for (GameSession session : sessions.values()) session.join();
+        sessions.clear();
+    }
+
+    /**
+     * Load demo: {@code SessionHost [sessions] [rounds]}. Every session replays a short script
+     * 'rounds' times while the supervisor reports throughput and memory once a second.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int sessionCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        String[] script = {"look", "i", "take health potion", "look health potion", "drop health potion", "help"};
+
+        SessionHost host = new SessionHost(64);
+        SessionSupervisor supervisor = new SessionSupervisor(host, System.out::println);
+        supervisor.start(1, TimeUnit.SECONDS);
+
+        List<GameSession> opened = host.openSessions(sessionCount, id -> text -> { });
+        List<Thread> drivers = new ArrayList<>();
+        for (GameSession session : opened) {
+            drivers.add(Thread.ofVirtual().start(() -> {
+                try {
+                    for (int r = 0; r < rounds; r++) {
+                        for (String command : script) {
+                            if (!session.submit(command, 1, TimeUnit.SECONDS)) return;
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (Thread driver : drivers) driver.join();
+        // Let the queues drain before the final report
+        while (host.getSessions().stream().anyMatch(s -> s.getQueuedCommands() > 0)) {
+            Thread.sleep(10);
+        }
+        System.out.println(supervisor.report());
+        supervisor.stop();
+        host.shutdown();
+    }
+}
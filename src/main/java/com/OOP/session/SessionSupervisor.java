@@ -0,0 +1,73 @@
+package com.OOP.session;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Periodically reports on a SessionHost: live sessions, aggregate command throughput since
+ * the last report, queued commands and approximate heap per session (used heap / sessions).
+ */
+public class SessionSupervisor {
+    private final SessionHost host;
+    private final Consumer<String> reportConsumer;
+    private volatile Thread thread;
+    private long lastCommands;
+    private long lastReportNanos = System.nanoTime();
+
+    public record Report(int sessions, int finishedSessions, long totalCommands, double commandsPerSecond,
+                         long queuedCommands, long usedHeapBytes, long heapBytesPerSession) {
+        @Override
+        public String toString() {
+            return String.format("Sessions: %d (%d finished), commands: %d, throughput: %.0f commands/sec, "
+                            + "queued: %d, heap: %.1f MB (%.1f KB/session)",
+                    sessions, finishedSessions, totalCommands, commandsPerSecond, queuedCommands,
+                    usedHeapBytes / (1024.0 * 1024.0), heapBytesPerSession / 1024.0);
+        }
+    }
+
+    public SessionSupervisor(SessionHost host, Consumer<String> reportConsumer) {
+        this.host = host;
+        this.reportConsumer = reportConsumer;
+    }
+
+    public synchronized Report report() {
+        int sessions = 0, finished = 0;
+        long commands = 0, queued = 0;
+        for (GameSession session : host.getSessions()) {
+            sessions++;
+            if (session.isFinished()) finished++;
+            commands += session.getProcessedCommands();
+            queued += session.getQueuedCommands();
+        }
+        long now = System.nanoTime();
+        double seconds = (now - lastReportNanos) / 1_000_000_000.0;
+        double throughput = seconds > 0 ? (commands - lastCommands) / seconds : 0;
+        lastCommands = commands;
+        lastReportNanos = now;
+
+        Runtime runtime = Runtime.getRuntime();
+        long usedHeap = runtime.totalMemory() - runtime.freeMemory();
+        return new Report(sessions, finished, commands, throughput, queued, usedHeap,
+                sessions == 0 ? 0 : usedHeap / sessions);
+    }
+
+    // Reports every 'period' on a virtual thread until stop()
+    public void start(long period, TimeUnit unit) {
+        long periodMillis = unit.toMillis(period);
+        thread = Thread.ofVirtual().name("session-supervisor").start(() -> {
+            try {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Thread.sleep(periodMillis);
+                    reportConsumer.accept(report().toString());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    public void stop() {
+        Thread t = thread;
+        if (t != null) t.interrupt();
+    }
+}
@@ -0,0 +1,53 @@
+package com.OOP.utils;
+
+import java.util.function.Consumer;
+
+/**
+ * Where model classes print their messages ("Hero attacks Grumpy Goblin!" etc.).
+ * By default this is System.out/System.err, looked up on every call so the GUI's stream
+ * redirection keeps working. A thread can install its own sink, which is how several game
+ * sessions running side by side keep their output apart instead of interleaving on the
+ * shared process streams.
+ */
+public final class GameConsole {
+    private static final ThreadLocal<Consumer<String>> OUT = new ThreadLocal<>();
+    private static final ThreadLocal<Consumer<String>> ERR = new ThreadLocal<>();
+
+    private GameConsole() {}
+
+    public static void println(String text) {
+        Consumer<String> sink = OUT.get();
+        if (sink != null) sink.accept(text);
+        else System.out.println(text);
+    }
+
+    public static void errorln(String text) {
+        Consumer<String> sink = ERR.get();
+        if (sink != null) sink.accept(text);
+        else System.err.println(text);
+    }
+
+    // Routes this thread's game output to the given sinks until clearThreadSinks() is called
+    public static void setThreadSinks(Consumer<String> out, Consumer<String> err) {
+        OUT.set(out);
+        ERR.set(err);
+    }
+
+    public static void clearThreadSinks() {
+        OUT.remove();
+        ERR.remove();
+    }
+
+    // Runs the action with this thread's output going to the given sinks, then puts the previous sinks back
+    public static void withThreadSinks(Consumer<String> out, Consumer<String> err, Runnable action) {
+        Consumer<String> previousOut = OUT.get();
+        Consumer<String> previousErr = ERR.get();
+        setThreadSinks(out, err);
+        try {
+            action.run();
+        } finally {
+            if (previousOut != null) OUT.set(previousOut); else OUT.remove();
+            if (previousErr != null) ERR.set(previousErr); else ERR.remove();
+        }
+    }
+}
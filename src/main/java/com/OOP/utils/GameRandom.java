@@ -0,0 +1,57 @@
+package com.OOP.utils;
+
+import java.util.Random;
+
+/**
+ * A {@link Random} whose internal state can be read and restored, so a world's random
+ * sequence can be saved in a checkpoint and continue exactly where it left off after a reload.
+ * It uses the same 48-bit LCG as java.util.Random, so {@code new GameRandom(seed)} produces the
+ * same numbers as {@code new Random(seed)}.
+ * <p>
+ * Only the generator state is captured; a cached {@link #nextGaussian()} value is not (the game
+ * never uses it). Unlike Random it is not thread-safe: each world is driven by one thread.
+ */
+public class GameRandom extends Random {
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long state; // No initializer: Random's constructor sets it through setSeed
+
+    public GameRandom() {
+        this(new Random().nextLong());
+    }
+
+    public GameRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        super.setSeed(seed);
+        this.state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    // SplitMix64 finalizer: a well-mixed 64-bit hash, for randomness derived from (seed, index)
+    // pairs instead of drawn from a shared sequence
+    public static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // The raw (already scrambled) generator state
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
@@ -1,19 +1,27 @@
 package com.OOP.utils;
 
 import javax.imageio.ImageIO;
-import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
 
 public class ImageLoader {
 
+    // Decoded once per path and kept in the shared SpriteCache, so room changes don't re-read PNGs
     public static BufferedImage loadImage(String path) {
+        return SpriteCache.getShared().get(path, SpriteCache.NATIVE_SIZE, SpriteCache.NATIVE_SIZE, () -> decodeImage(path));
+    }
+
+    // Same, but scaled to width x height once and cached at that size
+    public static BufferedImage loadSprite(String path, int width, int height) {
+        return SpriteCache.getShared().get(path, width, height, () -> decodeImage(path));
+    }
+
+    private static BufferedImage decodeImage(String path) {
         BufferedImage image = null;
-        try {
-            // The path should be relative to the 'res' folder, starting with "/"
-            // e.g., "/player/boy_down_1.png"
-            InputStream is = ImageLoader.class.getResourceAsStream(path);
+        // The path should be relative to the 'res' folder, starting with "/"
+        // e.g., "/player/boy_down_1.png"
+        try (InputStream is = ImageLoader.class.getResourceAsStream(path)) {
             if (is == null) {
                 System.err.println("Error: Could not load image at path: " + path);
                 // Return a small placeholder or throw an exception
@@ -27,13 +35,9 @@ public class ImageLoader {
         return image;
     }
 
-    // Optional: A utility to scale images if needed
+    // Optional: A utility to scale images if needed (result is uncached and display-compatible)
     public static BufferedImage scaleImage(BufferedImage originalImage, int width, int height) {
         if (originalImage == null) return null;
-        BufferedImage scaledImage = new BufferedImage(width, height, originalImage.getType());
-        Graphics2D g2 = scaledImage.createGraphics();
-        g2.drawImage(originalImage, 0, 0, width, height, null);
-        g2.dispose();
-        return scaledImage;
+        return SpriteCache.toCompatibleImage(originalImage, width, height);
     }
 }
@@ -0,0 +1,186 @@
+package com.OOP.utils;
+
+import com.OOP.model.entities.Entity;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Case-insensitive index of entities by name, used to resolve the targets of text commands.
+ * Names are normalized (lower case, '_' read as a space, whitespace collapsed) and indexed
+ * both as whole keys for exact lookups and as 1- to 3-character n-grams for prefix and
+ * partial ("goblin" -> "Grumpy Goblin") lookups, so a lookup only looks at entities sharing
+ * the rarest n-gram of the query instead of every entity.
+ * The n-gram postings are only built on the first prefix/partial lookup, so indexes that
+ * only ever see exact lookups (or none, like most rooms of a freshly loaded world) stay small.
+ * <p>
+ * All lookups return the matching entity that was added first, which is what the
+ * old linear scans over the backing lists returned.
+ */
+public class NameIndex<T extends Entity> {
+    private static final int MAX_GRAM = 3;
+
+    private static final class Entry<T> {
+        final T value;
+        final String key;
+        int count; // Same object added more than once (e.g. a list that allows duplicates)
+
+        Entry(T value, String key) {
+            this.value = value;
+            this.key = key;
+        }
+    }
+
+    // Lists are kept in insertion order, so the first acceptable entry is the oldest one
+    private final Map<String, List<Entry<T>>> byName = new HashMap<>();
+    private final Map<String, List<Entry<T>>> byGram = new HashMap<>();
+    private boolean gramsBuilt; // byGram is only maintained once a lookup needed it
+    private Map<T, Entry<T>> entries; // Created on first add: IdentityHashMap allocates its table up front
+    private final Set<Entry<T>> inOrder = new LinkedHashSet<>(); // For empty queries
+
+    public static String normalize(String name) {
+        if (name == null) return "";
+        StringBuilder sb = new StringBuilder(name.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '_' || Character.isWhitespace(c)) {
+                pendingSpace = sb.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                sb.append(' ');
+                pendingSpace = false;
+            }
+            sb.append(Character.toLowerCase(c));
+        }
+        return sb.toString();
+    }
+
+    public void add(T value) {
+        if (entries == null) entries = new IdentityHashMap<>(4);
+        Entry<T> existing = entries.get(value);
+        if (existing != null) {
+            existing.count++;
+            return;
+        }
+        Entry<T> entry = new Entry<>(value, normalize(value.getName()));
+        entry.count = 1;
+        entries.put(value, entry);
+        inOrder.add(entry);
+        byName.computeIfAbsent(entry.key, k -> new ArrayList<>(1)).add(entry);
+        if (gramsBuilt) addGrams(entry);
+    }
+
+    public boolean remove(T value) {
+        Entry<T> entry = entries != null ? entries.get(value) : null;
+        if (entry == null) return false;
+        if (--entry.count > 0) return true;
+        entries.remove(value);
+        inOrder.remove(entry);
+        removeFrom(byName, entry.key, entry);
+        if (gramsBuilt) forEachGram(entry.key, gram -> removeFrom(byGram, gram, entry));
+        return true;
+    }
+
+    public void clear() {
+        byName.clear();
+        byGram.clear();
+        entries = null;
+        inOrder.clear();
+        gramsBuilt = false;
+    }
+
+    public int size() {
+        return entries != null ? entries.size() : 0;
+    }
+
+    // Exact (normalized) name match
+    public T findExact(String name) {
+        return findExact(name, null);
+    }
+
+    public T findExact(String name, Predicate<? super T> filter) {
+        List<Entry<T>> matches = byName.get(normalize(name));
+        if (matches == null) return null;
+        for (Entry<T> entry : matches) {
+            if (filter == null || filter.test(entry.value)) return entry.value;
+        }
+        return null;
+    }
+
+    // Name starts with the query, e.g. "rusty" -> "Rusty Sword"
+    public T findByPrefix(String prefix, Predicate<? super T> filter) {
+        String query = normalize(prefix);
+        for (Entry<T> entry : candidates(query)) {
+            if (entry.key.startsWith(query) && (filter == null || filter.test(entry.value))) return entry.value;
+        }
+        return null;
+    }
+
+    // Name contains the query anywhere, e.g. "goblin" -> "Grumpy Goblin"
+    public T findPartial(String fragment) {
+        return findPartial(fragment, null);
+    }
+
+    public T findPartial(String fragment, Predicate<? super T> filter) {
+        String query = normalize(fragment);
+        for (Entry<T> entry : candidates(query)) {
+            if (entry.key.contains(query) && (filter == null || filter.test(entry.value))) return entry.value;
+        }
+        return null;
+    }
+
+    // Exact match first, then partial: how most text commands resolve their target
+    public T find(String name, Predicate<? super T> filter) {
+        T exact = findExact(name, filter);
+        return exact != null ? exact : findPartial(name, filter);
+    }
+
+    // Entries sharing the query's least common n-gram, in insertion order
+    private Iterable<Entry<T>> candidates(String query) {
+        if (query.isEmpty()) return inOrder;
+        if (!gramsBuilt) {
+            for (Entry<T> entry : inOrder) addGrams(entry); // Insertion order, same as incremental adds
+            gramsBuilt = true;
+        }
+        int gramLength = Math.min(MAX_GRAM, query.length());
+        List<Entry<T>> best = null;
+        for (int i = 0; i + gramLength <= query.length(); i++) {
+            List<Entry<T>> posting = byGram.get(query.substring(i, i + gramLength));
+            if (posting == null) return List.of(); // Some n-gram never occurs: no match possible
+            if (best == null || posting.size() < best.size()) best = posting;
+        }
+        return best;
+    }
+
+    private void addGrams(Entry<T> entry) {
+        forEachGram(entry.key, gram -> byGram.computeIfAbsent(gram, k -> new ArrayList<>(2)).add(entry));
+    }
+
+    private static void forEachGram(String key, Consumer<String> action) {
+        // Distinct grams only, so an entry appears at most once per posting list
+        Set<String> seen = new HashSet<>();
+        for (int length = 1; length <= MAX_GRAM; length++) {
+            for (int i = 0; i + length <= key.length(); i++) {
+                String gram = key.substring(i, i + length);
+                if (seen.add(gram)) action.accept(gram);
+            }
+        }
+    }
+
+    private static <T> void removeFrom(Map<String, List<Entry<T>>> map, String key, Entry<T> entry) {
+        List<Entry<T>> list = map.get(key);
+        if (list == null) return;
+        list.remove(entry);
+        if (list.isEmpty()) map.remove(key);
+    }
+}
@@ -0,0 +1,121 @@
+package com.OOP.utils;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * LRU cache of decoded (and optionally pre-scaled) sprites, keyed by resource path and target size.
+ * Images are copied into the display's compatible format ({@link GraphicsConfiguration#createCompatibleImage})
+ * so Java2D can keep them in video memory and blit them without a per-draw conversion.
+ * <p>
+ * Least recently used entries are evicted once the estimated size of all cached images goes over the
+ * byte budget, set with {@code -Dgame.spriteCache.maxBytes=...} (default 32 MB). Cached images are shared:
+ * draw them, don't draw on them.
+ */
+public class SpriteCache {
+    public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+    public static final int NATIVE_SIZE = -1; // Width/height value for "don't scale"
+
+    private static final SpriteCache SHARED = new SpriteCache(Long.getLong("game.spriteCache.maxBytes", DEFAULT_MAX_BYTES));
+
+    private record Key(String path, int width, int height) {}
+
+    private final Map<Key, BufferedImage> images = new LinkedHashMap<>(64, 0.75f, true); // Access order = LRU
+    private final long maxBytes;
+    private long currentBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public SpriteCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public static SpriteCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the cached image for (path, width, height), calling loader on a miss.
+     * The loader's result is converted to a compatible image of the requested size
+     * (or its own size for {@link #NATIVE_SIZE}). Returns null if the loader does.
+     */
+    public synchronized BufferedImage get(String path, int width, int height, Supplier<BufferedImage> loader) {
+        Key key = new Key(path, width, height);
+        BufferedImage image = images.get(key);
+        if (image != null) {
+            hits++;
+            return image;
+        }
+        misses++;
+        BufferedImage source = loader.get();
+        if (source == null) return null;
+        int w = width == NATIVE_SIZE ? source.getWidth() : width;
+        int h = height == NATIVE_SIZE ? source.getHeight() : height;
+        image = toCompatibleImage(source, w, h);
+        images.put(key, image);
+        currentBytes += sizeOf(image);
+        evictOverBudget(key);
+        return image;
+    }
+
+    // Drops least recently used images until under budget (never the one just added)
+    private void evictOverBudget(Key justAdded) {
+        Iterator<Map.Entry<Key, BufferedImage>> it = images.entrySet().iterator();
+        while (currentBytes > maxBytes && it.hasNext()) {
+            Map.Entry<Key, BufferedImage> eldest = it.next();
+            if (eldest.getKey().equals(justAdded)) continue;
+            currentBytes -= sizeOf(eldest.getValue());
+            it.remove();
+            evictions++;
+        }
+    }
+
+    public synchronized void clear() {
+        images.clear();
+        currentBytes = 0;
+    }
+
+    public synchronized int size() { return images.size(); }
+
+    public synchronized long getCurrentBytes() { return currentBytes; }
+
+    public long getMaxBytes() { return maxBytes; }
+
+    public synchronized long getHits() { return hits; }
+
+    public synchronized long getMisses() { return misses; }
+
+    public synchronized long getEvictions() { return evictions; }
+
+    // Estimated memory of an image: 4 bytes per pixel covers the usual INT_ARGB/INT_RGB formats
+    private static long sizeOf(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+
+    /**
+     * Copies source into a new translucent image in the screen's native format, scaled to width x height.
+     * Without a display (headless runs) a plain INT_ARGB image is used.
+     */
+    public static BufferedImage toCompatibleImage(BufferedImage source, int width, int height) {
+        BufferedImage target;
+        if (GraphicsEnvironment.isHeadless()) {
+            target = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        } else {
+            GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            target = config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        Graphics2D g2 = target.createGraphics();
+        if (width != source.getWidth() || height != source.getHeight()) {
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        }
+        g2.drawImage(source, 0, 0, width, height, null);
+        g2.dispose();
+        return target;
+    }
+}
@@ -0,0 +1,110 @@
+package com.OOP.view;
+
+import com.OOP.gui.GameLoop;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Active-rendering map view: a heavyweight Canvas with a 2-buffer page-flipping BufferStrategy,
+ * drawn by the game loop thread instead of waiting for Swing's RepaintManager on the EDT.
+ * That keeps the frame rate steady while the EDT is busy (e.g. appending to the game log).
+ * <p>
+ * The model is only read on the EDT, where it is changed: each loop update asks the EDT for a
+ * {@link GamePanel.MapFrame} (at most one request in flight) and the loop thread paints the latest
+ * one with GamePanel.paintFrame, so both paths show exactly the same map. A busy EDT means an older
+ * frame is shown again, never a half-changed one.
+ * <p>
+ * Enabled in GameGUI with {@code -Dgame.activeRendering=true}; otherwise the Swing GamePanel is used.
+ */
+public class ActiveMapCanvas extends Canvas {
+    private final GamePanel renderer;
+    private final GameLoop gameLoop;
+    private BufferStrategy strategy;
+    private volatile GamePanel.MapFrame frame; // Latest capture from the EDT, null until the first one
+    private final AtomicBoolean capturePending = new AtomicBoolean();
+    private long framesShown;
+    private long framesRestored; // Frames that had to be redrawn after the buffers were lost/restored
+
+    public ActiveMapCanvas(GamePanel renderer, int targetFps) {
+        this.renderer = renderer;
+        this.gameLoop = new GameLoop(this::requestFrame, this::renderFrame, targetFps);
+        setIgnoreRepaint(true); // We paint ourselves; ignore OS paint requests
+        setBackground(Color.BLACK);
+        setFocusable(false); // Keys are handled by the frame
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return renderer.getPreferredSize(); // Follows the current room's size
+    }
+
+    // Call once the canvas is displayable (its window is visible)
+    public void start() {
+        if (!isDisplayable()) throw new IllegalStateException("Canvas must be displayable before starting active rendering");
+        createBufferStrategy(2);
+        strategy = getBufferStrategy();
+        gameLoop.start("map-render-loop");
+    }
+
+    public void stop() {
+        gameLoop.stop();
+    }
+
+    @Override
+    public void removeNotify() {
+        stop(); // The strategy's buffers die with the peer
+        super.removeNotify();
+        strategy = null;
+    }
+
+    // Loop thread: has the EDT capture a new frame, unless the previous request hasn't run yet
+    private void requestFrame() {
+        if (!capturePending.compareAndSet(false, true)) return;
+        EventQueue.invokeLater(() -> {
+            capturePending.set(false);
+            frame = renderer.captureFrame(new Rectangle(0, 0, getWidth(), getHeight()));
+        });
+    }
+
+    private void renderFrame() {
+        BufferStrategy bs = strategy;
+        if (bs == null || getWidth() <= 0 || getHeight() <= 0) return;
+        // The buffer contents can be lost at any time (display mode change, another app going fullscreen...).
+        // Redraw until a frame makes it to the screen intact, so no frame is dropped.
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) bs.getDrawGraphics();
+                try {
+                    g2d.setColor(getBackground());
+                    g2d.fillRect(0, 0, getWidth(), getHeight());
+                    drawMap(g2d);
+                } finally {
+                    g2d.dispose();
+                }
+                if (bs.contentsRestored()) framesRestored++;
+            } while (bs.contentsRestored());
+            bs.show();
+        } while (bs.contentsLost());
+        Toolkit.getDefaultToolkit().sync(); // Flush the pipeline (avoids lag on X11)
+        framesShown++;
+    }
+
+    private void drawMap(Graphics2D g2d) {
+        GamePanel.MapFrame current = frame;
+        if (current != null) GamePanel.paintFrame(g2d, new Rectangle(0, 0, getWidth(), getHeight()), current);
+    }
+
+    public GameLoop.FrameStats getFrameStats() {
+        return gameLoop.getFrameStats();
+    }
+
+    public long getFramesShown() {
+        return framesShown;
+    }
+
+    public long getFramesRestored() {
+        return framesRestored;
+    }
+}
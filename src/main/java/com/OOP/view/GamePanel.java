@@ -2,6 +2,7 @@ package com.OOP.view;
 
 import com.OOP.model.core.Door;
 import com.OOP.model.core.Room;
+import com.OOP.model.core.TileGrid;
 import com.OOP.model.entities.Enemy;
 import com.OOP.model.entities.LivingBeing;
 import com.OOP.model.entities.Merchant;
@@ -15,8 +16,11 @@ import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public class GamePanel extends JPanel {
     public static final int TILE_SIZE = Room.TILE_SIZE; // Use TILE_SIZE from Room
@@ -36,6 +40,16 @@ public class GamePanel extends JPanel {
     // Add more for other items/entities
     private BufferedImage crowbarImage;
 
+    private static final int HP_BAR_OFFSET = 6; // Enemy health bars are drawn this far above their tile
+
+    // Pre-rendered floor/wall/door tiles of staticLayerRoom, plus the doors it was drawn with
+    // (null for a 'D' with no Door object) and whether each was drawn locked. Only touched on the EDT
+    // (captureFrame); other threads just paint the finished image they get in a MapFrame.
+    private volatile BufferedImage staticLayer; // Volatile: may be invalidated from another thread
+    private Room staticLayerRoom;
+    private Door[] layerDoors = new Door[0];
+    private boolean[] layerDoorLocked = new boolean[0];
+
     public GamePanel(Player player) {
         this.player = player;
         this.currentRoom = player.getCurrentRoom();
@@ -93,18 +107,155 @@ public class GamePanel extends JPanel {
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g;
+        Rectangle clip = g2d.getClipBounds();
+        renderMap(g2d, clip != null ? clip : new Rectangle(0, 0, getWidth(), getHeight()));
+        g2d.dispose();
+    }
+
+    /**
+     * The map at one moment: the static layer plus the sprites drawn over it, with every position,
+     * image and health value already read from the model. Nothing in it changes afterwards, so
+     * any thread can paint it while the EDT goes on changing the model.
+     */
+    public record MapFrame(BufferedImage staticLayer, List<Consumer<Graphics2D>> sprites) {}
+
+    // Draws the part of the map inside clip (paintComponent's path, on the EDT)
+    public void renderMap(Graphics2D g2d, Rectangle clip) {
+        paintFrame(g2d, clip, captureFrame(clip));
+    }
+
+    /**
+     * Reads what is inside clip into a {@link MapFrame}. Must run on the EDT, like everything that
+     * changes the model. ActiveMapCanvas captures its frames here and paints them on its own thread.
+     */
+    public MapFrame captureFrame(Rectangle clip) {
+        if (currentRoom == null || currentRoom.getTileGrid() == null) {
+            return new MapFrame(null, List.of(g2d -> {
+                g2d.setColor(Color.RED);
+                g2d.drawString("Error: No room data to display.", 20, 20);
+            }));
+        }
+        BufferedImage layer = getStaticLayer();
+        List<Consumer<Graphics2D>> sprites = new ArrayList<>();
+
+        // Tiles touching the clip. One extra row below: enemies' health bars stick up into the tile above.
+        TileGrid grid = currentRoom.getTileGrid();
+        int firstCol = Math.max(0, clip.x / TILE_SIZE);
+        int lastCol = Math.min(grid.getWidth() - 1, (clip.x + clip.width - 1) / TILE_SIZE);
+        int firstRow = Math.max(0, clip.y / TILE_SIZE);
+        int lastRow = Math.min(grid.getHeight() - 1, (clip.y + clip.height - 1 + HP_BAR_OFFSET) / TILE_SIZE);
+
+        // 2. Items on Floor (looked up per tile through the room's tile index)
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                for (Item item : currentRoom.getItemsAt(col, row)) {
+                    addSprite(sprites, itemSprite(item));
+                }
+            }
+        }
+
+        // 3. Chests
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                Chest chest = currentRoom.getChestAt(col, row);
+                if (chest != null) addSprite(sprites, chestSprite(chest));
+            }
+        }
+
+        // 4. NPCs/Enemies (using their stored tileX, tileY)
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                for (LivingBeing being : currentRoom.getLivingBeingsAt(col, row)) {
+                    if (being instanceof Player) continue; // Player drawn last
+                    addSprite(sprites, beingSprite(being));
+                }
+            }
+        }
+
+        // 5. Player
+        int playerX = player.getTileX(), playerY = player.getTileY();
+        BufferedImage playerImg = playerImage;
+        if (playerImg != null && clip.intersects(tileBounds(playerX, playerY))) {
+            sprites.add(g2d -> g2d.drawImage(playerImg, playerX * TILE_SIZE, playerY * TILE_SIZE, TILE_SIZE, TILE_SIZE, null));
+        }
+        return new MapFrame(layer, List.copyOf(sprites));
+    }
+
+    // Paints the part of a captured frame inside clip; safe on any thread
+    public static void paintFrame(Graphics2D g2d, Rectangle clip, MapFrame frame) {
+        // 1. Tiles: copied from the pre-rendered layer, only the part inside the repaint clip
+        BufferedImage layer = frame.staticLayer();
+        if (layer != null) {
+            int x1 = Math.max(0, clip.x), y1 = Math.max(0, clip.y);
+            int x2 = Math.min(layer.getWidth(), clip.x + clip.width), y2 = Math.min(layer.getHeight(), clip.y + clip.height);
+            if (x1 < x2 && y1 < y2) {
+                g2d.drawImage(layer, x1, y1, x2, y2, x1, y1, x2, y2, null);
+            }
+        }
+        for (Consumer<Graphics2D> sprite : frame.sprites()) {
+            sprite.accept(g2d);
+        }
+    }
+
+    private static void addSprite(List<Consumer<Graphics2D>> sprites, Consumer<Graphics2D> sprite) {
+        if (sprite != null) sprites.add(sprite);
+    }
+
+    // Screen area a tile's contents can paint into (including a health bar drawn above it)
+    private Rectangle tileBounds(int tileX, int tileY) {
+        return new Rectangle(tileX * TILE_SIZE, tileY * TILE_SIZE - HP_BAR_OFFSET, TILE_SIZE, TILE_SIZE + HP_BAR_OFFSET);
+    }
+
+    // Repaints just one tile (e.g. an item was picked up or an enemy took damage)
+    public void repaintTile(int tileX, int tileY) {
+        if (tileX < 0 || tileY < 0) return;
+        repaint(tileBounds(tileX, tileY));
+    }
+
+    // Repaints the two tiles involved in a single-tile move instead of the whole room
+    public void repaintMove(int oldTileX, int oldTileY, int newTileX, int newTileY) {
+        repaintTile(oldTileX, oldTileY);
+        repaintTile(newTileX, newTileY);
+    }
 
-        if (currentRoom == null || currentRoom.getTileMapLayout() == null) {
-            g2d.setColor(Color.RED);
-            g2d.drawString("Error: No room data to display.", 20, 20);
-            return;
+    // The floor/wall/door layer of the current room, rebuilt when the room or a door's lock state changes
+    private BufferedImage getStaticLayer() {
+        if (staticLayer == null || staticLayerRoom != currentRoom || doorStatesChanged()) {
+            buildStaticLayer();
         }
+        return staticLayer;
+    }
+
+    public void invalidateStaticLayer() {
+        staticLayer = null;
+    }
 
-        // 1. Draw Tiles (Door logic will be key here)
-        String[] layout = currentRoom.getTileMapLayout();
-        for (int row = 0; row < currentRoom.getMapHeight(); row++) {
-            for (int col = 0; col < currentRoom.getMapWidth(); col++) {
-                char tileChar = layout[row].charAt(col);
+    private boolean doorStatesChanged() {
+        for (int i = 0; i < layerDoors.length; i++) {
+            boolean locked = layerDoors[i] == null || layerDoors[i].isLocked();
+            if (locked != layerDoorLocked[i]) return true;
+        }
+        return false;
+    }
+
+    private void buildStaticLayer() {
+        TileGrid grid = currentRoom.getTileGrid();
+        int width = grid.getWidth() * TILE_SIZE, height = grid.getHeight() * TILE_SIZE;
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        if (config == null && !GraphicsEnvironment.isHeadless()) { // Not on screen itself (ActiveMapCanvas draws it)
+            config = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+        }
+        BufferedImage layer = (config != null)
+                ? config.createCompatibleImage(width, height, Transparency.OPAQUE)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        List<Door> doors = new ArrayList<>();
+        List<Boolean> doorLocked = new ArrayList<>();
+
+        Graphics2D g2d = layer.createGraphics();
+        // Draw Tiles (Door logic will be key here)
+        for (int row = 0; row < grid.getHeight(); row++) {
+            for (int col = 0; col < grid.getWidth(); col++) {
+                char tileChar = grid.getTileChar(col, row);
                 Tile tileToDraw = null;
 
                 // Basic tile lookup
@@ -115,6 +266,8 @@ public class GamePanel extends JPanel {
                 // Special handling for 'D' (Door) tiles
                 if (tileChar == 'D') {
                     Door gameDoorObject = findDoorObjectForTile(col, row);
+                    doors.add(gameDoorObject); // Remembered so a lock change can invalidate the layer
+                    doorLocked.add(gameDoorObject == null || gameDoorObject.isLocked());
                     if (gameDoorObject != null && !gameDoorObject.isLocked()) {
                         tileToDraw = tileAtlas.get('.'); // Open door tile
                     } else {
@@ -139,180 +292,134 @@ public class GamePanel extends JPanel {
                 }
             }
         }
+        g2d.dispose();
 
-        // 2. Draw Items on Floor
-        if (currentRoom != null && currentRoom.getItemsOnFloor() != null) {
-            for (Item item : currentRoom.getItemsOnFloor()) {
-                if (item.getTileX() != -1 && item.getTileY() != -1) {
-                    BufferedImage itemImg = null;
-                    if (item instanceof Key) itemImg = keyImage;
-                    else if (item instanceof Crowbar) itemImg = crowbarImage;
-                    else if (item instanceof Medicine) itemImg = potionImage;
-                    else if (item instanceof Weapon) itemImg = weaponImage;
-                    else if (item instanceof Shield) itemImg = shieldImage;
-                    // Add more specific item images here
-
-                    if (itemImg != null) {
-                        g2d.drawImage(itemImg, item.getTileX() * TILE_SIZE, item.getTileY() * TILE_SIZE, TILE_SIZE, TILE_SIZE, null);
-                    } else { // Fallback drawing for unknown items
-                        g2d.setColor(Color.MAGENTA);
-                        g2d.fillOval(item.getTileX() * TILE_SIZE + TILE_SIZE / 3, item.getTileY() * TILE_SIZE + TILE_SIZE / 3, TILE_SIZE / 3, TILE_SIZE / 3);
-                    }
-                }
-            }
-        }
+        staticLayer = layer;
+        staticLayerRoom = currentRoom;
+        layerDoors = doors.toArray(new Door[0]);
+        layerDoorLocked = new boolean[doorLocked.size()];
+        for (int i = 0; i < layerDoorLocked.length; i++) layerDoorLocked[i] = doorLocked.get(i);
+    }
 
-        // 3. Draw Chests
-        if (currentRoom != null && currentRoom.getChests() != null) {
-            for (Chest chest : currentRoom.getChests()) {
-                if (chest.getTileX() != -1 && chest.getTileY() != -1 && chestImage != null) {
-                    g2d.drawImage(chestImage, chest.getTileX() * TILE_SIZE, chest.getTileY() * TILE_SIZE, TILE_SIZE, TILE_SIZE, null);
-                    if (chest.isLocked() && !chest.isOpen()) {
-                        g2d.setColor(new Color(255, 0, 0, 80)); // Red tint for locked
-                        g2d.fillRect(chest.getTileX() * TILE_SIZE, chest.getTileY() * TILE_SIZE, TILE_SIZE, TILE_SIZE);
-                    } else if (chest.isOpen()) {
-                        // Optional: different image for open chest or tint
-                        g2d.setColor(new Color(0, 255, 0, 80)); // Green tint for open
-                        g2d.fillRect(chest.getTileX() * TILE_SIZE, chest.getTileY() * TILE_SIZE, TILE_SIZE, TILE_SIZE);
-                    }
-                }
-            }
+    // The draw call for an item, with its position and image read now; null if it is not on the map
+    private Consumer<Graphics2D> itemSprite(Item item) {
+        int x = item.getTileX(), y = item.getTileY();
+        if (x == -1 || y == -1) return null;
+        BufferedImage itemImg = null;
+        if (item instanceof Key) itemImg = keyImage;
+        else if (item instanceof Crowbar) itemImg = crowbarImage;
+        else if (item instanceof Medicine) itemImg = potionImage;
+        else if (item instanceof Weapon) itemImg = weaponImage;
+        else if (item instanceof Shield) itemImg = shieldImage;
+        // Add more specific item images here
+
+        if (itemImg != null) {
+            BufferedImage image = itemImg;
+            return g2d -> g2d.drawImage(image, x * TILE_SIZE, y * TILE_SIZE, TILE_SIZE, TILE_SIZE, null);
         }
+        return g2d -> { // Fallback drawing for unknown items
+            g2d.setColor(Color.MAGENTA);
+            g2d.fillOval(x * TILE_SIZE + TILE_SIZE / 3, y * TILE_SIZE + TILE_SIZE / 3, TILE_SIZE / 3, TILE_SIZE / 3);
+        };
+    }
 
-        // 4. Draw NPCs/Enemies (using their stored tileX, tileY)
-        if (currentRoom != null && currentRoom.getLivingBeings() != null) {
-            for (LivingBeing being : currentRoom.getLivingBeings()) {
-                if (being instanceof Player) continue; // Player drawn last
-
-                // LIVING BEINGS (Enemy, Merchant, Teammate) MUST HAVE tileX, tileY fields
-                // and these must be set in World.java when they are created/placed.
-                int beingTileX = -1, beingTileY = -1;
-                // A common interface or base class method would be better:
-                // if (being instanceof Positionable) {
-                //    Point p = ((Positionable)being).getTileCoordinates();
-                //    beingTileX = p.x; beingTileY = p.y;
-                // }
-                // For now, specific checks:
-                if (being instanceof Enemy) { // Assuming Enemy now has getTileX/Y
-                    beingTileX = ((Enemy) being).getTileX();
-                    beingTileY = ((Enemy) being).getTileY();
-                } else if (being instanceof Merchant) { // Assuming Merchant has getTileX/Y
-                    beingTileX = ((Merchant) being).getTileX();
-                    beingTileY = ((Merchant) being).getTileY();
-                }
-                // Add for Teammate if it also needs to be drawn
-
-                if (beingTileX != -1 && beingTileY != -1) { // If position is valid
-                    BufferedImage beingImg = null;
-                    if (being instanceof Merchant && merchantImage != null) {
-                        beingImg = merchantImage;
-                    } else if (being instanceof Enemy) {
-                        // Check for specific enemy types before default
-                        if (being.getName().toLowerCase().contains("goblin") && goblinImage != null) {
-                            beingImg = goblinImage;
-                        } else if (enemyImage != null) { // Default enemy image (e.g., Orc)
-                            beingImg = enemyImage;
-                        }
-                    }
+    private Consumer<Graphics2D> chestSprite(Chest chest) {
+        int x = chest.getTileX(), y = chest.getTileY();
+        BufferedImage image = chestImage;
+        if (x == -1 || y == -1 || image == null) return null;
+        boolean locked = chest.isLocked() && !chest.isOpen();
+        boolean open = chest.isOpen();
+        return g2d -> {
+            g2d.drawImage(image, x * TILE_SIZE, y * TILE_SIZE, TILE_SIZE, TILE_SIZE, null);
+            if (locked) {
+                g2d.setColor(new Color(255, 0, 0, 80)); // Red tint for locked
+                g2d.fillRect(x * TILE_SIZE, y * TILE_SIZE, TILE_SIZE, TILE_SIZE);
+            } else if (open) {
+                // Optional: different image for open chest or tint
+                g2d.setColor(new Color(0, 255, 0, 80)); // Green tint for open
+                g2d.fillRect(x * TILE_SIZE, y * TILE_SIZE, TILE_SIZE, TILE_SIZE);
+            }
+        };
+    }
 
-                    if (beingImg != null) {
-                        g2d.drawImage(beingImg, beingTileX * TILE_SIZE, beingTileY * TILE_SIZE, TILE_SIZE, TILE_SIZE, null);
-                        // Optional: Health bar for enemies
-                        if (being instanceof Enemy && being.getHealthPoints() > 0 && being.getMaxHealthPoints() > 0) {
-                            g2d.setColor(Color.RED);
-                            int hpBarWidth = TILE_SIZE * being.getHealthPoints() / being.getMaxHealthPoints();
-                            g2d.fillRect(beingTileX * TILE_SIZE, beingTileY * TILE_SIZE - 6, hpBarWidth, 5);
-                            g2d.setColor(Color.BLACK);
-                            g2d.drawRect(beingTileX * TILE_SIZE, beingTileY * TILE_SIZE - 6, TILE_SIZE, 5);
-                        }
-                    } else { // Fallback if no specific image for this being type
-                        g2d.setColor(Color.ORANGE);
-                        g2d.fillRect(beingTileX * TILE_SIZE + TILE_SIZE / 4, beingTileY * TILE_SIZE + TILE_SIZE / 4, TILE_SIZE / 2, TILE_SIZE / 2);
-                    }
-                }
+    private Consumer<Graphics2D> beingSprite(LivingBeing being) {
+        // Only enemies and merchants are drawn; Teammate would need its own image here
+        if (!(being instanceof Enemy) && !(being instanceof Merchant)) return null;
+        int x = being.getTileX(), y = being.getTileY();
+        if (x == -1 || y == -1) return null; // Position not set yet
+
+        BufferedImage beingImg = null;
+        if (being instanceof Merchant && merchantImage != null) {
+            beingImg = merchantImage;
+        } else if (being instanceof Enemy) {
+            // Check for specific enemy types before default
+            if (being.getName().toLowerCase().contains("goblin") && goblinImage != null) {
+                beingImg = goblinImage;
+            } else if (enemyImage != null) { // Default enemy image (e.g., Orc)
+                beingImg = enemyImage;
             }
         }
-
-        // 5. Draw Player
-        if (playerImage != null) {
-            g2d.drawImage(playerImage, player.getTileX() * TILE_SIZE, player.getTileY() * TILE_SIZE, TILE_SIZE, TILE_SIZE, null);
+        if (beingImg == null) { // Fallback if no specific image for this being type
+            return g2d -> {
+                g2d.setColor(Color.ORANGE);
+                g2d.fillRect(x * TILE_SIZE + TILE_SIZE / 4, y * TILE_SIZE + TILE_SIZE / 4, TILE_SIZE / 2, TILE_SIZE / 2);
+            };
         }
 
-        g2d.dispose();
+        BufferedImage image = beingImg;
+        // Optional: Health bar for enemies (-1 = no bar)
+        int hpBarWidth = being instanceof Enemy && being.getHealthPoints() > 0 && being.getMaxHealthPoints() > 0
+                ? TILE_SIZE * being.getHealthPoints() / being.getMaxHealthPoints() : -1;
+        return g2d -> {
+            g2d.drawImage(image, x * TILE_SIZE, y * TILE_SIZE, TILE_SIZE, TILE_SIZE, null);
+            if (hpBarWidth >= 0) {
+                g2d.setColor(Color.RED);
+                g2d.fillRect(x * TILE_SIZE, y * TILE_SIZE - HP_BAR_OFFSET, hpBarWidth, 5);
+                g2d.setColor(Color.BLACK);
+                g2d.drawRect(x * TILE_SIZE, y * TILE_SIZE - HP_BAR_OFFSET, TILE_SIZE, 5);
+            }
+        };
     }
 
     // Helper to find the first occurrence of a character in the layout (very basic)
     // You'll need a more robust way to map game entities to screen coordinates
     private Point findCharInLayout(char targetChar) {
-        String[] layout = currentRoom.getTileMapLayout();
-        for (int row = 0; row < layout.length; row++) {
-            for (int col = 0; col < layout[row].length(); col++) {
-                if (layout[row].charAt(col) == targetChar) {
-                    return new Point(col, row);
-                }
-            }
-        }
-        return null;
+        return currentRoom.getTileGrid().findFirst(targetChar);
     }
 
-    // Helper to find a Door object at specific map coordinates (conceptual)
-    // This requires doors to store their map coordinates or be identified differently.
+    // Helper to find a Door object at specific map coordinates.
+    // Room indexes its exits by tile when they are added, so this is a single lookup.
     private Door findDoorAt(int col, int row) {
         if (currentRoom == null) return null;
-
-        Point targetPoint = new Point(col, row);
-        for (Door door : currentRoom.getExits().values()) {
-            if (door.getTileCoordinates() != null && door.getTileCoordinates().equals(targetPoint)) {
-                return door;
-            }
-        }
-        return null; // No door object found with these exact coordinates in its 'tileCoordinates' field
+        return currentRoom.getDoorAt(col, row); // null if no door object has these coordinates
     }
 
 
     // Method to check for collision (basic)
     public boolean isTileSolid(int tileX, int tileY) {
-        if (currentRoom == null || currentRoom.getTileMapLayout() == null ||
-                tileY < 0 || tileY >= currentRoom.getMapHeight() ||
-                tileX < 0 || tileX >= currentRoom.getMapWidth()) {
+        if (currentRoom == null || currentRoom.getTileGrid() == null ||
+                !currentRoom.getTileGrid().inBounds(tileX, tileY)) {
             return true; // Out of bounds is solid
         }
-        char tileChar = currentRoom.getTileMapLayout()[tileY].charAt(tileX);
-        Tile tile = tileAtlas.get(tileChar);
+        if (currentRoom.isWalkable(tileX, tileY)) {
+            return false; // Precomputed mask: everything except walls and doors
+        }
 
-        if (tileChar == 'D') { // Special check for doors
+        if (currentRoom.getTileChar(tileX, tileY) == 'D') { // Special check for doors
             Door gameDoor = findDoorAt(tileX, tileY);
             if (gameDoor != null) return gameDoor.isLocked(); // Solid if locked
             return true; // Default to solid if door object not found for 'D'
         }
 
-        return tile != null && tile.collision;
+        return true; // Wall
     }
 
     private Door findDoorObjectForTile(int tileCol, int tileRow) {
         if (currentRoom == null) return null;
-        Point targetTile = new Point(tileCol, tileRow);
-
-        for (Door door : currentRoom.getExits().values()) {
-            // A door's tileCoordinates should represent its position in ONE of the rooms it connects.
-            // We need to check if this door's 'tileCoordinates' field matches targetTile
-            // AND if this door is an exit *from* the currentRoom.
-            // (The second part is implicit if tileCoordinates are always set from room1's perspective
-            // and currentRoom is room1, or from room2's perspective if currentRoom is room2, etc.)
-
-            // Simplest check: if the door's stored tile coordinates match.
-            if (door.getTileCoordinates() != null && door.getTileCoordinates().equals(targetTile)) {
-                // This assumes door.tileCoordinates is relevant for the currentRoom being rendered.
-                return door;
-            }
-            // More complex: If a door connects currentRoom and its 'other side' has coords matching
-            // targetTile (this would mean door.tileCoordinates isn't what we need here, but rather
-            // some other stored coordinate for its representation in the *other* room).
-            // For now, we rely on `door.getTileCoordinates()` being the location of 'D' in currentRoom's map.
-        }
-        // Fallback or if a 'D' exists in layout but no Door object is mapped to it:
-        // This can happen if layouts are manually made inconsistent with Door objects.
-        // System.err.println("Warning: 'D' tile at " + targetTile + " in " + currentRoom.getName() + " does not map to a known Door object's primary coordinates.");
-        return null;
+        // A door's tile is indexed in the room it was added to as an exit, using its visual tile for
+        // that room if it has one, otherwise its primary 'tileCoordinates'.
+        // If a 'D' exists in layout but no Door object is mapped to it, this returns null and the
+        // door is drawn closed.
+        return currentRoom.getDoorAt(tileCol, tileRow);
     }
 }